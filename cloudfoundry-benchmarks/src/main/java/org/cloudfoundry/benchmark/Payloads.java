@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.benchmark;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic Cloud Controller payloads used by the benchmarks
+ */
+public final class Payloads {
+
+    private static final String V2_APPLICATION = "{\"metadata\":{\"guid\":\"%1$s\",\"url\":\"/v2/apps/%1$s\",\"created_at\":\"2016-03-17T21:41:30Z\",\"updated_at\":\"2016-03-18T11:32:30Z\"}," +
+        "\"entity\":{\"name\":\"test-application-%2$d\",\"production\":false,\"space_guid\":\"%3$s\",\"stack_guid\":\"%3$s\",\"buildpack\":null,\"detected_buildpack\":\"java_buildpack\"," +
+        "\"environment_json\":{\"TEST_KEY\":\"test-value\"},\"memory\":1024,\"instances\":2,\"disk_quota\":1024,\"state\":\"STARTED\",\"version\":\"%1$s\",\"command\":null," +
+        "\"console\":false,\"debug\":null,\"staging_task_id\":\"%1$s\",\"package_state\":\"STAGED\",\"health_check_type\":\"port\",\"health_check_timeout\":null," +
+        "\"staging_failed_reason\":null,\"staging_failed_description\":null,\"diego\":true,\"docker_image\":null,\"package_updated_at\":\"2016-03-17T21:41:30Z\"," +
+        "\"detected_start_command\":\"run\",\"enable_ssh\":true,\"ports\":[8080],\"space_url\":\"/v2/spaces/%3$s\",\"stack_url\":\"/v2/stacks/%3$s\"," +
+        "\"routes_url\":\"/v2/apps/%1$s/routes\",\"events_url\":\"/v2/apps/%1$s/events\",\"service_bindings_url\":\"/v2/apps/%1$s/service_bindings\"," +
+        "\"route_mappings_url\":\"/v2/apps/%1$s/route_mappings\"}}";
+
+    private static final String V3_APPLICATION = "{\"guid\":\"%1$s\",\"name\":\"test-application-%2$d\",\"state\":\"STARTED\",\"created_at\":\"2016-03-17T21:41:30Z\"," +
+        "\"updated_at\":\"2016-03-18T11:32:30Z\",\"lifecycle\":{\"type\":\"buildpack\",\"data\":{\"buildpacks\":[\"java_buildpack\"],\"stack\":\"cflinuxfs2\"}}," +
+        "\"links\":{\"self\":{\"href\":\"https://api.example.org/v3/apps/%1$s\"},\"space\":{\"href\":\"https://api.example.org/v3/spaces/%3$s\"}," +
+        "\"processes\":{\"href\":\"https://api.example.org/v3/apps/%1$s/processes\"},\"packages\":{\"href\":\"https://api.example.org/v3/apps/%1$s/packages\"}," +
+        "\"droplets\":{\"href\":\"https://api.example.org/v3/apps/%1$s/droplets\"},\"tasks\":{\"href\":\"https://api.example.org/v3/apps/%1$s/tasks\"}}}";
+
+    private Payloads() {
+    }
+
+    /**
+     * Returns a page of a {@code GET /v2/apps} response
+     *
+     * @param page           the page number
+     * @param totalPages     the total number of pages
+     * @param resultsPerPage the number of resources on the page
+     * @return the payload
+     */
+    public static String v2Applications(int page, int totalPages, int resultsPerPage) {
+        String nextUrl = page < totalPages ? String.format("\"/v2/apps?page=%d&results-per-page=%d\"", page + 1, resultsPerPage) : "null";
+        String prevUrl = page > 1 ? String.format("\"/v2/apps?page=%d&results-per-page=%d\"", page - 1, resultsPerPage) : "null";
+        String spaceId = UUID.randomUUID().toString();
+
+        return String.format("{\"total_results\":%d,\"total_pages\":%d,\"prev_url\":%s,\"next_url\":%s,\"resources\":[%s]}",
+            totalPages * resultsPerPage, totalPages, prevUrl, nextUrl, resources(V2_APPLICATION, resultsPerPage, spaceId));
+    }
+
+    /**
+     * Returns a page of a {@code GET /v3/apps} response
+     *
+     * @param page           the page number
+     * @param totalPages     the total number of pages
+     * @param resultsPerPage the number of resources on the page
+     * @return the payload
+     */
+    public static String v3Applications(int page, int totalPages, int resultsPerPage) {
+        String next = page < totalPages ? String.format("{\"href\":\"https://api.example.org/v3/apps?page=%d&per_page=%d\"}", page + 1, resultsPerPage) : "null";
+        String previous = page > 1 ? String.format("{\"href\":\"https://api.example.org/v3/apps?page=%d&per_page=%d\"}", page - 1, resultsPerPage) : "null";
+        String spaceId = UUID.randomUUID().toString();
+
+        return String.format("{\"pagination\":{\"total_results\":%d,\"total_pages\":%d,\"first\":{\"href\":\"https://api.example.org/v3/apps?page=1&per_page=%d\"}," +
+                "\"last\":{\"href\":\"https://api.example.org/v3/apps?page=%d&per_page=%d\"},\"next\":%s,\"previous\":%s},\"resources\":[%s]}",
+            totalPages * resultsPerPage, totalPages, resultsPerPage, totalPages, resultsPerPage, next, previous, resources(V3_APPLICATION, resultsPerPage, spaceId));
+    }
+
+    private static String resources(String template, int count, String spaceId) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> String.format(template, UUID.randomUUID().toString(), i, spaceId))
+            .collect(Collectors.joining(","));
+    }
+
+}
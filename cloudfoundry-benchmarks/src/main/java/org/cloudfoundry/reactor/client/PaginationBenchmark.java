@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.cloudfoundry.benchmark.Payloads;
+import org.cloudfoundry.client.v2.applications.ListApplicationsRequest;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.cloudfoundry.reactor.client.v2.applications.ReactorApplicationsV2;
+import org.cloudfoundry.util.PaginationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures an end-to-end paginated listing against a local stub of the Cloud Controller
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class PaginationBenchmark {
+
+    private static final Pattern PAGE = Pattern.compile("[?&]page=(\\d+)");
+
+    @Param({"1", "8"})
+    public int concurrency;
+
+    @Param({"20"})
+    public int pages;
+
+    @Param({"100"})
+    public int resultsPerPage;
+
+    private ReactorApplicationsV2 applications;
+
+    private DefaultConnectionContext connectionContext;
+
+    private MockWebServer mockWebServer;
+
+    @Benchmark
+    public Long list() {
+        return PaginationUtils
+            .requestClientV2Resources(page -> this.applications
+                .list(ListApplicationsRequest.builder()
+                    .page(page)
+                    .resultsPerPage(this.resultsPerPage)
+                    .build()), this.concurrency)
+            .count()
+            .block();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> payloads = IntStream.rangeClosed(1, this.pages)
+            .mapToObj(page -> Payloads.v2Applications(page, this.pages, this.resultsPerPage))
+            .collect(Collectors.toList());
+
+        this.mockWebServer = new MockWebServer();
+        this.mockWebServer.setDispatcher(new Dispatcher() {
+
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                Matcher matcher = PAGE.matcher(request.getPath());
+                int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+
+                return new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(payloads.get(page - 1));
+            }
+
+        });
+        this.mockWebServer.start();
+
+        this.connectionContext = DefaultConnectionContext.builder()
+            .apiHost("localhost")
+            .secure(false)
+            .build();
+
+        this.applications = new ReactorApplicationsV2(this.connectionContext, Mono.just(this.mockWebServer.url("/").uri().toString()), connectionContext -> Mono.just("test-authorization"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.connectionContext.dispose();
+        this.mockWebServer.shutdown();
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import org.cloudfoundry.client.v3.applications.ListApplicationsRequest;
+import org.cloudfoundry.reactor.client.v3.FilterBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Measures the reflective construction of query strings from request payloads
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+public class QueryBuilderBenchmark {
+
+    private final org.cloudfoundry.client.v2.applications.ListApplicationsRequest v2Request = org.cloudfoundry.client.v2.applications.ListApplicationsRequest.builder()
+        .name("test-name")
+        .organizationId("test-organization-id")
+        .spaceId("test-space-id")
+        .page(1)
+        .resultsPerPage(100)
+        .build();
+
+    private final ListApplicationsRequest v3Request = ListApplicationsRequest.builder()
+        .name("test-name")
+        .spaceId("test-space-id")
+        .page(1)
+        .perPage(100)
+        .orderBy("name")
+        .build();
+
+    @Benchmark
+    public String augmentV2() {
+        UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
+        QueryBuilder.augment(builder, this.v2Request);
+        org.cloudfoundry.reactor.client.v2.FilterBuilder.augment(builder, this.v2Request);
+        return builder.build().encode().toUriString();
+    }
+
+    @Benchmark
+    public String augmentV3() {
+        UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
+        QueryBuilder.augment(builder, this.v3Request);
+        FilterBuilder.augment(builder, this.v3Request);
+        return builder.build().encode().toUriString();
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.Unpooled;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.ByteString;
+import org.cloudfoundry.doppler.EventType;
+import org.cloudfoundry.doppler.RecentLogsRequest;
+import org.cloudfoundry.dropsonde.events.Envelope;
+import org.cloudfoundry.dropsonde.events.LogMessage;
+import org.cloudfoundry.dropsonde.events.ValueMetric;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the decoding of Doppler envelopes, both from websocket frames and from multipart recent logs responses
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+public class DopplerBenchmark {
+
+    private static final String BOUNDARY = "90ad9060c87222ee30ddcffe751393a7c5734c48e070a623121abf82eb3c";
+
+    @Param({"1000"})
+    public int envelopes;
+
+    private DefaultConnectionContext connectionContext;
+
+    private ReactorDopplerEndpoints dopplerEndpoints;
+
+    private List<byte[]> frames;
+
+    private MockWebServer mockWebServer;
+
+    @Benchmark
+    public Long decode() {
+        return EnvelopeCodec.decode(Flux.fromIterable(this.frames).map(Unpooled::wrappedBuffer), null)
+            .count()
+            .block();
+    }
+
+    @Benchmark
+    public Long decodeFiltered() {
+        return EnvelopeCodec.decode(Flux.fromIterable(this.frames).map(Unpooled::wrappedBuffer), Collections.singletonList(EventType.VALUE_METRIC))
+            .count()
+            .block();
+    }
+
+    @Benchmark
+    public Long recentLogs() {
+        return this.dopplerEndpoints.recentLogs(RecentLogsRequest.builder()
+            .applicationId("test-application-id")
+            .build())
+            .count()
+            .block();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        this.frames = new ArrayList<>(this.envelopes);
+        for (int i = 0; i < this.envelopes; i++) {
+            this.frames.add(Envelope.ADAPTER.encode(i % 2 == 0 ? logMessage(i) : valueMetric(i)));
+        }
+
+        Buffer body = new Buffer();
+        for (byte[] frame : this.frames) {
+            body.writeString(String.format("\r\n--%s\r\n\r\n", BOUNDARY), StandardCharsets.UTF_8);
+            body.write(frame);
+        }
+        body.writeString(String.format("\r\n--%s--\r\n", BOUNDARY), StandardCharsets.UTF_8);
+
+        MockResponse response = new MockResponse()
+            .setHeader("Content-Type", String.format("multipart/x-protobuf; boundary=%s", BOUNDARY))
+            .setBody(body);
+
+        this.mockWebServer = new MockWebServer();
+        this.mockWebServer.setDispatcher(new Dispatcher() {
+
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return response;
+            }
+
+        });
+        this.mockWebServer.start();
+
+        this.connectionContext = DefaultConnectionContext.builder()
+            .apiHost("localhost")
+            .secure(false)
+            .build();
+
+        this.dopplerEndpoints = new ReactorDopplerEndpoints(this.connectionContext, Mono.just(this.mockWebServer.url("/").uri().toString()), connectionContext -> Mono.just("test-authorization"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.connectionContext.dispose();
+        this.mockWebServer.shutdown();
+    }
+
+    private static Envelope logMessage(int index) {
+        return new Envelope.Builder()
+            .origin("test-origin")
+            .eventType(Envelope.EventType.LogMessage)
+            .timestamp((long) index)
+            .logMessage(new LogMessage.Builder()
+                .message(ByteString.encodeUtf8(String.format("test-message-%d", index)))
+                .message_type(LogMessage.MessageType.OUT)
+                .timestamp((long) index)
+                .app_id("test-application-id")
+                .source_type("APP/PROC/WEB")
+                .source_instance("0")
+                .build())
+            .build();
+    }
+
+    private static Envelope valueMetric(int index) {
+        return new Envelope.Builder()
+            .origin("test-origin")
+            .eventType(Envelope.EventType.ValueMetric)
+            .timestamp((long) index)
+            .valueMetric(new ValueMetric.Builder()
+                .name("test-name")
+                .unit("test-unit")
+                .value((double) index)
+                .build())
+            .build();
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.cloudfoundry.benchmark.Payloads;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures {@link JsonCodec#decode(ObjectMapper, Class)} on large list payloads, splitting each payload into network-sized chunks as they would arrive from the network.  {@code decodeV2Aggregated}
+ * decodes the same payload by aggregating the chunks and copying them into a {@code byte[]} first, so running with {@code -prof gc} compares the allocation of the two approaches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+public class JsonCodecBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"50", "500"})
+    public int resultsPerPage;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] v2Payload;
+
+    private byte[] v3Payload;
+
+    @Benchmark
+    public org.cloudfoundry.client.v2.applications.ListApplicationsResponse decodeV2() {
+        return decode(this.v2Payload, org.cloudfoundry.client.v2.applications.ListApplicationsResponse.class);
+    }
+
+    @Benchmark
+    public org.cloudfoundry.client.v2.applications.ListApplicationsResponse decodeV2Aggregated() throws IOException {
+        ByteBuf aggregate = Unpooled.wrappedBuffer(chunk(this.v2Payload).toArray(new ByteBuf[0]));
+
+        try {
+            return this.objectMapper.readValue(ByteBufUtil.getBytes(aggregate), org.cloudfoundry.client.v2.applications.ListApplicationsResponse.class);
+        } finally {
+            aggregate.release();
+        }
+    }
+
+    @Benchmark
+    public org.cloudfoundry.client.v3.applications.ListApplicationsResponse decodeV3() {
+        return decode(this.v3Payload, org.cloudfoundry.client.v3.applications.ListApplicationsResponse.class);
+    }
+
+    @Setup
+    public void setup() {
+        this.objectMapper = DefaultConnectionContext.builder()
+            .apiHost("localhost")
+            .build()
+            .getObjectMapper();
+
+        this.v2Payload = Payloads.v2Applications(1, 1, this.resultsPerPage).getBytes(StandardCharsets.UTF_8);
+        this.v3Payload = Payloads.v3Applications(1, 1, this.resultsPerPage).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<ByteBuf> chunk(byte[] payload) {
+        List<ByteBuf> chunks = new ArrayList<>();
+
+        for (int offset = 0; offset < payload.length; offset += CHUNK_SIZE) {
+            chunks.add(Unpooled.wrappedBuffer(payload, offset, Math.min(CHUNK_SIZE, payload.length - offset)));
+        }
+
+        return chunks;
+    }
+
+    private <T> T decode(byte[] payload, Class<T> responseType) {
+        return JsonCodec.decode(this.objectMapper, Flux.fromIterable(chunk(payload)), responseType)
+            .blockLast();
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the compression and hashing of application directories
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class FileUtilsBenchmark {
+
+    @Param({"200"})
+    public int files;
+
+    @Param({"16384"})
+    public int fileSize;
+
+    private Path directory;
+
+    private Path file;
+
+    @Benchmark
+    public Path compress() throws IOException {
+        Path archive = FileUtils.compress(this.directory).block();
+        Files.delete(archive);
+        return archive;
+    }
+
+    @Benchmark
+    public Long compressStream() {
+        return FileUtils.compressStream(this.directory)
+            .map(chunk -> (long) chunk.length)
+            .reduce(0L, Long::sum)
+            .block();
+    }
+
+    @Benchmark
+    public String hash() {
+        return FileUtils.hash(this.file);
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("cloudfoundry-benchmarks-");
+
+        Random random = new Random(0);
+        byte[] content = new byte[this.fileSize];
+
+        for (int i = 0; i < this.files; i++) {
+            Path file = this.directory.resolve(String.format("directory-%d", i % 10)).resolve(String.format("file-%d", i));
+            Files.createDirectories(file.getParent());
+
+            random.nextBytes(content);
+            Files.write(file, content);
+        }
+
+        this.file = this.directory.resolve("large-file");
+        byte[] large = new byte[this.fileSize * this.files];
+        random.nextBytes(large);
+        Files.write(this.file, large);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths
+                .sorted(Comparator.reverseOrder())
+                .forEach(path -> {
+                    try {
+                        Files.delete(path);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+        }
+    }
+
+}
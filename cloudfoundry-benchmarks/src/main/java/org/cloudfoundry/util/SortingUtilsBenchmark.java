@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the throughput of {@link SortingUtils#timespan(Comparator, Duration)} on locally scrambled input
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+public class SortingUtilsBenchmark {
+
+    private static final int SCRAMBLE_WINDOW = 16;
+
+    @Param({"100000"})
+    public int elements;
+
+    private List<Long> input;
+
+    @Benchmark
+    public Long timespan() {
+        return Flux.fromIterable(this.input)
+            .compose(SortingUtils.timespan(Comparator.<Long>naturalOrder(), Duration.ofMillis(10)))
+            .count()
+            .block();
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        this.input = new ArrayList<>(this.elements);
+
+        for (long i = 0; i < this.elements; i++) {
+            this.input.add(i);
+        }
+
+        for (int i = 0; i < this.elements; i += SCRAMBLE_WINDOW) {
+            Collections.shuffle(this.input.subList(i, Math.min(i + SCRAMBLE_WINDOW, this.elements)), random);
+        }
+    }
+
+}
@@ -21,19 +21,24 @@ import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 abstract class AbstractPayloadCachingRootProvider extends AbstractRootProvider {
 
-    private final ConcurrentMap<ConnectionContext, Mono<Map<String, String>>> payloads = new ConcurrentHashMap<>(1);
+    private final ConcurrentMap<ConnectionContext, CachedPayload> payloads = new ConcurrentHashMap<>(1);
 
     protected abstract Mono<Map<String, String>> doGetPayload(ConnectionContext connectionContext);
 
     @Override
     protected final Mono<UriComponents> doGetRoot(String key, ConnectionContext connectionContext) {
         return this.payloads.computeIfAbsent(connectionContext, this::getPayload)
+            .get()
             .map(payload -> {
                 if (!payload.containsKey(key)) {
                     throw new IllegalArgumentException(String.format("Payload does not contain key '%s;", key));
@@ -45,12 +50,99 @@ abstract class AbstractPayloadCachingRootProvider extends AbstractRootProvider {
 
     abstract ObjectMapper getObjectMapper();
 
-    private Mono<Map<String, String>> getPayload(ConnectionContext connectionContext) {
-        Mono<Map<String, String>> cached = doGetPayload(connectionContext);
+    private CachedPayload getPayload(ConnectionContext connectionContext) {
+        return new CachedPayload(() -> doGetPayload(connectionContext), connectionContext.getCacheDuration());
+    }
+
+    /**
+     * A payload that, once retrieved, is served until it expires and then served while it is refreshed in the background.  Only one retrieval is in flight at a time.  A failed
+     * retrieval is remembered for the same duration as a payload, unless a previously retrieved payload is available to serve instead.
+     */
+    private static final class CachedPayload {
+
+        private final Optional<Duration> cacheDuration;
+
+        private final AtomicReference<Mono<Map<String, String>>> inFlight = new AtomicReference<>();
+
+        private final Supplier<Mono<Map<String, String>>> payloadSupplier;
+
+        private volatile Snapshot snapshot;
+
+        private CachedPayload(Supplier<Mono<Map<String, String>>> payloadSupplier, Optional<Duration> cacheDuration) {
+            this.cacheDuration = cacheDuration;
+            this.payloadSupplier = payloadSupplier;
+        }
+
+        private Mono<Map<String, String>> get() {
+            return Mono.defer(() -> {
+                Snapshot snapshot = this.snapshot;
+
+                if (snapshot == null) {
+                    return refresh();
+                }
+
+                if (!snapshot.isExpired()) {
+                    return snapshot.payload;
+                }
+
+                if (snapshot.successful) {
+                    refresh().subscribe(null, t -> {
+                    });
+
+                    return snapshot.payload;
+                }
+
+                return refresh();
+            });
+        }
+
+        private Mono<Map<String, String>> refresh() {
+            Mono<Map<String, String>> existing = this.inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            Mono<Map<String, String>> candidate = Mono.defer(this.payloadSupplier)
+                .doOnNext(payload -> this.snapshot = new Snapshot(Mono.just(payload), true, getExpiration()))
+                .doOnError(t -> {
+                    Snapshot snapshot = this.snapshot;
+
+                    if (snapshot == null || !snapshot.successful) {
+                        this.snapshot = new Snapshot(Mono.error(t), false, getExpiration());
+                    }
+                })
+                .doFinally(signalType -> this.inFlight.set(null))
+                .cache();
+
+            return this.inFlight.compareAndSet(null, candidate) ? candidate : refresh();
+        }
+
+        private Long getExpiration() {
+            return this.cacheDuration
+                .map(duration -> System.nanoTime() + duration.toNanos())
+                .orElse(null);
+        }
+
+    }
+
+    private static final class Snapshot {
+
+        private final Long expiration;
+
+        private final Mono<Map<String, String>> payload;
+
+        private final boolean successful;
+
+        private Snapshot(Mono<Map<String, String>> payload, boolean successful, Long expiration) {
+            this.expiration = expiration;
+            this.payload = payload;
+            this.successful = successful;
+        }
+
+        private boolean isExpired() {
+            return this.expiration != null && System.nanoTime() - this.expiration >= 0;
+        }
 
-        return connectionContext.getCacheDuration()
-            .map(cached::cache)
-            .orElseGet(cached::cache);
     }
 
 }
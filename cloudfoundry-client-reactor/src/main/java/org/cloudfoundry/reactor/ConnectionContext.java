@@ -17,6 +17,8 @@
 package org.cloudfoundry.reactor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cloudfoundry.reactor.util.RequestCoalescer;
+import org.cloudfoundry.reactor.util.ResponseCache;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClient;
 
@@ -43,6 +45,28 @@ public interface ConnectionContext {
      */
     ObjectMapper getObjectMapper();
 
+    /**
+     * The (optional) {@link RequestCoalescer} that merges concurrent, identical {@code GET} requests.  Since coalescing is opt-in, the default implementation returns {@link
+     * Optional#empty()}.
+     */
+    default Optional<RequestCoalescer> getRequestCoalescer() {
+        return Optional.empty();
+    }
+
+    /**
+     * The {@link RequestMetrics} to record requests with.  Since not all {@link ConnectionContext}s record metrics, the default implementation records nothing.
+     */
+    default RequestMetrics getRequestMetrics() {
+        return RequestMetrics.NONE;
+    }
+
+    /**
+     * The (optional) {@link ResponseCache} to serve {@code GET} responses from.  Since caching is opt-in, the default implementation returns {@link Optional#empty()}.
+     */
+    default Optional<ResponseCache> getResponseCache() {
+        return Optional.empty();
+    }
+
     /**
      * The {@link RootProvider} to use
      */
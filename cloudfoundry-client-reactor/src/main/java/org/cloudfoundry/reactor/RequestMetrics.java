@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import java.time.Duration;
+
+/**
+ * A recorder of request metrics.  Requests are identified by a low-cardinality route such as {@code GET /v2/apps/{id}}, rather than by their full URI.  Since not all implementations care
+ * about every event, the default implementation of each method does nothing.
+ */
+public interface RequestMetrics {
+
+    /**
+     * A {@link RequestMetrics} that records nothing
+     */
+    RequestMetrics NONE = new RequestMetrics() {
+
+    };
+
+    /**
+     * Called when a request fails without receiving a response
+     *
+     * @param route   the route of the request
+     * @param error   the cause of the failure
+     * @param latency the time between sending the request and the failure
+     */
+    default void onError(String route, Throwable error, Duration latency) {
+    }
+
+    /**
+     * Called when the status and headers of a response are received
+     *
+     * @param route         the route of the request
+     * @param statusCode    the status code of the response
+     * @param requestBytes  the length of the request payload or {@code -1} if unknown
+     * @param responseBytes the length of the response payload or {@code -1} if unknown
+     * @param latency       the time between sending the request and receiving the response
+     */
+    default void onResponse(String route, int statusCode, long requestBytes, long responseBytes, Duration latency) {
+    }
+
+    /**
+     * Called when a request is replayed
+     *
+     * @param route the route of the request
+     */
+    default void onRetry(String route) {
+    }
+
+    /**
+     * Called when a {@code 401 UNAUTHORIZED} response causes the access token to be renegotiated
+     *
+     * @param route the route of the request
+     */
+    default void onTokenRenegotiation(String route) {
+    }
+
+}
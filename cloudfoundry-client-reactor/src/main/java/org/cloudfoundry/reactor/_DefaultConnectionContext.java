@@ -20,15 +20,24 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
 import io.netty.buffer.PooledByteBufAllocator;
 import org.cloudfoundry.Nullable;
 import org.cloudfoundry.reactor.util.ByteBufAllocatorMetricProviderWrapper;
 import org.cloudfoundry.reactor.util.DefaultSslCertificateTruster;
+import org.cloudfoundry.reactor.util.HostPoolResources;
+import org.cloudfoundry.reactor.util.JmxRequestMetrics;
+import org.cloudfoundry.reactor.util.RequestCoalescer;
+import org.cloudfoundry.reactor.util.ResponseCache;
 import org.cloudfoundry.reactor.util.SslCertificateTruster;
 import org.cloudfoundry.reactor.util.StaticTrustManagerFactory;
 import org.immutables.value.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClient;
 import reactor.ipc.netty.resources.LoopResources;
@@ -41,10 +50,14 @@ import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static io.netty.channel.ChannelOption.ALLOCATOR;
 import static io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS;
 import static io.netty.channel.ChannelOption.SO_KEEPALIVE;
 import static io.netty.channel.ChannelOption.SO_RCVBUF;
@@ -58,19 +71,34 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
 
     private static final int DEFAULT_PORT = 443;
 
+    private static final List<String> PREFETCHED_ROOT_KEYS = Arrays.asList("cloud_controller_v2", "cloud_controller_v3", "logging", "routing", "uaa");
+
     private static final int RECEIVE_BUFFER_SIZE = 10 * 1024 * 1024;
 
     private static final int SEND_BUFFER_SIZE = 10 * 1024 * 1024;
 
     private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client");
 
+    private final Disposable.Composite prefetch = Disposables.composite();
+
+    private final AtomicBoolean prefetched = new AtomicBoolean();
+
     /**
      * Disposes resources created to service this connection context
      */
     @PreDestroy
     public final void dispose() {
+        this.prefetch.dispose();
+
         getConnectionPool().ifPresent(PoolResources::dispose);
-        getThreadPool().dispose();
+
+        if (!getLoopResources().isPresent()) {
+            getThreadPool().dispose();
+        }
+
+        if (getRequestMetrics() instanceof JmxRequestMetrics) {
+            ((JmxRequestMetrics) getRequestMetrics()).dispose();
+        }
 
         try {
             ObjectName name = getByteBufAllocatorObjectName();
@@ -100,14 +128,16 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
     public HttpClient getHttpClient() {
         return HttpClient.create(options -> {
             options
-                .compression(true)
+                .compression(getCompression().orElse(true))
                 .loopResources(getThreadPool())
-                .option(SO_SNDBUF, SEND_BUFFER_SIZE)
-                .option(SO_RCVBUF, RECEIVE_BUFFER_SIZE)
+                .preferNative(getNativeTransport().orElse(false))
+                .option(SO_SNDBUF, getSendBufferSize().orElse(SEND_BUFFER_SIZE))
+                .option(SO_RCVBUF, getReceiveBufferSize().orElse(RECEIVE_BUFFER_SIZE))
                 .disablePool();
 
             options.sslSupport(ssl -> getSslCertificateTruster().ifPresent(trustManager -> ssl.trustManager(new StaticTrustManagerFactory(trustManager))));
 
+            getByteBufAllocator().ifPresent(allocator -> options.option(ALLOCATOR, allocator));
             getConnectionPool().ifPresent(options::poolResources);
             getConnectTimeout().ifPresent(socketTimeout -> options.option(CONNECT_TIMEOUT_MILLIS, (int) socketTimeout.toMillis()));
             getKeepAlive().ifPresent(keepAlive -> options.option(SO_KEEPALIVE, keepAlive));
@@ -132,6 +162,27 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         return objectMapper;
     }
 
+    /**
+     * The (optional) {@link RequestCoalescer} that merges concurrent, identical {@code GET} requests
+     */
+    @Override
+    public abstract Optional<RequestCoalescer> getRequestCoalescer();
+
+    /**
+     * The {@link RequestMetrics} to record requests with.  Defaults to a {@link JmxRequestMetrics} for this endpoint.
+     */
+    @Override
+    @Value.Default
+    public RequestMetrics getRequestMetrics() {
+        return new JmxRequestMetrics(String.format("%s/%d", getApiHost(), getPort().orElse(DEFAULT_PORT)));
+    }
+
+    /**
+     * The (optional) {@link ResponseCache} to serve {@code GET} responses from
+     */
+    @Override
+    public abstract Optional<ResponseCache> getResponseCache();
+
     @Override
     @Value.Default
     public RootProvider getRootProvider() {
@@ -151,6 +202,24 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         return LoopResources.DEFAULT_IO_WORKER_COUNT;
     }
 
+    /**
+     * Retrieves the well-known root endpoints in the background if {@link #getPrefetchRoots()} is set.  Containers that honor {@link PostConstruct} call this once the connection context is
+     * created; otherwise it should be called explicitly.  Only the first call has any effect, and a retrieval still in progress is cancelled by {@link #dispose()}.
+     */
+    public final void prefetchRoots() {
+        if (!getPrefetchRoots().orElse(false) || !this.prefetched.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.prefetch.add(Flux.fromIterable(PREFETCHED_ROOT_KEYS)
+            .flatMap(key -> getRootProvider().getRoot(key, this)
+                .onErrorResume(t -> {
+                    this.logger.debug("Unable to prefetch root for key '{}'", key, t);
+                    return Mono.empty();
+                }))
+            .subscribe());
+    }
+
     @Override
     public Mono<Void> trust(String host, int port) {
         return getSslCertificateTruster()
@@ -163,6 +232,17 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
      */
     abstract String getApiHost();
 
+    /**
+     * The {@link ByteBufAllocator} to use.  Supplying the same allocator to many connection contexts lets them share a single pool of buffers.  An allocator that is not a
+     * {@link ByteBufAllocatorMetricProvider} is not exposed as an MBean.  Defaults to Netty's default allocator.
+     */
+    abstract Optional<ByteBufAllocator> getByteBufAllocator();
+
+    /**
+     * Whether to request compressed responses.  Defaults to {@code true}.
+     */
+    abstract Optional<Boolean> getCompression();
+
     /**
      * The {@code CONNECT_TIMEOUT_MILLIS} value
      */
@@ -171,14 +251,37 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
     @Value.Derived
     Optional<PoolResources> getConnectionPool() {
         return Optional.ofNullable(getConnectionPoolSize())
-            .map(connectionPoolSize -> PoolResources.fixed("cloudfoundry-client", connectionPoolSize));
+            .map(connectionPoolSize -> new HostPoolResources("cloudfoundry-client", String.format("%s/%d", getApiHost(), getPort().orElse(DEFAULT_PORT)), connectionPoolSize,
+                getConnectionPoolSizes(), getConnectionPoolAcquireTimeout().orElse(Duration.ofMillis(PoolResources.DEFAULT_POOL_ACQUIRE_TIMEOUT))));
     }
 
+    /**
+     * The maximum time to wait for a pooled connection.  Defaults to {@link PoolResources#DEFAULT_POOL_ACQUIRE_TIMEOUT}.
+     */
+    abstract Optional<Duration> getConnectionPoolAcquireTimeout();
+
+    /**
+     * The number of connections to use for individual hosts, such as the UAA or Doppler hosts, keyed by host.  Hosts that are not listed use {@link #getConnectionPoolSize()}.
+     */
+    abstract Map<String, Integer> getConnectionPoolSizes();
+
     /**
      * The {@code SO_KEEPALIVE} value
      */
     abstract Optional<Boolean> getKeepAlive();
 
+    /**
+     * The {@link LoopResources} to use.  Supplying the same resources to many connection contexts, for example when connecting to many Cloud Foundry instances, lets them share a
+     * single event loop group.  Resources supplied here are not disposed with this connection context.  Defaults to a group of {@link #getThreadPoolSize()} threads created for this
+     * connection context.
+     */
+    abstract Optional<LoopResources> getLoopResources();
+
+    /**
+     * Whether to use the native epoll transport when it is available.  Requires {@code io.netty:netty-transport-native-epoll} on the classpath.  Defaults to {@code false}.
+     */
+    abstract Optional<Boolean> getNativeTransport();
+
     /**
      * The port for the Cloud Foundry instance. Defaults to {@code 443}.
      */
@@ -189,16 +292,31 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
      */
     abstract List<DeserializationProblemHandler> getProblemHandlers();
 
+    /**
+     * Whether {@link #prefetchRoots()} retrieves the well-known root endpoints in the background, so that the first requests do not wait for them.  Defaults to {@code false}.
+     */
+    abstract Optional<Boolean> getPrefetchRoots();
+
     /**
      * The (optional) proxy configuration
      */
     abstract Optional<ProxyConfiguration> getProxyConfiguration();
 
+    /**
+     * The {@code SO_RCVBUF} value.  Defaults to 10 MiB.
+     */
+    abstract Optional<Integer> getReceiveBufferSize();
+
     /**
      * Whether the connection to the root API should be secure (i.e. using HTTPS).  Defaults to {@code true}.
      */
     abstract Optional<Boolean> getSecure();
 
+    /**
+     * The {@code SO_SNDBUF} value.  Defaults to 10 MiB.
+     */
+    abstract Optional<Integer> getSendBufferSize();
+
     /**
      * Whether to skip SSL certificate validation for all hosts reachable from the API host.  Defaults to {@code false}.
      */
@@ -230,11 +348,24 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
 
     @Value.Derived
     LoopResources getThreadPool() {
-        return LoopResources.create("cloudfoundry-client", getThreadPoolSize(), true);
+        return getLoopResources()
+            .orElseGet(() -> LoopResources.create("cloudfoundry-client", getThreadPoolSize(), true));
     }
 
     @PostConstruct
+    void initialize() {
+        monitorByteBufAllocator();
+        prefetchRoots();
+    }
+
     void monitorByteBufAllocator() {
+        Optional<ByteBufAllocator> byteBufAllocator = getByteBufAllocator();
+
+        if (byteBufAllocator.isPresent() && !(byteBufAllocator.get() instanceof ByteBufAllocatorMetricProvider)) {
+            this.logger.debug("ByteBufAllocator {} does not provide metrics and will not be registered as an MBean", byteBufAllocator.get());
+            return;
+        }
+
         try {
             ObjectName name = getByteBufAllocatorObjectName();
 
@@ -243,7 +374,11 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
                 ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
             }
 
-            ManagementFactory.getPlatformMBeanServer().registerMBean(new ByteBufAllocatorMetricProviderWrapper(PooledByteBufAllocator.DEFAULT), name);
+            ByteBufAllocatorMetricProvider allocator = byteBufAllocator
+                .map(ByteBufAllocatorMetricProvider.class::cast)
+                .orElse(PooledByteBufAllocator.DEFAULT);
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new ByteBufAllocatorMetricProviderWrapper(allocator), name);
         } catch (JMException e) {
             this.logger.error("Unable to register ByteBufAllocator MBean", e);
         }
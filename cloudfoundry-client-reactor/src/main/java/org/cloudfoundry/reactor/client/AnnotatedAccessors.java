@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import org.cloudfoundry.reactor.util.AnnotationUtils;
+import reactor.core.Exceptions;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * The public, no-argument methods of a type that carry a given annotation.  The methods of each type are discovered once, in {@link MethodNameComparator} order, and cached as
+ * {@link MethodHandle}s so that repeated requests of the same type do not pay for method discovery, sorting, or annotation lookup.
+ *
+ * @param <T> the type of the annotation
+ */
+public final class AnnotatedAccessors<T extends Annotation> {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final ClassValue<List<Accessor<T>>> accessors;
+
+    private AnnotatedAccessors(Class<T> annotationType) {
+        this.accessors = new ClassValue<List<Accessor<T>>>() {
+
+            @Override
+            protected List<Accessor<T>> computeValue(Class<?> type) {
+                return Arrays.stream(type.getMethods())
+                    .filter(method -> method.getParameterCount() == 0)
+                    .sorted(MethodNameComparator.INSTANCE)
+                    .map(method -> AnnotationUtils.findAnnotation(method, annotationType)
+                        .map(annotation -> new Accessor<>(annotation, toMethodHandle(method))))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
+            }
+
+        };
+    }
+
+    /**
+     * Creates a new instance for an annotation type
+     *
+     * @param annotationType the type of the annotation
+     * @param <T>            the type of the annotation
+     * @return the accessors
+     */
+    public static <T extends Annotation> AnnotatedAccessors<T> of(Class<T> annotationType) {
+        return new AnnotatedAccessors<>(annotationType);
+    }
+
+    /**
+     * Invokes each annotated method of an instance, passing the annotation and every non-{@code null} value to a consumer
+     *
+     * @param instance the instance to invoke
+     * @param consumer the consumer of the annotations and values
+     */
+    public void forEach(Object instance, BiConsumer<T, Object> consumer) {
+        for (Accessor<T> accessor : this.accessors.get(instance.getClass())) {
+            Object value = accessor.invoke(instance);
+
+            if (value != null) {
+                consumer.accept(accessor.annotation, value);
+            }
+        }
+    }
+
+    private static MethodHandle toMethodHandle(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method).asType(GETTER);
+            } catch (IllegalAccessException f) {
+                throw Exceptions.propagate(f);
+            }
+        }
+    }
+
+    private static final class Accessor<T> {
+
+        private final T annotation;
+
+        private final MethodHandle methodHandle;
+
+        private Accessor(T annotation, MethodHandle methodHandle) {
+            this.annotation = annotation;
+            this.methodHandle = methodHandle;
+        }
+
+        private Object invoke(Object instance) {
+            try {
+                return this.methodHandle.invokeExact(instance);
+            } catch (Throwable t) {
+                throw Exceptions.propagate(t);
+            }
+        }
+
+    }
+
+}
@@ -216,7 +216,10 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
         return put(request, UploadApplicationResponse.class, builder -> builder.pathSegment("apps", request.getApplicationId(), "bits"),
             outbound -> outbound
                 .flatMap(r -> {
-                    if (Files.isDirectory(request.getApplication())) {
+                    if (Files.isDirectory(request.getApplication()) && Boolean.TRUE.equals(request.getStreaming())) {
+                        return FileUtils.compressedSize(request.getApplication())
+                            .flatMap(length -> upload(FileUtils.compressStream(request.getApplication()), length, r, request));
+                    } else if (Files.isDirectory(request.getApplication())) {
                         return FileUtils.compress(request.getApplication())
                             .flatMap(application -> upload(application, r, request)
                                 .doOnTerminate(() -> {
@@ -250,10 +253,25 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
             .addPart(part -> part
                 .setContentDispositionFormData("application", "application.zip")
                 .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
+                .setProgress(request.getProgress())
                 .sendFile(application))
             .done();
     }
 
+    private Mono<Void> upload(Flux<byte[]> application, long length, MultipartHttpClientRequest r, UploadApplicationRequest request) {
+        return r
+            .addPart(part -> part
+                .setContentDispositionFormData("resources")
+                .setHeader(CONTENT_TYPE, APPLICATION_JSON)
+                .send(request.getResources()))
+            .addPart(part -> part
+                .setContentDispositionFormData("application", "application.zip")
+                .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
+                .setProgress(request.getProgress())
+                .sendStream(application, length))
+            .done();
+    }
+
     private Mono<Void> upload(MultipartHttpClientRequest r, UploadApplicationDropletRequest request) {
         return r
             .addPart(part -> part
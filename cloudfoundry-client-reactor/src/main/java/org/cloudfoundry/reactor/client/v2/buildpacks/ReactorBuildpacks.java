@@ -35,11 +35,13 @@ import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
 import org.cloudfoundry.reactor.util.MultipartHttpClientRequest;
 import org.cloudfoundry.util.FileUtils;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 
@@ -95,9 +97,12 @@ public final class ReactorBuildpacks extends AbstractClientV2Operations implemen
         return put(request, UploadBuildpackResponse.class, builder -> builder.pathSegment("buildpacks", request.getBuildpackId(), "bits"),
             outbound -> outbound
                 .flatMap(r -> {
-                    if (Files.isDirectory(request.getBuildpack())) {
+                    if (Files.isDirectory(request.getBuildpack()) && Boolean.TRUE.equals(request.getStreaming())) {
+                        return FileUtils.compressedSize(request.getBuildpack())
+                            .flatMap(length -> upload(FileUtils.compressStream(request.getBuildpack()), length, r, request.getFilename() + ".zip", request.getProgress()));
+                    } else if (Files.isDirectory(request.getBuildpack())) {
                         return FileUtils.compress(request.getBuildpack())
-                            .flatMap(buildpack -> upload(buildpack, r, request.getFilename() + ".zip")
+                            .flatMap(buildpack -> upload(buildpack, r, request.getFilename() + ".zip", request.getProgress())
                                 .doOnTerminate(() -> {
                                     try {
                                         Files.delete(buildpack);
@@ -106,17 +111,28 @@ public final class ReactorBuildpacks extends AbstractClientV2Operations implemen
                                     }
                                 }));
                     } else {
-                        return upload(request.getBuildpack(), r, request.getFilename());
+                        return upload(request.getBuildpack(), r, request.getFilename(), request.getProgress());
                     }
                 }))
             .checkpoint();
     }
 
-    private Mono<Void> upload(Path buildpack, MultipartHttpClientRequest r, String filename) {
+    private Mono<Void> upload(Flux<byte[]> buildpack, long length, MultipartHttpClientRequest r, String filename, LongConsumer progress) {
         return r
             .addPart(part -> part
                 .setContentDispositionFormData("buildpack", filename)
                 .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
+                .setProgress(progress)
+                .sendStream(buildpack, length))
+            .done();
+    }
+
+    private Mono<Void> upload(Path buildpack, MultipartHttpClientRequest r, String filename, LongConsumer progress) {
+        return r
+            .addPart(part -> part
+                .setContentDispositionFormData("buildpack", filename)
+                .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
+                .setProgress(progress)
                 .sendFile(buildpack))
             .done();
     }
@@ -43,6 +43,7 @@ import reactor.core.publisher.Mono;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 
@@ -110,9 +111,12 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
         return post(request, UploadPackageResponse.class, builder -> builder.pathSegment("packages", request.getPackageId(), "upload"),
             outbound -> outbound
                 .flatMap(r -> {
-                    if (Files.isDirectory(request.getBits())) {
+                    if (Files.isDirectory(request.getBits()) && Boolean.TRUE.equals(request.getStreaming())) {
+                        return FileUtils.compressedSize(request.getBits())
+                            .flatMap(length -> upload(FileUtils.compressStream(request.getBits()), length, r, request.getProgress()));
+                    } else if (Files.isDirectory(request.getBits())) {
                         return FileUtils.compress(request.getBits())
-                            .flatMap(bits -> upload(bits, r)
+                            .flatMap(bits -> upload(bits, r, request.getProgress())
                                 .doOnTerminate(() -> {
                                     try {
                                         Files.delete(bits);
@@ -122,17 +126,28 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
                                 })
                             );
                     } else {
-                        return upload(request.getBits(), r);
+                        return upload(request.getBits(), r, request.getProgress());
                     }
                 }))
             .checkpoint();
     }
 
-    private Mono<Void> upload(Path bits, MultipartHttpClientRequest r) {
+    private Mono<Void> upload(Flux<byte[]> bits, long length, MultipartHttpClientRequest r, LongConsumer progress) {
         return r
             .addPart(part -> part
                 .setContentDispositionFormData("bits", "application.zip")
                 .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
+                .setProgress(progress)
+                .sendStream(bits, length))
+            .done();
+    }
+
+    private Mono<Void> upload(Path bits, MultipartHttpClientRequest r, LongConsumer progress) {
+        return r
+            .addPart(part -> part
+                .setContentDispositionFormData("bits", "application.zip")
+                .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
+                .setProgress(progress)
                 .sendFile(bits))
             .done();
     }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.EventType;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes protobuf {@link Envelope}s directly from websocket frames.  When a set of event types is requested, the event type of each frame is read from its wire encoding and frames of
+ * other types are discarded without being decoded.  Frames whose event type cannot be read that way are fully decoded and filtered afterwards.
+ */
+final class EnvelopeCodec {
+
+    private static final int EVENT_TYPE_FIELD = 2;
+
+    private static final int EVENT_TYPE_UNDETERMINED = -2;
+
+    private static final int WIRE_TYPE_END_GROUP = 4;
+
+    private static final int WIRE_TYPE_FIXED32 = 5;
+
+    private static final int WIRE_TYPE_FIXED64 = 1;
+
+    private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+    private static final int WIRE_TYPE_START_GROUP = 3;
+
+    private static final int WIRE_TYPE_VARINT = 0;
+
+    private EnvelopeCodec() {
+    }
+
+    static Flux<Envelope> decode(Flux<ByteBuf> frames, List<EventType> eventTypes) {
+        if (eventTypes == null || eventTypes.isEmpty()) {
+            return frames
+                .map(EnvelopeCodec::toEnvelope);
+        }
+
+        Set<Integer> values = eventTypes.stream()
+            .map(EnvelopeCodec::toDropsonde)
+            .map(org.cloudfoundry.dropsonde.events.Envelope.EventType::getValue)
+            .collect(Collectors.toSet());
+
+        return frames
+            .<Envelope>handle((frame, sink) -> {
+                int eventType = peekEventType(frame);
+
+                if (EVENT_TYPE_UNDETERMINED == eventType) {
+                    Envelope envelope = toEnvelope(frame);
+
+                    if (eventTypes.contains(envelope.getEventType())) {
+                        sink.next(envelope);
+                    }
+                } else if (values.contains(eventType)) {
+                    sink.next(toEnvelope(frame));
+                }
+            });
+    }
+
+    static int peekEventType(ByteBuf frame) {
+        ByteBuf in = frame.duplicate();
+
+        try {
+            while (in.isReadable()) {
+                long key = readVarint(in);
+                int field = (int) (key >>> 3);
+                int wireType = (int) (key & 0x7);
+
+                if (field == EVENT_TYPE_FIELD && wireType == WIRE_TYPE_VARINT) {
+                    return (int) readVarint(in);
+                }
+
+                if (!skipField(in, field, wireType)) {
+                    return EVENT_TYPE_UNDETERMINED;
+                }
+            }
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            return EVENT_TYPE_UNDETERMINED;
+        }
+
+        return -1;
+    }
+
+    private static long readVarint(ByteBuf in) {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static boolean skipField(ByteBuf in, int field, int wireType) {
+        switch (wireType) {
+            case WIRE_TYPE_VARINT:
+                readVarint(in);
+                return true;
+            case WIRE_TYPE_FIXED64:
+                in.skipBytes(8);
+                return true;
+            case WIRE_TYPE_LENGTH_DELIMITED:
+                in.skipBytes((int) readVarint(in));
+                return true;
+            case WIRE_TYPE_START_GROUP:
+                return skipGroup(in, field);
+            case WIRE_TYPE_FIXED32:
+                in.skipBytes(4);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean skipGroup(ByteBuf in, int group) {
+        while (in.isReadable()) {
+            long key = readVarint(in);
+            int field = (int) (key >>> 3);
+            int wireType = (int) (key & 0x7);
+
+            if (wireType == WIRE_TYPE_END_GROUP) {
+                return field == group;
+            }
+
+            if (!skipField(in, field, wireType)) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    private static org.cloudfoundry.dropsonde.events.Envelope.EventType toDropsonde(EventType eventType) {
+        switch (eventType) {
+            case CONTAINER_METRIC:
+                return org.cloudfoundry.dropsonde.events.Envelope.EventType.ContainerMetric;
+            case COUNTER_EVENT:
+                return org.cloudfoundry.dropsonde.events.Envelope.EventType.CounterEvent;
+            case ERROR:
+                return org.cloudfoundry.dropsonde.events.Envelope.EventType.Error;
+            case HTTP_START_STOP:
+                return org.cloudfoundry.dropsonde.events.Envelope.EventType.HttpStartStop;
+            case LOG_MESSAGE:
+                return org.cloudfoundry.dropsonde.events.Envelope.EventType.LogMessage;
+            case VALUE_METRIC:
+                return org.cloudfoundry.dropsonde.events.Envelope.EventType.ValueMetric;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown event type: %s", eventType));
+        }
+    }
+
+    private static Envelope toEnvelope(ByteBuf frame) {
+        try (InputStream in = new ByteBufInputStream(frame)) {
+            return Envelope.from(org.cloudfoundry.dropsonde.events.Envelope.ADAPTER.decode(in));
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+}
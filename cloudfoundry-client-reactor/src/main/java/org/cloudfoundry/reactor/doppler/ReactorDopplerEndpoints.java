@@ -45,8 +45,7 @@ final class ReactorDopplerEndpoints extends AbstractDopplerOperations {
 
     Flux<Envelope> firehose(FirehoseRequest request) {
         return ws(builder -> builder.pathSegment("firehose", request.getSubscriptionId()))
-            .flatMapMany(response -> response.receiveWebsocket().aggregateFrames().receive().asInputStream()
-                .map(ReactorDopplerEndpoints::toEnvelope))
+            .flatMapMany(response -> EnvelopeCodec.decode(response.receiveWebsocket().aggregateFrames().receive(), request.getEventTypes()))
             .checkpoint();
     }
 
@@ -59,8 +58,7 @@ final class ReactorDopplerEndpoints extends AbstractDopplerOperations {
 
     Flux<Envelope> stream(StreamRequest request) {
         return ws(builder -> builder.pathSegment("apps", request.getApplicationId(), "stream"))
-            .flatMapMany(response -> response.receiveWebsocket().aggregateFrames().receive().asInputStream()
-                .map(ReactorDopplerEndpoints::toEnvelope))
+            .flatMapMany(response -> EnvelopeCodec.decode(response.receiveWebsocket().aggregateFrames().receive(), request.getEventTypes()))
             .checkpoint();
     }
 
@@ -31,6 +31,7 @@ import org.immutables.value.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
@@ -38,6 +39,9 @@ import reactor.core.publisher.ReplayProcessor;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Base64;
@@ -65,6 +69,14 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
 
     private static final String AUTHORIZATION_ENDPOINT = "authorization_endpoint";
 
+    private static final Duration REFRESH_MARGIN = Duration.ofMinutes(1);
+
+    private static final int REFRESH_RETRIES = 3;
+
+    private static final Duration REFRESH_RETRY_MAXIMUM = Duration.ofSeconds(15);
+
+    private static final Duration REFRESH_RETRY_MINIMUM = Duration.ofSeconds(1);
+
     private static final String REFRESH_TOKEN = "refresh_token";
 
     private static final String TOKEN_TYPE = "token_type";
@@ -73,10 +85,26 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
 
     private final ConcurrentMap<ConnectionContext, Mono<String>> accessTokens = new ConcurrentHashMap<>(1);
 
+    private volatile boolean disposed;
+
+    private final ConcurrentMap<ConnectionContext, Disposable> refreshSchedules = new ConcurrentHashMap<>(1);
+
+    private final ConcurrentMap<ConnectionContext, Disposable> refreshSubscriptions = new ConcurrentHashMap<>(1);
+
     private final ConcurrentMap<ConnectionContext, RefreshToken> refreshTokenStreams = new ConcurrentHashMap<>(1);
 
     private final ConcurrentMap<ConnectionContext, Mono<String>> refreshTokens = new ConcurrentHashMap<>(1);
 
+    /**
+     * Cancels every scheduled or in-progress refresh of an access token.  Tokens that have already been negotiated continue to be served.
+     */
+    @PreDestroy
+    public void dispose() {
+        this.disposed = true;
+        this.refreshSchedules.keySet().forEach(this::cancelRefresh);
+        this.refreshSubscriptions.keySet().forEach(this::cancelRefresh);
+    }
+
     /**
      * The client id. Defaults to {@code cf}.
      */
@@ -110,6 +138,7 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
 
     @Override
     public void invalidate(ConnectionContext connectionContext) {
+        cancelRefresh(connectionContext);
         this.accessTokens.put(connectionContext, token(connectionContext));
     }
 
@@ -157,6 +186,14 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         return String.format("%s %s", payload.get(TOKEN_TYPE), accessToken);
     }
 
+    private static Optional<Duration> getRefreshDelay(String accessToken) {
+        return parseToken(accessToken)
+            .map(Claims::getExpiration)
+            .map(expiration -> Duration.between(Instant.now(), expiration.toInstant()))
+            .filter(remaining -> !remaining.isNegative() && !remaining.isZero())
+            .map(remaining -> remaining.compareTo(REFRESH_MARGIN.multipliedBy(2)) > 0 ? remaining.minus(REFRESH_MARGIN) : remaining.dividedBy(2));
+    }
+
     private static String getTokenUri(String root, String identityZoneId) {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(root);
 
@@ -187,6 +224,11 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         return request.header(AUTHORIZATION, String.format("Basic %s", encoded));
     }
 
+    private void cancelRefresh(ConnectionContext connectionContext) {
+        Optional.ofNullable(this.refreshSchedules.remove(connectionContext)).ifPresent(Disposable::dispose);
+        Optional.ofNullable(this.refreshSubscriptions.remove(connectionContext)).ifPresent(Disposable::dispose);
+    }
+
     private Consumer<Map<String, String>> extractRefreshToken(ConnectionContext connectionContext) {
         return payload -> Optional.ofNullable(payload.get(REFRESH_TOKEN))
             .ifPresent(refreshToken -> {
@@ -211,6 +253,7 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
             .transform(JsonCodec.decode(connectionContext.getObjectMapper(), Map.class))
             .map(payload -> (Map<String, String>) payload)
             .doOnNext(extractRefreshToken(connectionContext))
+            .doOnNext(payload -> scheduleRefresh(connectionContext, payload.get(ACCESS_TOKEN)))
             .map(AbstractUaaTokenProvider::extractAccessToken);
     }
 
@@ -222,6 +265,23 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         return requestToken(connectionContext, this::tokenRequestTransformer);
     }
 
+    private void refresh(ConnectionContext connectionContext) {
+        if (this.disposed) {
+            return;
+        }
+
+        Disposable refresh = Mono
+            .defer(() -> {
+                Mono<String> token = token(connectionContext);
+                return token.map(t -> token);
+            })
+            .doOnSubscribe(s -> LOGGER.debug("Refreshing access token before expiration"))
+            .retryBackoff(REFRESH_RETRIES, REFRESH_RETRY_MINIMUM, REFRESH_RETRY_MAXIMUM)
+            .subscribe(token -> this.accessTokens.put(connectionContext, token), t -> LOGGER.debug("Unable to refresh access token before expiration", t));
+
+        Optional.ofNullable(this.refreshSubscriptions.put(connectionContext, refresh)).ifPresent(Disposable::dispose);
+    }
+
     private Mono<HttpClientResponse> refreshToken(ConnectionContext connectionContext, String refreshToken) {
         return requestToken(connectionContext, refreshTokenGrantTokenRequestTransformer(refreshToken))
             .onErrorResume(t -> t instanceof UaaException && ((UaaException) t).getStatusCode() == UNAUTHORIZED.code(), t -> Mono.empty());
@@ -257,6 +317,18 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
             .transform(ErrorPayloadMapper.uaa(connectionContext.getObjectMapper()));
     }
 
+    private void scheduleRefresh(ConnectionContext connectionContext, String accessToken) {
+        if (this.disposed) {
+            return;
+        }
+
+        getRefreshDelay(accessToken)
+            .map(delay -> Mono.delay(delay)
+                .subscribe(n -> refresh(connectionContext)))
+            .map(schedule -> this.refreshSchedules.put(connectionContext, schedule))
+            .ifPresent(Disposable::dispose);
+    }
+
     private Mono<String> token(ConnectionContext connectionContext) {
         Mono<String> cached = this.refreshTokens.getOrDefault(connectionContext, Mono.empty())
             .flatMap(refreshToken -> refreshToken(connectionContext, refreshToken)
@@ -26,6 +26,8 @@ import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 public abstract class AbstractUaaOperations extends AbstractReactorOperations {
@@ -77,21 +79,20 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
 
     protected final <T> Mono<T> get(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return doGet(responseType,
+            headers(requestPayload),
             queryTransformer(requestPayload)
                 .andThen(uriTransformer),
-            outbound -> outbound
-                .transform(headerTransformer(requestPayload)),
+            outbound -> outbound,
             ErrorPayloadMapper.uaa(this.connectionContext.getObjectMapper()));
     }
 
     protected final <T> Mono<T> get(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
                                     Function<Mono<HttpClientRequest>, Mono<HttpClientRequest>> requestTransformer) {
         return doGet(responseType,
+            headers(requestPayload),
             queryTransformer(requestPayload)
                 .andThen(uriTransformer),
-            outbound -> outbound
-                .transform(headerTransformer(requestPayload))
-                .transform(requestTransformer),
+            requestTransformer,
             ErrorPayloadMapper.uaa(this.connectionContext.getObjectMapper()));
     }
 
@@ -142,6 +143,13 @@ public abstract class AbstractUaaOperations extends AbstractReactorOperations {
             });
     }
 
+    private static Map<String, String> headers(Object requestPayload) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.putAll(IdentityZoneBuilder.headers(requestPayload));
+        headers.putAll(VersionBuilder.headers(requestPayload));
+        return headers;
+    }
+
     private static Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload) {
         return builder -> {
             QueryBuilder.augment(builder, requestPayload);
@@ -19,6 +19,8 @@ package org.cloudfoundry.reactor.uaa;
 import org.cloudfoundry.uaa.IdentityZoned;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 final class IdentityZoneBuilder {
@@ -27,11 +29,19 @@ final class IdentityZoneBuilder {
     }
 
     static void augment(HttpClientRequest outbound, Object request) {
+        headers(request).forEach(outbound::header);
+    }
+
+    static Map<String, String> headers(Object request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+
         if (request instanceof IdentityZoned) {
             IdentityZoned identityZoned = (IdentityZoned) request;
-            Optional.ofNullable(identityZoned.getIdentityZoneId()).ifPresent(identityZoneId -> outbound.header("X-Identity-Zone-Id", identityZoneId));
-            Optional.ofNullable(identityZoned.getIdentityZoneSubdomain()).ifPresent(identityZoneSubdomain -> outbound.header("X-Identity-Zone-Subdomain", identityZoneSubdomain));
+            Optional.ofNullable(identityZoned.getIdentityZoneId()).ifPresent(identityZoneId -> headers.put("X-Identity-Zone-Id", identityZoneId));
+            Optional.ofNullable(identityZoned.getIdentityZoneSubdomain()).ifPresent(identityZoneSubdomain -> headers.put("X-Identity-Zone-Subdomain", identityZoneSubdomain));
         }
+
+        return headers;
     }
 
 }
@@ -25,6 +25,7 @@ import org.cloudfoundry.uaa.tokens.ListTokenKeysResponse;
 import org.cloudfoundry.uaa.tokens.TokenKey;
 import org.cloudfoundry.uaa.tokens.Tokens;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
 
 import java.security.Key;
 import java.security.KeyFactory;
@@ -32,25 +33,50 @@ import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import java.time.Duration;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * A {@link SigningKeyResolver} that caches the UAA token keys.  Resolution of a known key ID reads an immutable snapshot without locking.  Concurrent misses share a single refresh,
+ * refreshes triggered by unknown key IDs are limited to one per {@code minimumRefreshInterval}, and a snapshot older than its {@code ttl} is refreshed in the background while the cached
+ * keys continue to be served.
+ */
 final class UaaSigningKeyResolver implements SigningKeyResolver {
 
+    static final Duration DEFAULT_MINIMUM_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
     private static final Base64Codec BASE64 = new Base64Codec();
 
     private static final String BEGIN = "-----BEGIN PUBLIC KEY-----";
 
     private static final String END = "-----END PUBLIC KEY-----";
 
-    private final Object monitor = new Object();
+    private static final Duration REFRESH_TIMEOUT = Duration.ofMinutes(5);
+
+    private final AtomicReference<Mono<SigningKeys>> inFlight = new AtomicReference<>();
 
-    private final Map<String, Key> signingKeys = new HashMap<>();
+    private volatile long lastRefresh;
+
+    private final long minimumRefreshInterval;
+
+    private volatile SigningKeys signingKeys = new SigningKeys(Collections.emptyMap(), 0);
 
     private final Tokens tokens;
 
+    private final long ttl;
+
     UaaSigningKeyResolver(Tokens tokens) {
+        this(tokens, DEFAULT_MINIMUM_REFRESH_INTERVAL, DEFAULT_TTL);
+    }
+
+    UaaSigningKeyResolver(Tokens tokens, Duration minimumRefreshInterval, Duration ttl) {
+        this.minimumRefreshInterval = minimumRefreshInterval.toNanos();
         this.tokens = tokens;
+        this.ttl = ttl.toNanos();
+        this.lastRefresh = System.nanoTime() - this.minimumRefreshInterval;
     }
 
     @Override
@@ -80,31 +106,71 @@ final class UaaSigningKeyResolver implements SigningKeyResolver {
     }
 
     private Key getKey(String keyId) {
-        synchronized (this.monitor) {
-            Key key = this.signingKeys.get(keyId);
-            if (key != null) {
-                return key;
+        SigningKeys current = this.signingKeys;
+
+        Key key = current.keys.get(keyId);
+        if (key != null) {
+            if (System.nanoTime() - current.refreshed > this.ttl) {
+                refreshKeys().subscribe(null, t -> {
+                });
             }
 
-            refreshKeys();
+            return key;
+        }
+
+        Mono<SigningKeys> refresh = this.inFlight.get();
+        if (refresh == null && System.nanoTime() - this.lastRefresh >= this.minimumRefreshInterval) {
+            refresh = refreshKeys();
+        }
+
+        if (refresh != null) {
+            key = refresh
+                .block(REFRESH_TIMEOUT)
+                .keys.get(keyId);
 
-            key = this.signingKeys.get(keyId);
             if (key != null) {
                 return key;
             }
-
-            throw new IllegalStateException(String.format("Unable to retrieve signing key %s", keyId));
         }
+
+        throw new IllegalStateException(String.format("Unable to retrieve signing key %s", keyId));
     }
 
-    private void refreshKeys() {
-        this.signingKeys.clear();
-        this.signingKeys.putAll(this.tokens
+    private Mono<SigningKeys> refreshKeys() {
+        Mono<SigningKeys> existing = this.inFlight.get();
+        if (existing != null) {
+            return existing;
+        }
+
+        Mono<SigningKeys> candidate = Mono.defer(() -> this.tokens
             .listKeys(ListTokenKeysRequest.builder()
-                .build())
+                .build()))
             .flatMapIterable(ListTokenKeysResponse::getKeys)
             .collectMap(TokenKey::getId, UaaSigningKeyResolver::generateKey)
-            .block(Duration.ofMinutes(5)));
+            .map(keys -> new SigningKeys(keys, System.nanoTime()))
+            .doOnNext(signingKeys -> this.signingKeys = signingKeys)
+            .doFinally(signalType -> this.inFlight.set(null))
+            .cache();
+
+        if (!this.inFlight.compareAndSet(null, candidate)) {
+            return refreshKeys();
+        }
+
+        this.lastRefresh = System.nanoTime();
+        return candidate;
+    }
+
+    private static final class SigningKeys {
+
+        private final Map<String, Key> keys;
+
+        private final long refreshed;
+
+        private SigningKeys(Map<String, Key> keys, long refreshed) {
+            this.keys = keys;
+            this.refreshed = refreshed;
+        }
+
     }
 
 }
@@ -27,24 +27,43 @@ import org.cloudfoundry.uaa.tokens.Tokens;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 final class UsernameProvider {
 
+    static final int DEFAULT_VERIFIED_CLAIMS_CACHE_SIZE = 64;
+
     private final ConnectionContext connectionContext;
 
     private final SigningKeyResolver signingKeyResolver;
 
     private final TokenProvider tokenProvider;
 
+    private final Map<String, Claims> verifiedClaims = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int verifiedClaimsCacheSize;
+
     UsernameProvider(ConnectionContext connectionContext, TokenProvider tokenProvider, Tokens tokens) {
         this(connectionContext, new UaaSigningKeyResolver(tokens), tokenProvider);
     }
 
     UsernameProvider(ConnectionContext connectionContext, SigningKeyResolver signingKeyResolver, TokenProvider tokenProvider) {
+        this(connectionContext, signingKeyResolver, tokenProvider, DEFAULT_VERIFIED_CLAIMS_CACHE_SIZE);
+    }
+
+    /**
+     * @param verifiedClaimsCacheSize the maximum number of tokens whose verified claims are retained.  The least-recently-used token is evicted first.  A value of {@code 0} verifies
+     *                                every token on every call.
+     */
+    UsernameProvider(ConnectionContext connectionContext, SigningKeyResolver signingKeyResolver, TokenProvider tokenProvider, int verifiedClaimsCacheSize) {
         this.connectionContext = connectionContext;
         this.tokenProvider = tokenProvider;
         this.signingKeyResolver = signingKeyResolver;
+        this.verifiedClaimsCacheSize = verifiedClaimsCacheSize;
     }
 
     Mono<String> get() {
@@ -67,13 +86,57 @@ final class UsernameProvider {
             .map(s -> s.split(" ")[1]);
     }
 
-    private String getUsername(String token) {
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && !expiration.after(new Date());
+    }
+
+    private void cache(String token, Claims claims) {
+        if (this.verifiedClaimsCacheSize <= 0) {
+            return;
+        }
+
+        synchronized (this.verifiedClaims) {
+            this.verifiedClaims.put(token, claims);
+
+            Iterator<String> tokens = this.verifiedClaims.keySet().iterator();
+            while (this.verifiedClaims.size() > this.verifiedClaimsCacheSize && tokens.hasNext()) {
+                tokens.next();
+                tokens.remove();
+            }
+        }
+    }
+
+    private Claims getClaims(String token) {
+        Claims claims = getVerifiedClaims(token);
+
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+
         Jws<Claims> jws = Jwts.parser()
             .setSigningKeyResolver(this.signingKeyResolver)
             .parseClaimsJws(token);
 
+        cache(token, jws.getBody());
+        return jws.getBody();
+    }
+
+    private Claims getVerifiedClaims(String token) {
+        synchronized (this.verifiedClaims) {
+            Claims claims = this.verifiedClaims.get(token);
+
+            if (claims != null && isExpired(claims)) {
+                this.verifiedClaims.remove(token);
+            }
+
+            return claims;
+        }
+    }
+
+    private String getUsername(String token) {
         return Optional
-            .ofNullable(jws.getBody().get("user_name", String.class))
+            .ofNullable(getClaims(token).get("user_name", String.class))
             .orElseThrow(() -> new IllegalStateException("Unable to retrieve username from token"));
     }
 
@@ -19,6 +19,8 @@ package org.cloudfoundry.reactor.uaa;
 import org.cloudfoundry.uaa.Versioned;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 final class VersionBuilder {
@@ -27,10 +29,18 @@ final class VersionBuilder {
     }
 
     static void augment(HttpClientRequest outbound, Object request) {
+        headers(request).forEach(outbound::header);
+    }
+
+    static Map<String, String> headers(Object request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+
         if (request instanceof Versioned) {
             Versioned versioned = (Versioned) request;
-            Optional.ofNullable(versioned.getVersion()).ifPresent(version -> outbound.header("If-Match", version));
+            Optional.ofNullable(versioned.getVersion()).ifPresent(version -> headers.put("If-Match", version));
         }
+
+        return headers;
     }
 
 }
@@ -27,9 +27,13 @@ import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.function.Function;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
+import static io.netty.handler.codec.http.HttpHeaderNames.ETAG;
+import static io.netty.handler.codec.http.HttpHeaderNames.IF_NONE_MATCH;
 import static org.cloudfoundry.util.tuple.TupleUtils.function;
 
 public abstract class AbstractReactorOperations {
@@ -63,8 +67,9 @@ public abstract class AbstractReactorOperations {
                                                       Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
         return this.root
             .transform(transformUri(uriTransformer))
-            .flatMap(uri -> this.connectionContext.getHttpClient()
+            .flatMap(uri -> observe("DELETE", uri, observer -> this.connectionContext.getHttpClient()
                 .delete(uri, request -> Mono.just(request)
+                    .map(observer::request)
                     .map(AbstractReactorOperations::disableFailOnError)
                     .transform(this::addAuthorization)
                     .map(UserAgent::addUserAgent)
@@ -72,8 +77,10 @@ public abstract class AbstractReactorOperations {
                     .transform(requestTransformer)
                     .transform(serializedRequest(requestPayload)))
                 .doOnSubscribe(NetworkLogging.delete(uri))
-                .transform(NetworkLogging.response(uri)))
+                .transform(NetworkLogging.response(uri))
+                .transform(observer.response())))
             .transform(this::invalidateToken)
+            .transform(RequestObserver.retries())
             .transform(responseTransformer)
             .transform(ErrorPayloadMapper.fallback());
     }
@@ -83,32 +90,59 @@ public abstract class AbstractReactorOperations {
                                       Function<Mono<HttpClientRequest>, Mono<HttpClientRequest>> requestTransformer,
                                       Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
 
-        return doGet(uriTransformer,
-            outbound -> outbound
-                .map(JsonCodec::addDecodeHeaders)
-                .transform(requestTransformer),
-            inbound -> inbound
-                .transform(responseTransformer))
-            .transform(deserializedResponse(responseType));
+        return doGet(responseType, Collections.emptyMap(), uriTransformer, requestTransformer, responseTransformer);
     }
 
+    /**
+     * Issues a typed {@code GET} with headers that vary by request.  These headers are part of the key the request is coalesced and cached under, so requests that differ only in them are
+     * never shared.  {@code requestTransformer} must not add any other headers that change the response.
+     */
+    protected final <T> Mono<T> doGet(Class<T> responseType,
+                                      Map<String, String> headers,
+                                      Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
+                                      Function<Mono<HttpClientRequest>, Mono<HttpClientRequest>> requestTransformer,
+                                      Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
+
+        return this.root
+            .transform(transformUri(uriTransformer))
+            .flatMap(uri -> coalesce(uri, headers, responseType, this.connectionContext.getResponseCache()
+                .map(responseCache -> responseCache.get(this.tokenProvider, uri, headers, responseType, eTag -> get(uri,
+                    outbound -> outbound
+                        .map(JsonCodec::addDecodeHeaders)
+                        .map(request -> addHeaders(request, headers))
+                        .map(request -> eTag != null ? request.header(IF_NONE_MATCH, eTag) : request)
+                        .transform(requestTransformer),
+                    responseTransformer)
+                    .flatMap(response -> {
+                        if (response.status() == HttpResponseStatus.NOT_MODIFIED) {
+                            return response.receive().then(Mono.just(ResponseCache.Response.notModified()));
+                        }
+
+                        String responseETag = response.responseHeaders().get(ETAG);
+                        return Mono.just(response)
+                            .transform(deserializedResponse(responseType))
+                            .map(value -> ResponseCache.Response.of(value, responseETag));
+                    })))
+                .orElseGet(() -> get(uri,
+                    outbound -> outbound
+                        .map(JsonCodec::addDecodeHeaders)
+                        .map(request -> addHeaders(request, headers))
+                        .transform(requestTransformer),
+                    responseTransformer)
+                    .transform(deserializedResponse(responseType)))))
+            .transform(RequestObserver.retries());
+    }
+
+    /**
+     * Issues a {@code GET} whose raw response is returned to the caller.  These requests are never coalesced, because the body of a response can only be read by a single subscriber.
+     */
     protected final Mono<HttpClientResponse> doGet(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer,
                                                    Function<Mono<HttpClientRequest>, Mono<HttpClientRequest>> requestTransformer,
                                                    Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
         return this.root
             .transform(transformUri(uriTransformer))
-            .flatMap(uri -> this.connectionContext.getHttpClient()
-                .get(uri, request -> Mono.just(request)
-                    .map(AbstractReactorOperations::disableFailOnError)
-                    .transform(this::addAuthorization)
-                    .map(UserAgent::addUserAgent)
-                    .transform(requestTransformer)
-                    .flatMap(HttpClientRequest::send))
-                .doOnSubscribe(NetworkLogging.get(uri))
-                .transform(NetworkLogging.response(uri)))
-            .transform(this::invalidateToken)
-            .transform(responseTransformer)
-            .transform(ErrorPayloadMapper.fallback());
+            .flatMap(uri -> get(uri, requestTransformer, responseTransformer))
+            .transform(RequestObserver.retries());
     }
 
     protected final <T> Mono<T> doPatch(Object requestPayload, Class<T> responseType,
@@ -129,8 +163,9 @@ public abstract class AbstractReactorOperations {
                                         Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
         return this.root
             .transform(transformUri(uriTransformer))
-            .flatMap(uri -> this.connectionContext.getHttpClient()
+            .flatMap(uri -> observe("PATCH", uri, observer -> this.connectionContext.getHttpClient()
                 .patch(uri, request -> Mono.just(request)
+                    .map(observer::request)
                     .map(AbstractReactorOperations::disableChunkedTransfer)
                     .map(AbstractReactorOperations::disableFailOnError)
                     .transform(this::addAuthorization)
@@ -138,8 +173,10 @@ public abstract class AbstractReactorOperations {
                     .map(JsonCodec::addDecodeHeaders)
                     .transform(requestTransformer))
                 .doOnSubscribe(NetworkLogging.patch(uri))
-                .transform(NetworkLogging.response(uri)))
+                .transform(NetworkLogging.response(uri))
+                .transform(observer.response())))
             .transform(this::invalidateToken)
+            .transform(RequestObserver.retries())
             .transform(responseTransformer)
             .transform(ErrorPayloadMapper.fallback())
             .transform(deserializedResponse(responseType));
@@ -163,8 +200,9 @@ public abstract class AbstractReactorOperations {
                                        Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
         return this.root
             .transform(transformUri(uriTransformer))
-            .flatMap(uri -> this.connectionContext.getHttpClient()
+            .flatMap(uri -> observe("POST", uri, observer -> this.connectionContext.getHttpClient()
                 .post(uri, request -> Mono.just(request)
+                    .map(observer::request)
                     .map(AbstractReactorOperations::disableChunkedTransfer)
                     .map(AbstractReactorOperations::disableFailOnError)
                     .transform(this::addAuthorization)
@@ -172,8 +210,10 @@ public abstract class AbstractReactorOperations {
                     .map(JsonCodec::addDecodeHeaders)
                     .transform(requestTransformer))
                 .doOnSubscribe(NetworkLogging.post(uri))
-                .transform(NetworkLogging.response(uri)))
+                .transform(NetworkLogging.response(uri))
+                .transform(observer.response())))
             .transform(this::invalidateToken)
+            .transform(RequestObserver.retries())
             .transform(responseTransformer)
             .transform(ErrorPayloadMapper.fallback())
             .transform(deserializedResponse(responseType));
@@ -197,8 +237,9 @@ public abstract class AbstractReactorOperations {
                                       Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
         return this.root
             .transform(transformUri(uriTransformer))
-            .flatMap(uri -> this.connectionContext.getHttpClient()
+            .flatMap(uri -> observe("PUT", uri, observer -> this.connectionContext.getHttpClient()
                 .put(uri, request -> Mono.just(request)
+                    .map(observer::request)
                     .map(AbstractReactorOperations::disableChunkedTransfer)
                     .map(AbstractReactorOperations::disableFailOnError)
                     .transform(this::addAuthorization)
@@ -206,8 +247,10 @@ public abstract class AbstractReactorOperations {
                     .map(JsonCodec::addDecodeHeaders)
                     .transform(requestTransformer))
                 .doOnSubscribe(NetworkLogging.put(uri))
-                .transform(NetworkLogging.response(uri)))
+                .transform(NetworkLogging.response(uri))
+                .transform(observer.response())))
             .transform(this::invalidateToken)
+            .transform(RequestObserver.retries())
             .transform(responseTransformer)
             .transform(ErrorPayloadMapper.fallback())
             .transform(deserializedResponse(responseType));
@@ -218,20 +261,28 @@ public abstract class AbstractReactorOperations {
                                                   Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
         return this.root
             .transform(transformUri(uriTransformer))
-            .flatMap(uri -> this.connectionContext.getHttpClient()
+            .flatMap(uri -> observe("WS", uri, observer -> this.connectionContext.getHttpClient()
                 .get(uri, request -> Mono.just(request)
+                    .map(observer::request)
                     .map(AbstractReactorOperations::disableFailOnError)
                     .transform(this::addAuthorization)
                     .map(UserAgent::addUserAgent)
                     .transform(requestTransformer)
                     .flatMapMany(HttpClientRequest::sendWebsocket))
                 .doOnSubscribe(NetworkLogging.ws(uri))
-                .transform(NetworkLogging.response(uri)))
+                .transform(NetworkLogging.response(uri))
+                .transform(observer.response())))
             .transform(this::invalidateToken)
+            .transform(RequestObserver.retries())
             .transform(responseTransformer)
             .transform(ErrorPayloadMapper.fallback());
     }
 
+    private static HttpClientRequest addHeaders(HttpClientRequest request, Map<String, String> headers) {
+        headers.forEach(request::header);
+        return request;
+    }
+
     private static HttpClientRequest disableChunkedTransfer(HttpClientRequest request) {
         return request.chunkedTransfer(false);
     }
@@ -259,6 +310,12 @@ public abstract class AbstractReactorOperations {
             .map(function((request, token) -> request.header(AUTHORIZATION, token)));
     }
 
+    private <T> Mono<T> coalesce(String uri, Map<String, String> headers, Class<T> responseType, Mono<T> exchange) {
+        return this.connectionContext.getRequestCoalescer()
+            .map(requestCoalescer -> requestCoalescer.coalesce(new RequestKey(this.tokenProvider, uri, headers, responseType), () -> exchange))
+            .orElse(exchange);
+    }
+
     private <T> Function<Mono<HttpClientResponse>, Mono<T>> deserializedResponse(Class<T> responseType) {
         return inbound -> inbound
             .transform(JsonCodec.decode(this.connectionContext.getObjectMapper(), responseType))
@@ -266,10 +323,31 @@ public abstract class AbstractReactorOperations {
             .doOnError(JsonParsingException.class, e -> NetworkLogging.RESPONSE_LOGGER.error("{}\n{}", e.getCause().getMessage(), e.getPayload()));
     }
 
+    private Mono<HttpClientResponse> get(String uri,
+                                         Function<Mono<HttpClientRequest>, Mono<HttpClientRequest>> requestTransformer,
+                                         Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> responseTransformer) {
+        return observe("GET", uri, observer -> this.connectionContext.getHttpClient()
+            .get(uri, request -> Mono.just(request)
+                .map(observer::request)
+                .map(AbstractReactorOperations::disableFailOnError)
+                .transform(this::addAuthorization)
+                .map(UserAgent::addUserAgent)
+                .transform(requestTransformer)
+                .flatMap(HttpClientRequest::send))
+            .doOnSubscribe(NetworkLogging.get(uri))
+            .transform(NetworkLogging.response(uri))
+            .transform(observer.response()))
+            .transform(this::invalidateToken)
+            .transform(responseTransformer)
+            .transform(ErrorPayloadMapper.fallback());
+    }
+
     private Mono<HttpClientResponse> invalidateToken(Mono<HttpClientResponse> inbound) {
         return inbound
             .flatMap(response -> {
                 if (isUnauthorized(response)) {
+                    this.connectionContext.getRequestMetrics().onTokenRenegotiation(RequestObserver.route(response.method().name(), response.uri()));
+
                     this.tokenProvider.invalidate(this.connectionContext);
                     return inbound
                         .transform(this::invalidateToken);
@@ -279,6 +357,10 @@ public abstract class AbstractReactorOperations {
             });
     }
 
+    private Mono<HttpClientResponse> observe(String method, String uri, Function<RequestObserver, Mono<HttpClientResponse>> exchange) {
+        return exchange.apply(RequestObserver.create(this.connectionContext.getRequestMetrics(), method, uri));
+    }
+
     private Function<Mono<HttpClientRequest>, Publisher<Void>> serializedRequest(Object requestPayload) {
         return outbound -> outbound
             .doOnNext(request -> NetworkLogging.REQUEST_LOGGER.trace("       {}", requestPayload))
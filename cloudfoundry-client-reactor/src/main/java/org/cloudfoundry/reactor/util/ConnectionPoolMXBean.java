@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+public interface ConnectionPoolMXBean {
+
+    /**
+     * Returns the number of connections that failed to be acquired, including acquisitions that timed out
+     */
+    long getAcquireFailures();
+
+    /**
+     * Returns the number of connections that have been acquired
+     */
+    long getAcquires();
+
+    /**
+     * Returns the number of connections that are currently acquired
+     */
+    long getActive();
+
+    /**
+     * Returns the maximum number of connections
+     */
+    int getMaximumConnections();
+
+    /**
+     * Returns the number of acquisitions that are waiting for a connection
+     */
+    long getPending();
+
+}
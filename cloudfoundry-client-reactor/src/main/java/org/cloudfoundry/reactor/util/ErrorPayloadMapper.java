@@ -17,7 +17,12 @@
 package org.cloudfoundry.reactor.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpStatusClass;
+import org.cloudfoundry.RetryableCloudFoundryException;
 import org.cloudfoundry.UnknownCloudFoundryException;
 import org.cloudfoundry.client.v2.ClientV2Exception;
 import org.cloudfoundry.client.v3.ClientV3Exception;
@@ -26,19 +31,30 @@ import org.cloudfoundry.uaa.UaaException;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.RETRY_AFTER;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
 import static io.netty.handler.codec.http.HttpStatusClass.CLIENT_ERROR;
 import static io.netty.handler.codec.http.HttpStatusClass.SERVER_ERROR;
 
 public final class ErrorPayloadMapper {
 
+    private static final int MAX_PAYLOAD_SIZE = 64 * 1024;
+
     @SuppressWarnings("unchecked")
     public static Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> clientV2(ObjectMapper objectMapper) {
         return inbound -> inbound
             .flatMap(mapToError((statusCode, payload) -> {
-                Map<String, Object> map = objectMapper.readValue(payload, Map.class);
+                Map<String, Object> map = objectMapper.readValue(new ByteBufInputStream(payload), Map.class);
                 Integer code = (Integer) map.get("code");
                 String description = (String) map.get("description");
                 String errorCode = (String) map.get("error_code");
@@ -51,7 +67,7 @@ public final class ErrorPayloadMapper {
     public static Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> clientV3(ObjectMapper objectMapper) {
         return inbound -> inbound
             .flatMap(mapToError((statusCode, payload) -> {
-                Errors errors = objectMapper.readValue(payload, Errors.class);
+                Errors errors = objectMapper.readValue(new ByteBufInputStream(payload), Errors.class);
                 return new ClientV3Exception(statusCode, errors.getErrors());
             }));
     }
@@ -63,8 +79,15 @@ public final class ErrorPayloadMapper {
                     return Mono.just(response);
                 }
 
-                return response.receive().aggregate().asString()
-                    .flatMap(payload -> Mono.error(new UnknownCloudFoundryException(response.status().code(), payload)));
+                Optional<Duration> retryAfter = getRetryAfter(response);
+
+                return withPayload(response, payload -> {
+                    if (!payload.isReadable() && !retryAfter.isPresent()) {
+                        return Mono.empty();
+                    }
+
+                    return Mono.error(toRetryable(response, retryAfter, payload, new UnknownCloudFoundryException(response.status().code(), payload.toString(StandardCharsets.UTF_8))));
+                });
             });
     }
 
@@ -72,7 +95,7 @@ public final class ErrorPayloadMapper {
     public static Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> uaa(ObjectMapper objectMapper) {
         return inbound -> inbound
             .flatMap(mapToError((statusCode, payload) -> {
-                Map<String, Object> map = objectMapper.readValue(payload, Map.class);
+                Map<String, Object> map = objectMapper.readValue(new ByteBufInputStream(payload), Map.class);
                 String error = (String) map.get("error");
                 String errorDescription = (String) map.get("error_description");
 
@@ -80,6 +103,23 @@ public final class ErrorPayloadMapper {
             }));
     }
 
+    private static void append(CompositeByteBuf payload, ByteBuf byteBuf) {
+        int length = Math.min(byteBuf.readableBytes(), MAX_PAYLOAD_SIZE - payload.readableBytes());
+
+        if (length > 0) {
+            payload.addComponent(true, byteBuf.readRetainedSlice(length));
+        }
+    }
+
+    private static Optional<Duration> getRetryAfter(HttpClientResponse response) {
+        if (!TOO_MANY_REQUESTS.equals(response.status()) && !SERVICE_UNAVAILABLE.equals(response.status())) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(response.responseHeaders().get(RETRY_AFTER))
+            .flatMap(ErrorPayloadMapper::parseRetryAfter);
+    }
+
     private static boolean isError(HttpClientResponse response) {
         HttpStatusClass statusClass = response.status().codeClass();
         return statusClass == CLIENT_ERROR || statusClass == SERVER_ERROR;
@@ -91,22 +131,68 @@ public final class ErrorPayloadMapper {
                 return Mono.just(response);
             }
 
-            return response.receive().aggregate().asString()
-                .switchIfEmpty(Mono.error(new UnknownCloudFoundryException(response.status().code())))
-                .flatMap(payload -> {
-                    try {
-                        return Mono.error(exceptionGenerator.apply(response.status().code(), payload));
-                    } catch (Exception e) {
-                        return Mono.error(new UnknownCloudFoundryException(response.status().code(), payload));
-                    }
-                });
+            Optional<Duration> retryAfter = getRetryAfter(response);
+
+            return withPayload(response, payload -> {
+                int statusCode = response.status().code();
+
+                if (!payload.isReadable()) {
+                    return Mono.error(toRetryable(response, retryAfter, payload, new UnknownCloudFoundryException(statusCode)));
+                }
+
+                RuntimeException exception;
+                try {
+                    exception = exceptionGenerator.apply(statusCode, payload.duplicate());
+                } catch (Exception e) {
+                    exception = new UnknownCloudFoundryException(statusCode, payload.toString(StandardCharsets.UTF_8));
+                }
+
+                return Mono.error(toRetryable(response, retryAfter, payload, exception));
+            });
         };
     }
 
+    private static Optional<Duration> parseRetryAfter(String value) {
+        String trimmed = value.trim();
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(Long.parseLong(trimmed), 0)));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, fall through to HTTP-date
+        }
+
+        try {
+            Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Wraps an exception in a {@link RetryableCloudFoundryException} if the response carried a usable {@code Retry-After}, keeping the typed exception as its cause
+     */
+    private static RuntimeException toRetryable(HttpClientResponse response, Optional<Duration> retryAfter, ByteBuf payload, RuntimeException exception) {
+        return retryAfter
+            .<RuntimeException>map(delay -> new RetryableCloudFoundryException(response.status().code(), delay, payload.toString(StandardCharsets.UTF_8), exception))
+            .orElse(exception);
+    }
+
+    /**
+     * Retains at most {@link #MAX_PAYLOAD_SIZE} bytes of the response as slices of the received buffers, without copying them, and releases them once the mapping has completed
+     */
+    private static <T> Mono<T> withPayload(HttpClientResponse response, Function<ByteBuf, Mono<T>> mapper) {
+        return Mono.using(Unpooled::compositeBuffer,
+            payload -> response.receive()
+                .doOnNext(byteBuf -> append(payload, byteBuf))
+                .then(Mono.defer(() -> mapper.apply(payload))),
+            CompositeByteBuf::release);
+    }
+
     @FunctionalInterface
     private interface ExceptionGenerator {
 
-        RuntimeException apply(Integer statusCode, String payload) throws Exception;
+        RuntimeException apply(Integer statusCode, ByteBuf payload) throws Exception;
 
     }
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.ipc.netty.resources.PoolResources;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PoolResources} that gives each host its own fixed-size pool, so that a slow host cannot exhaust the connections available to another.  The state of each host's pool is
+ * exposed as a {@link ConnectionPoolMXBean} named {@code org.cloudfoundry.reactor:type=ConnectionPool,endpoint=...,host=...,instance=...}, where {@code instance} distinguishes the pools of
+ * separate instances that share an endpoint.
+ */
+public final class HostPoolResources implements PoolResources {
+
+    private static final AtomicLong INSTANCES = new AtomicLong();
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client");
+
+    private final long acquireTimeout;
+
+    private final int defaultSize;
+
+    private final String endpoint;
+
+    private final ConcurrentMap<String, HostPool> hostPools = new ConcurrentHashMap<>();
+
+    private final long instance = INSTANCES.incrementAndGet();
+
+    private final String name;
+
+    private final Map<String, Integer> sizes;
+
+    /**
+     * Creates a new instance
+     *
+     * @param name           the name of the pools
+     * @param endpoint       the endpoint, such as {@code api.run.pivotal.io/443}, that identifies the registered MBeans
+     * @param defaultSize    the maximum number of connections to each host that does not have an explicit size
+     * @param sizes          the maximum number of connections, keyed by host
+     * @param acquireTimeout the maximum time to wait for a connection
+     */
+    public HostPoolResources(String name, String endpoint, int defaultSize, Map<String, Integer> sizes, Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout.toMillis();
+        this.defaultSize = defaultSize;
+        this.endpoint = endpoint;
+        this.name = name;
+        this.sizes = new HashMap<>(sizes);
+    }
+
+    @Override
+    public void dispose() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        this.hostPools.forEach((host, hostPool) -> {
+            hostPool.poolResources.dispose();
+
+            try {
+                ObjectName name = getObjectName(host);
+
+                if (mBeanServer.isRegistered(name)) {
+                    mBeanServer.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                this.logger.error("Unable to unregister connection pool MBean", e);
+            }
+        });
+
+        this.hostPools.clear();
+    }
+
+    @Override
+    public ChannelPool selectOrCreate(SocketAddress address, Supplier<? extends Bootstrap> bootstrap, Consumer<? super Channel> onChannelCreate, EventLoopGroup group) {
+        String host = address instanceof InetSocketAddress ? ((InetSocketAddress) address).getHostString() : address.toString();
+
+        HostPool hostPool = this.hostPools.get(host);
+        if (hostPool == null) {
+            hostPool = this.hostPools.computeIfAbsent(host, this::register);
+        }
+
+        return hostPool.select(address, bootstrap, onChannelCreate, group);
+    }
+
+    private ObjectName getObjectName(String host) throws JMException {
+        return ObjectName.getInstance(String.format("org.cloudfoundry.reactor:type=ConnectionPool,endpoint=%s,host=%s,instance=%d", ObjectName.quote(this.endpoint), ObjectName.quote(host),
+            this.instance));
+    }
+
+    private HostPool register(String host) {
+        int size = this.sizes.getOrDefault(host, this.defaultSize);
+        HostPool hostPool = new HostPool(PoolResources.fixed(String.format("%s-%s", this.name, host), size, this.acquireTimeout), size);
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(hostPool, getObjectName(host));
+        } catch (JMException e) {
+            this.logger.error("Unable to register connection pool MBean", e);
+        }
+
+        return hostPool;
+    }
+
+    private static final class HostPool implements ConnectionPoolMXBean {
+
+        private final LongAdder acquireFailures = new LongAdder();
+
+        private final LongAdder acquires = new LongAdder();
+
+        private final AtomicLong active = new AtomicLong();
+
+        private final ConcurrentMap<SocketAddress, ChannelPool> channelPools = new ConcurrentHashMap<>();
+
+        private final int maximumConnections;
+
+        private final AtomicLong pending = new AtomicLong();
+
+        private final PoolResources poolResources;
+
+        private HostPool(PoolResources poolResources, int maximumConnections) {
+            this.maximumConnections = maximumConnections;
+            this.poolResources = poolResources;
+        }
+
+        @Override
+        public long getAcquireFailures() {
+            return this.acquireFailures.sum();
+        }
+
+        @Override
+        public long getAcquires() {
+            return this.acquires.sum();
+        }
+
+        @Override
+        public long getActive() {
+            return this.active.get();
+        }
+
+        @Override
+        public int getMaximumConnections() {
+            return this.maximumConnections;
+        }
+
+        @Override
+        public long getPending() {
+            return this.pending.get();
+        }
+
+        private <T extends Future<Channel>> T onAcquire(T future) {
+            this.pending.incrementAndGet();
+
+            future.addListener(f -> {
+                this.pending.decrementAndGet();
+
+                if (f.isSuccess()) {
+                    this.acquires.increment();
+                    this.active.incrementAndGet();
+                } else {
+                    this.acquireFailures.increment();
+                }
+            });
+
+            return future;
+        }
+
+        private ChannelPool select(SocketAddress address, Supplier<? extends Bootstrap> bootstrap, Consumer<? super Channel> onChannelCreate, EventLoopGroup group) {
+            return this.channelPools.computeIfAbsent(address, a -> new MonitoredChannelPool(this, this.poolResources.selectOrCreate(a, bootstrap, onChannelCreate, group)));
+        }
+
+    }
+
+    private static final class MonitoredChannelPool implements ChannelPool {
+
+        private final ChannelPool delegate;
+
+        private final HostPool hostPool;
+
+        private MonitoredChannelPool(HostPool hostPool, ChannelPool delegate) {
+            this.delegate = delegate;
+            this.hostPool = hostPool;
+        }
+
+        @Override
+        public Future<Channel> acquire() {
+            return this.hostPool.onAcquire(this.delegate.acquire());
+        }
+
+        @Override
+        public Future<Channel> acquire(Promise<Channel> promise) {
+            return this.hostPool.onAcquire(this.delegate.acquire(promise));
+        }
+
+        @Override
+        public void close() {
+            this.delegate.close();
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            this.hostPool.active.decrementAndGet();
+            return this.delegate.release(channel);
+        }
+
+        @Override
+        public Future<Void> release(Channel channel, Promise<Void> promise) {
+            this.hostPool.active.decrementAndGet();
+            return this.delegate.release(channel, promise);
+        }
+
+    }
+
+}
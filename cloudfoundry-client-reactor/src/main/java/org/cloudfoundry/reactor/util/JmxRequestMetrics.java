@@ -0,0 +1,308 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.reactor.RequestMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RequestMetrics} that exposes the metrics of each route as a {@link RequestMetricsMXBean} named {@code org.cloudfoundry.reactor:type=RequestMetrics,endpoint=...,instance=...,route=...},
+ * where {@code instance} distinguishes the metrics of separate instances that share an endpoint.  At most 256 routes are registered by each instance; requests for any further
+ * routes are recorded against the {@code {other}} route.
+ */
+public final class JmxRequestMetrics implements RequestMetrics {
+
+    private static final AtomicLong INSTANCES = new AtomicLong();
+
+    private static final long[] LATENCY_BUCKET_BOUNDS = new long[]{1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 60_000};
+
+    private static final int MAXIMUM_ROUTES = 256;
+
+    private static final String OTHER_ROUTE = "{other}";
+
+    private final Logger logger = LoggerFactory.getLogger("cloudfoundry-client");
+
+    private final String endpoint;
+
+    private final long instance = INSTANCES.incrementAndGet();
+
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance
+     *
+     * @param endpoint the endpoint, such as {@code api.run.pivotal.io/443}, that identifies the registered MBeans
+     */
+    public JmxRequestMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Unregisters every MBean registered by this instance
+     */
+    public void dispose() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        this.routes.keySet().forEach(route -> {
+            try {
+                ObjectName name = getObjectName(route);
+
+                if (mBeanServer.isRegistered(name)) {
+                    mBeanServer.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                this.logger.error("Unable to unregister request metrics MBean", e);
+            }
+        });
+
+        this.routes.clear();
+    }
+
+    @Override
+    public void onError(String route, Throwable error, Duration latency) {
+        Route metrics = getRoute(route);
+
+        metrics.errors.increment();
+        metrics.record(latency);
+    }
+
+    @Override
+    public void onResponse(String route, int statusCode, long requestBytes, long responseBytes, Duration latency) {
+        Route metrics = getRoute(route);
+
+        if (requestBytes > 0) {
+            metrics.bytesOut.add(requestBytes);
+        }
+
+        if (responseBytes > 0) {
+            metrics.bytesIn.add(responseBytes);
+        }
+
+        int statusClass = statusCode / 100;
+        if (statusClass >= 1 && statusClass <= 5) {
+            metrics.statusClasses[statusClass - 1].increment();
+        }
+
+        metrics.record(latency);
+    }
+
+    @Override
+    public void onRetry(String route) {
+        getRoute(route).retries.increment();
+    }
+
+    @Override
+    public void onTokenRenegotiation(String route) {
+        getRoute(route).tokenRenegotiations.increment();
+    }
+
+    private ObjectName getObjectName(String route) throws JMException {
+        return ObjectName.getInstance(String.format("org.cloudfoundry.reactor:type=RequestMetrics,endpoint=%s,instance=%d,route=%s", ObjectName.quote(this.endpoint), this.instance,
+            ObjectName.quote(route)));
+    }
+
+    private Route getRoute(String route) {
+        Route metrics = this.routes.get(route);
+
+        if (metrics == null) {
+            metrics = this.routes.computeIfAbsent(this.routes.size() < MAXIMUM_ROUTES ? route : OTHER_ROUTE, this::register);
+        }
+
+        return metrics;
+    }
+
+    private Route register(String route) {
+        Route metrics = new Route();
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, getObjectName(route));
+        } catch (JMException e) {
+            this.logger.error("Unable to register request metrics MBean", e);
+        }
+
+        return metrics;
+    }
+
+    private static final class Route implements RequestMetricsMXBean {
+
+        private final LongAdder bytesIn = new LongAdder();
+
+        private final LongAdder bytesOut = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder[] latencyBuckets = newAdders(LATENCY_BUCKET_BOUNDS.length + 1);
+
+        private final LongAccumulator latencyMax = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder latencyTotal = new LongAdder();
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder retries = new LongAdder();
+
+        private final LongAdder[] statusClasses = newAdders(5);
+
+        private final LongAdder tokenRenegotiations = new LongAdder();
+
+        @Override
+        public long getBytesIn() {
+            return this.bytesIn.sum();
+        }
+
+        @Override
+        public long getBytesOut() {
+            return this.bytesOut.sum();
+        }
+
+        @Override
+        public long getErrors() {
+            return this.errors.sum();
+        }
+
+        @Override
+        public long getLatency50thPercentile() {
+            return getLatencyPercentile(0.50);
+        }
+
+        @Override
+        public long getLatency95thPercentile() {
+            return getLatencyPercentile(0.95);
+        }
+
+        @Override
+        public long getLatency99thPercentile() {
+            return getLatencyPercentile(0.99);
+        }
+
+        @Override
+        public long[] getLatencyBucketBounds() {
+            return LATENCY_BUCKET_BOUNDS.clone();
+        }
+
+        @Override
+        public long[] getLatencyBucketCounts() {
+            return Arrays.stream(this.latencyBuckets)
+                .mapToLong(LongAdder::sum)
+                .toArray();
+        }
+
+        @Override
+        public long getLatencyMax() {
+            return this.latencyMax.get();
+        }
+
+        @Override
+        public double getLatencyMean() {
+            long requests = this.requests.sum();
+            return requests == 0 ? 0 : (double) this.latencyTotal.sum() / requests;
+        }
+
+        @Override
+        public long getRequests() {
+            return this.requests.sum();
+        }
+
+        @Override
+        public long getRetries() {
+            return this.retries.sum();
+        }
+
+        @Override
+        public long getStatus1xx() {
+            return this.statusClasses[0].sum();
+        }
+
+        @Override
+        public long getStatus2xx() {
+            return this.statusClasses[1].sum();
+        }
+
+        @Override
+        public long getStatus3xx() {
+            return this.statusClasses[2].sum();
+        }
+
+        @Override
+        public long getStatus4xx() {
+            return this.statusClasses[3].sum();
+        }
+
+        @Override
+        public long getStatus5xx() {
+            return this.statusClasses[4].sum();
+        }
+
+        @Override
+        public long getTokenRenegotiations() {
+            return this.tokenRenegotiations.sum();
+        }
+
+        private static LongAdder[] newAdders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            Arrays.setAll(adders, i -> new LongAdder());
+            return adders;
+        }
+
+        private long getLatencyPercentile(double percentile) {
+            long[] counts = getLatencyBucketCounts();
+            long total = Arrays.stream(counts).sum();
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long threshold = (long) Math.ceil(total * percentile);
+            long cumulative = 0;
+
+            for (int i = 0; i < LATENCY_BUCKET_BOUNDS.length; i++) {
+                cumulative += counts[i];
+
+                if (cumulative >= threshold) {
+                    return LATENCY_BUCKET_BOUNDS[i];
+                }
+            }
+
+            return getLatencyMax();
+        }
+
+        private void record(Duration latency) {
+            long millis = latency.toMillis();
+
+            int bucket = Arrays.binarySearch(LATENCY_BUCKET_BOUNDS, millis);
+            this.latencyBuckets[bucket >= 0 ? bucket : -bucket - 1].increment();
+            this.latencyMax.accumulate(millis);
+            this.latencyTotal.add(millis);
+            this.requests.increment();
+        }
+
+    }
+
+}
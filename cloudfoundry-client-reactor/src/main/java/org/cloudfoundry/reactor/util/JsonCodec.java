@@ -19,9 +19,9 @@ package org.cloudfoundry.reactor.util;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
-import io.netty.handler.codec.json.JsonObjectDecoder;
 import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
@@ -29,7 +29,6 @@ import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
-import java.nio.charset.Charset;
 import java.util.function.Function;
 
 public final class JsonCodec {
@@ -43,14 +42,18 @@ public final class JsonCodec {
 
     public static <T> Function<Mono<HttpClientResponse>, Flux<T>> decode(ObjectMapper objectMapper, Class<T> responseType) {
         return inbound -> inbound
-            .flatMapMany(response -> response.addHandler(new JsonObjectDecoder(MAX_PAYLOAD_SIZE)).receive().asByteArray()
-                .map(payload -> {
-                    try {
-                        return objectMapper.readValue(payload, responseType);
-                    } catch (Throwable t) {
-                        throw new JsonParsingException(t.getMessage(), t, new String(payload, Charset.defaultCharset()));
-                    }
-                }));
+            .flatMapMany(response -> decode(objectMapper, response.receive(), responseType));
+    }
+
+    static <T> Flux<T> decode(ObjectMapper objectMapper, Flux<ByteBuf> byteBufs, Class<T> responseType) {
+        return JsonTokenizer.tokenize(objectMapper, byteBufs, MAX_PAYLOAD_SIZE)
+            .map(tokenBuffer -> {
+                try {
+                    return objectMapper.readValue(tokenBuffer.asParser(objectMapper), responseType);
+                } catch (Throwable t) {
+                    throw new JsonParsingException(t.getMessage(), t, JsonTokenizer.asString(objectMapper, tokenBuffer));
+                }
+            });
     }
 
     static Function<Mono<HttpClientRequest>, Publisher<Void>> encode(ObjectMapper objectMapper, Object requestPayload) {
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.TooLongFrameException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Splits a stream of {@link ByteBuf}s into one {@link TokenBuffer} per top-level JSON value using Jackson's non-blocking parser.  Each buffer is parsed as soon as it arrives and can be
+ * released straight away, so a payload is never aggregated into a single buffer and then copied into a {@code byte[]} before being mapped.  A buffer with a backing array is parsed in place;
+ * any other buffer is copied into a single reused array.
+ * <p>
+ * Each top-level value is still held as tokens until it is complete and can be mapped, so a response is not mapped incrementally.  What is saved is the aggregated buffer and its copy, which
+ * for a large list page are each the size of the whole payload.  {@code JsonCodecBenchmark} in {@code cloudfoundry-benchmarks} compares the two with {@code -prof gc}.
+ */
+final class JsonTokenizer {
+
+    private static final int INITIAL_SCRATCH_SIZE = 8 * 1024;
+
+    private final ByteArrayFeeder feeder;
+
+    private final boolean forceBigDecimal;
+
+    private final int maxPayloadSize;
+
+    private final JsonParser parser;
+
+    private int depth;
+
+    private int payloadSize;
+
+    private JsonToken previous;
+
+    private byte[] scratch = new byte[INITIAL_SCRATCH_SIZE];
+
+    private TokenBuffer tokenBuffer;
+
+    private JsonTokenizer(JsonParser parser, int maxPayloadSize, boolean forceBigDecimal) {
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.forceBigDecimal = forceBigDecimal;
+        this.maxPayloadSize = maxPayloadSize;
+        this.parser = parser;
+        this.tokenBuffer = newTokenBuffer();
+    }
+
+    static String asString(ObjectMapper objectMapper, TokenBuffer tokenBuffer) {
+        try {
+            return objectMapper.readTree(tokenBuffer.asParser(objectMapper)).toString();
+        } catch (IOException e) {
+            return tokenBuffer.toString();
+        }
+    }
+
+    static Flux<TokenBuffer> tokenize(ObjectMapper objectMapper, Flux<ByteBuf> byteBufs, int maxPayloadSize) {
+        return Flux.defer(() -> {
+            JsonTokenizer tokenizer;
+
+            try {
+                tokenizer = new JsonTokenizer(objectMapper.getFactory().createNonBlockingByteArrayParser(), maxPayloadSize,
+                    objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+
+            return byteBufs
+                .map(tokenizer::feed)
+                .flatMapIterable(Function.identity())
+                .concatWith(Flux.defer(tokenizer::endOfInput));
+        });
+    }
+
+    private Flux<TokenBuffer> endOfInput() {
+        this.feeder.endOfInput();
+
+        try {
+            List<TokenBuffer> tokenBuffers = parseTokenBuffers();
+
+            if (this.depth != 0 || this.previous == JsonToken.FIELD_NAME) {
+                throw new JsonParseException(this.parser, "Unexpected end-of-input: expected close marker");
+            }
+
+            return Flux.fromIterable(tokenBuffers);
+        } catch (IOException e) {
+            return Flux.error(new JsonParsingException(e.getMessage(), e, this.tokenBuffer.toString()));
+        }
+    }
+
+    private List<TokenBuffer> feed(ByteBuf byteBuf) {
+        int length = byteBuf.readableBytes();
+
+        this.payloadSize += length;
+        if (this.payloadSize > this.maxPayloadSize) {
+            throw new TooLongFrameException(String.format("object length exceeds %d: %d", this.maxPayloadSize, this.payloadSize));
+        }
+
+        int index = byteBuf.readerIndex();
+
+        try {
+            // the parser consumes all of its input before asking for more, so the array is not referenced once parseTokenBuffers() returns
+            if (byteBuf.hasArray()) {
+                this.feeder.feedInput(byteBuf.array(), byteBuf.arrayOffset() + index, byteBuf.arrayOffset() + index + length);
+            } else {
+                if (this.scratch.length < length) {
+                    this.scratch = new byte[length];
+                }
+
+                byteBuf.getBytes(index, this.scratch, 0, length);
+                this.feeder.feedInput(this.scratch, 0, length);
+            }
+
+            return parseTokenBuffers();
+        } catch (IOException e) {
+            throw new JsonParsingException(e.getMessage(), e, byteBuf.toString(index, length, StandardCharsets.UTF_8));
+        } finally {
+            byteBuf.skipBytes(length);
+        }
+    }
+
+    private TokenBuffer newTokenBuffer() {
+        return new TokenBuffer(this.parser)
+            .forceUseOfBigDecimal(this.forceBigDecimal);
+    }
+
+    private List<TokenBuffer> parseTokenBuffers() throws IOException {
+        List<TokenBuffer> tokenBuffers = new ArrayList<>();
+
+        JsonToken token;
+        while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (this.previous == JsonToken.FIELD_NAME && token.isStructEnd()) {
+                throw new JsonParseException(this.parser, String.format("Unexpected close marker '%s': expected a value", token.asString()));
+            }
+
+            this.previous = token;
+
+            if (token.isStructStart()) {
+                this.depth++;
+            } else if (token.isStructEnd()) {
+                this.depth--;
+            }
+
+            this.tokenBuffer.copyCurrentEvent(this.parser);
+
+            if (this.depth == 0 && (token.isStructEnd() || token.isScalarValue())) {
+                tokenBuffers.add(this.tokenBuffer);
+                this.tokenBuffer = newTokenBuffer();
+                this.payloadSize = 0;
+            }
+        }
+
+        return tokenBuffers;
+    }
+
+}
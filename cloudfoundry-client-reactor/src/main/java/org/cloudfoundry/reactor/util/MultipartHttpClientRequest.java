@@ -23,7 +23,9 @@ import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.util.AsciiString;
+import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.NettyOutbound;
 import reactor.ipc.netty.http.client.HttpClientRequest;
@@ -36,7 +38,9 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_DISPOSITION;
@@ -86,14 +90,22 @@ public final class MultipartHttpClientRequest {
             })
             .collect(Collectors.toList());
 
-        Long contentLength = parts.stream()
-            .mapToLong(part -> delimiter.length() + CRLF.length() + part.getLength())
-            .sum() + closeDelimiter.length();
-
-        NettyOutbound intermediateRequest = this.request
-            .chunkedTransfer(false)
-            .header(CONTENT_TYPE, BOUNDARY_PREAMBLE.concat(boundary))
-            .header(CONTENT_LENGTH, String.valueOf(contentLength));
+        NettyOutbound intermediateRequest;
+
+        if (parts.stream().anyMatch(PartHttpClientRequest::isUnsized)) {
+            intermediateRequest = this.request
+                .chunkedTransfer(true)
+                .header(CONTENT_TYPE, BOUNDARY_PREAMBLE.concat(boundary));
+        } else {
+            Long contentLength = parts.stream()
+                .mapToLong(part -> delimiter.length() + CRLF.length() + part.getLength())
+                .sum() + closeDelimiter.length();
+
+            intermediateRequest = this.request
+                .chunkedTransfer(false)
+                .header(CONTENT_TYPE, BOUNDARY_PREAMBLE.concat(boundary))
+                .header(CONTENT_LENGTH, String.valueOf(contentLength));
+        }
 
         for (PartHttpClientRequest part : parts) {
             intermediateRequest = intermediateRequest.sendObject(Unpooled.wrappedBuffer(delimiter.toByteArray()));
@@ -128,16 +140,28 @@ public final class MultipartHttpClientRequest {
 
         private static final AsciiString HEADER_DELIMITER = new AsciiString(": ");
 
+        private static final long UNSIZED = -1;
+
+        private static final long UPLOAD_REGION_SIZE = 8 * 1024 * 1024;
+
         private final HttpHeaders headers = new DefaultHttpHeaders(true);
 
         private final ObjectMapper objectMapper;
 
         private Path file;
 
+        private long fileLength;
+
         private byte[] payload;
 
+        private LongConsumer progress;
+
         private ByteBuf renderedHeaders;
 
+        private Publisher<byte[]> stream;
+
+        private long streamLength;
+
         private PartHttpClientRequest(ObjectMapper objectMapper) {
             this.objectMapper = objectMapper;
         }
@@ -155,14 +179,33 @@ public final class MultipartHttpClientRequest {
 
         public void sendFile(Path file) {
             try {
-                this.headers.set(CONTENT_LENGTH, Files.size(file));
+                long fileLength = Files.size(file);
+
+                this.headers.set(CONTENT_LENGTH, fileLength);
                 this.renderedHeaders = renderHeaders();
                 this.file = file;
+                this.fileLength = fileLength;
             } catch (IOException e) {
                 throw Exceptions.propagate(e);
             }
         }
 
+        /**
+         * Sends a stream whose length is not known in advance.  Since the request cannot have a {@code Content-Length}, it is sent with chunked transfer encoding.
+         */
+        public void sendStream(Publisher<byte[]> stream) {
+            this.renderedHeaders = renderHeaders();
+            this.stream = stream;
+            this.streamLength = UNSIZED;
+        }
+
+        public void sendStream(Publisher<byte[]> stream, long length) {
+            this.headers.set(CONTENT_LENGTH, length);
+            this.renderedHeaders = renderHeaders();
+            this.stream = stream;
+            this.streamLength = length;
+        }
+
         public PartHttpClientRequest setContentDispositionFormData(String name) {
             return setContentDispositionFormData(name, null);
         }
@@ -183,24 +226,61 @@ public final class MultipartHttpClientRequest {
             return this;
         }
 
+        public PartHttpClientRequest setProgress(LongConsumer progress) {
+            this.progress = progress;
+            return this;
+        }
+
+        /**
+         * Returns the stream, failing it as soon as it is known to differ from its declared length so that the request body never disagrees with its {@code Content-Length}
+         */
+        private Flux<byte[]> getCheckedStream() {
+            AtomicLong written = new AtomicLong();
+
+            return Flux.from(this.stream)
+                .<byte[]>handle((bytes, sink) -> {
+                    long total = written.addAndGet(bytes.length);
+
+                    if (this.streamLength != UNSIZED && total > this.streamLength) {
+                        sink.error(new IllegalStateException(String.format("Stream is longer than its declared length of %d bytes", this.streamLength)));
+                        return;
+                    }
+
+                    if (this.progress != null) {
+                        this.progress.accept(total);
+                    }
+
+                    sink.next(bytes);
+                })
+                .concatWith(Mono.defer(() -> {
+                    if (this.streamLength != UNSIZED && written.get() != this.streamLength) {
+                        return Mono.error(new IllegalStateException(String.format("Stream is %d bytes, shorter than its declared length of %d bytes", written.get(), this.streamLength)));
+                    }
+
+                    return Mono.empty();
+                }));
+        }
+
         private long getLength() {
             return this.renderedHeaders.readableBytes() + getPayloadLength();
         }
 
         private long getPayloadLength() {
             if (this.file != null) {
-                try {
-                    return Files.size(this.file);
-                } catch (IOException e) {
-                    throw Exceptions.propagate(e);
-                }
+                return this.fileLength;
             } else if (this.payload != null) {
                 return this.payload.length;
+            } else if (this.stream != null) {
+                return this.streamLength;
             } else {
                 return 0;
             }
         }
 
+        private boolean isUnsized() {
+            return this.stream != null && this.streamLength == UNSIZED;
+        }
+
         private ByteBuf renderHeaders() {
             AsciiString s = this.headers.entries().stream()
                 .sorted(Comparator.comparing(Map.Entry::getKey))
@@ -214,9 +294,29 @@ public final class MultipartHttpClientRequest {
 
         private NettyOutbound sendPayload(NettyOutbound request) {
             if (this.file != null) {
-                return request.sendFile(this.file);
+                AtomicLong startTimeHolder = new AtomicLong();
+                NettyOutbound outbound = request.then(Mono.fromRunnable(() -> startTimeHolder.set(System.currentTimeMillis())));
+
+                // sendFile writes each region as a zero-copy FileRegion, falling back to chunked NIO reads when TLS is in the pipeline
+                for (long position = 0; position < this.fileLength; position += UPLOAD_REGION_SIZE) {
+                    long written = Math.min(position + UPLOAD_REGION_SIZE, this.fileLength);
+
+                    outbound = outbound
+                        .sendFile(this.file, position, written - position)
+                        .then(Mono.fromRunnable(() -> {
+                            NetworkLogging.upload(this.file, written, this.fileLength, System.currentTimeMillis() - startTimeHolder.get());
+
+                            if (this.progress != null) {
+                                this.progress.accept(written);
+                            }
+                        }));
+                }
+
+                return outbound;
             } else if (this.payload != null) {
                 return request.sendByteArray(Mono.just(this.payload));
+            } else if (this.stream != null) {
+                return request.sendByteArray(getCheckedStream());
             } else {
                 return request;
             }
@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.reactor.util;
 
+import org.cloudfoundry.util.SizeUtils;
 import org.cloudfoundry.util.TimeUtils;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
@@ -23,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
@@ -89,6 +91,15 @@ public final class NetworkLogging {
             });
     }
 
+    static void upload(Path file, long written, long length, long elapsed) {
+        if (!REQUEST_LOGGER.isDebugEnabled()) {
+            return;
+        }
+
+        String rate = SizeUtils.asIbi(elapsed == 0 ? written * 1000 : (written * 1000) / elapsed);
+        REQUEST_LOGGER.debug("UPLOAD {} {} of {} ({}, {}/s)", file.getFileName(), SizeUtils.asIbi(written), SizeUtils.asIbi(length), TimeUtils.asTime(elapsed), rate);
+    }
+
     public static Consumer<Subscription> ws(String uri) {
         return s -> REQUEST_LOGGER.debug("WS     {}", uri);
     }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Merges identical, concurrent {@code GET} requests into a single exchange whose result is delivered to every subscriber.  A request is only shared while it is in flight; once it
+ * completes, the next identical request goes to the network again.
+ */
+public final class RequestCoalescer {
+
+    private final ConcurrentMap<RequestKey, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    private RequestCoalescer() {
+    }
+
+    /**
+     * Creates a new coalescer
+     *
+     * @return the coalescer
+     */
+    public static RequestCoalescer create() {
+        return new RequestCoalescer();
+    }
+
+    /**
+     * Returns the number of requests currently in flight
+     *
+     * @return the number of requests currently in flight
+     */
+    public int size() {
+        return this.inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> coalesce(RequestKey key, Supplier<Mono<T>> exchange) {
+        return Mono.defer(() -> {
+            Mono<?> existing = this.inFlight.get(key);
+            if (existing != null) {
+                return (Mono<T>) existing;
+            }
+
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Runnable release = () -> this.inFlight.remove(key, self.get());
+
+            Mono<T> candidate = exchange.get()
+                .doOnSuccess(value -> release.run())
+                .doOnError(t -> release.run())
+                .doOnCancel(release)
+                .cache();
+            self.set(candidate);
+
+            existing = this.inFlight.putIfAbsent(key, candidate);
+            return existing != null ? (Mono<T>) existing : candidate;
+        });
+    }
+
+}
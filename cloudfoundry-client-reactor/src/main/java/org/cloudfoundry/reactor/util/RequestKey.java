@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Identifies a typed {@code GET} request by the identity of the principal making it, its URI, the headers that vary by request, and the type its response is deserialized to
+ */
+final class RequestKey {
+
+    private final Map<String, String> headers;
+
+    private final Object principal;
+
+    private final Class<?> responseType;
+
+    private final String uri;
+
+    RequestKey(Object principal, String uri, Map<String, String> headers, Class<?> responseType) {
+        this.headers = headers;
+        this.principal = principal;
+        this.responseType = responseType;
+        this.uri = uri;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        RequestKey that = (RequestKey) o;
+        return this.principal == that.principal && this.responseType == that.responseType && this.uri.equals(that.uri) && this.headers.equals(that.headers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(this.principal), this.responseType, this.uri, this.headers);
+    }
+
+    @Override
+    public String toString() {
+        return this.headers.isEmpty() ? String.format("%s -> %s", this.uri, this.responseType.getSimpleName()) : String.format("%s %s -> %s", this.uri, this.headers, this.responseType.getSimpleName());
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+public interface RequestMetricsMXBean {
+
+    /**
+     * Returns the number of response payload bytes received, as declared by {@code Content-Length}
+     */
+    long getBytesIn();
+
+    /**
+     * Returns the number of request payload bytes sent
+     */
+    long getBytesOut();
+
+    /**
+     * Returns the number of requests that failed without a response
+     */
+    long getErrors();
+
+    /**
+     * Returns the 50th percentile latency in milliseconds, to the upper bound of its histogram bucket
+     */
+    long getLatency50thPercentile();
+
+    /**
+     * Returns the 95th percentile latency in milliseconds, to the upper bound of its histogram bucket
+     */
+    long getLatency95thPercentile();
+
+    /**
+     * Returns the 99th percentile latency in milliseconds, to the upper bound of its histogram bucket
+     */
+    long getLatency99thPercentile();
+
+    /**
+     * Returns the upper bounds, in milliseconds, of the latency histogram buckets.  The last bucket is unbounded.
+     */
+    long[] getLatencyBucketBounds();
+
+    /**
+     * Returns the number of requests in each latency histogram bucket
+     */
+    long[] getLatencyBucketCounts();
+
+    /**
+     * Returns the maximum latency in milliseconds
+     */
+    long getLatencyMax();
+
+    /**
+     * Returns the mean latency in milliseconds
+     */
+    double getLatencyMean();
+
+    /**
+     * Returns the number of requests
+     */
+    long getRequests();
+
+    /**
+     * Returns the number of replayed requests
+     */
+    long getRetries();
+
+    /**
+     * Returns the number of {@code 1xx} responses
+     */
+    long getStatus1xx();
+
+    /**
+     * Returns the number of {@code 2xx} responses
+     */
+    long getStatus2xx();
+
+    /**
+     * Returns the number of {@code 3xx} responses
+     */
+    long getStatus3xx();
+
+    /**
+     * Returns the number of {@code 4xx} responses
+     */
+    long getStatus4xx();
+
+    /**
+     * Returns the number of {@code 5xx} responses
+     */
+    long getStatus5xx();
+
+    /**
+     * Returns the number of access token renegotiations caused by {@code 401 UNAUTHORIZED} responses
+     */
+    long getTokenRenegotiations();
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.cloudfoundry.reactor.RequestMetrics;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.http.client.HttpClientRequest;
+import reactor.ipc.netty.http.client.HttpClientResponse;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Records a single request, and its response, to a {@link RequestMetrics}
+ */
+final class RequestObserver {
+
+    private static final Pattern ID = Pattern.compile(".*[0-9].*");
+
+    private static final String RETRY = RequestObserver.class.getName() + ".RETRY";
+
+    private static final Pattern VERSION = Pattern.compile("v[0-9]+");
+
+    private final RequestMetrics requestMetrics;
+
+    private final String route;
+
+    private volatile HttpClientRequest request;
+
+    private volatile long startTime;
+
+    private RequestObserver(RequestMetrics requestMetrics, String route) {
+        this.requestMetrics = requestMetrics;
+        this.route = route;
+    }
+
+    static RequestObserver create(RequestMetrics requestMetrics, String method, String uri) {
+        return new RequestObserver(requestMetrics, route(method, uri));
+    }
+
+    /**
+     * Records a subscription to a request that follows an error as a retry.  A subscription that follows a successful or empty completion, such as the next poll of a {@code repeatWhenEmpty()},
+     * is not a retry.  Since the replay that follows a {@code 401 UNAUTHORIZED} happens upstream of this transformation, it is recorded only as a token renegotiation.
+     */
+    static <T> Function<Mono<T>, Mono<T>> retries() {
+        AtomicBoolean failed = new AtomicBoolean();
+
+        return inbound -> Mono
+            .defer(() -> failed.getAndSet(false) ? inbound.subscriberContext(Context.of(RETRY, new AtomicBoolean(true))) : inbound)
+            .doOnError(t -> failed.set(true));
+    }
+
+    /**
+     * Returns the route of a request, replacing path segments that contain a digit, such as GUIDs, numbers, and hashes, with {@code {id}} and removing the query.  API versions such as
+     * {@code v2} are kept.
+     */
+    static String route(String method, String uri) {
+        String path = URI.create(uri).getRawPath();
+
+        return String.format("%s %s", method, Arrays.stream(path.split("/", -1))
+            .map(segment -> isId(segment) ? "{id}" : segment)
+            .collect(Collectors.joining("/")));
+    }
+
+    HttpClientRequest request(HttpClientRequest request) {
+        this.request = request;
+        return request;
+    }
+
+    Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> response() {
+        return inbound -> Mono.subscriberContext()
+            .flatMap(context -> inbound
+                .doOnSubscribe(s -> start(context)))
+            .doOnNext(response -> this.requestMetrics.onResponse(this.route, response.status().code(), getRequestBytes(), getContentLength(response.responseHeaders()), getLatency()))
+            .doOnError(t -> this.requestMetrics.onError(this.route, t, getLatency()));
+    }
+
+    private static long getContentLength(HttpHeaders headers) {
+        String contentLength = headers.get(HttpHeaderNames.CONTENT_LENGTH);
+
+        try {
+            return contentLength == null ? -1 : Long.parseLong(contentLength);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isId(String segment) {
+        return ID.matcher(segment).matches() && !VERSION.matcher(segment).matches();
+    }
+
+    private Duration getLatency() {
+        return Duration.ofNanos(System.nanoTime() - this.startTime);
+    }
+
+    private long getRequestBytes() {
+        HttpClientRequest request = this.request;
+        return request == null ? -1 : getContentLength(request.requestHeaders());
+    }
+
+    private void start(Context context) {
+        this.startTime = System.nanoTime();
+
+        if (context.<AtomicBoolean>getOrEmpty(RETRY).filter(retry -> retry.compareAndSet(true, false)).isPresent()) {
+            this.requestMetrics.onRetry(this.route);
+        }
+    }
+
+}
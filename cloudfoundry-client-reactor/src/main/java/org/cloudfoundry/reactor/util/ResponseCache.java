@@ -0,0 +1,229 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A size-bounded, least-recently-used cache of deserialized {@code GET} responses.  Only paths that have been configured with a time-to-live are cached; every other request is passed
+ * through.  Responses are keyed on the principal, the URI and the headers that vary by request, such as a UAA identity zone.  Concurrent requests for the same entry share a single
+ * exchange, and an expired entry that carried an {@code ETag} is revalidated with a conditional request rather than fetched again.
+ */
+public final class ResponseCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    public static final Map<String, Duration> DEFAULT_TTLS;
+
+    static {
+        Map<String, Duration> ttls = new HashMap<>();
+        ttls.put("/v2/config/feature_flags", Duration.ofMinutes(1));
+        ttls.put("/v2/quota_definitions", Duration.ofMinutes(5));
+        ttls.put("/v2/shared_domains", Duration.ofMinutes(5));
+        ttls.put("/v2/stacks", Duration.ofMinutes(5));
+        ttls.put("/v3/stacks", Duration.ofMinutes(5));
+
+        DEFAULT_TTLS = Collections.unmodifiableMap(ttls);
+    }
+
+    private final Map<RequestKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final RequestCoalescer inFlight = RequestCoalescer.create();
+
+    private final int maximumSize;
+
+    private final Map<String, Duration> ttls;
+
+    private ResponseCache(Map<String, Duration> ttls, int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.ttls = new HashMap<>(ttls);
+    }
+
+    /**
+     * Creates a new cache for the {@link #DEFAULT_TTLS default paths}
+     *
+     * @return the cache
+     */
+    public static ResponseCache create() {
+        return create(DEFAULT_TTLS);
+    }
+
+    /**
+     * Creates a new cache
+     *
+     * @param ttls the time-to-live of responses, keyed by path.  A path also matches every path beneath it.
+     * @return the cache
+     */
+    public static ResponseCache create(Map<String, Duration> ttls) {
+        return create(ttls, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new cache
+     *
+     * @param ttls        the time-to-live of responses, keyed by path.  A path also matches every path beneath it.
+     * @param maximumSize the maximum number of responses to retain
+     * @return the cache
+     */
+    public static ResponseCache create(Map<String, Duration> ttls, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+
+        return new ResponseCache(ttls, maximumSize);
+    }
+
+    /**
+     * Removes all cached responses
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of cached responses
+     *
+     * @return the number of cached responses
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    static Optional<Duration> getTtl(Map<String, Duration> ttls, String uri) {
+        String path = Optional.ofNullable(URI.create(uri).getRawPath()).orElse("");
+
+        while (!path.isEmpty()) {
+            Duration ttl = ttls.get(path);
+            if (ttl != null) {
+                return Optional.of(ttl);
+            }
+
+            path = path.substring(0, Math.max(path.lastIndexOf('/'), 0));
+        }
+
+        return Optional.empty();
+    }
+
+    <T> Mono<T> get(Object principal, String uri, Map<String, String> headers, Class<T> responseType, Function<String, Mono<Response>> exchange) {
+        Optional<Duration> ttl = getTtl(this.ttls, uri);
+
+        if (!ttl.isPresent()) {
+            return Mono.defer(() -> exchange.apply(null))
+                .flatMap(response -> Mono.justOrEmpty(response.value))
+                .cast(responseType);
+        }
+
+        return Mono.defer(() -> {
+            RequestKey key = new RequestKey(principal, uri, headers, responseType);
+            Entry entry = getEntry(key);
+
+            if (entry != null && entry.expiration - System.nanoTime() > 0) {
+                return Mono.just(entry.value);
+            }
+
+            return this.inFlight.coalesce(key, () -> exchange.apply(entry != null ? entry.eTag : null)
+                .flatMap(response -> {
+                    long expiration = System.nanoTime() + ttl.get().toNanos();
+
+                    if (response.notModified && entry != null) {
+                        putEntry(key, new Entry(entry.eTag, expiration, entry.value));
+                        return Mono.just(entry.value);
+                    }
+
+                    if (response.value != null) {
+                        putEntry(key, new Entry(response.eTag, expiration, response.value));
+                    }
+
+                    return Mono.justOrEmpty(response.value);
+                }));
+        })
+            .cast(responseType);
+    }
+
+    private Entry getEntry(RequestKey key) {
+        synchronized (this.entries) {
+            return this.entries.get(key);
+        }
+    }
+
+    private void putEntry(RequestKey key, Entry entry) {
+        synchronized (this.entries) {
+            this.entries.put(key, entry);
+
+            Iterator<RequestKey> keys = this.entries.keySet().iterator();
+            while (this.entries.size() > this.maximumSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    static final class Response {
+
+        private final String eTag;
+
+        private final boolean notModified;
+
+        private final Object value;
+
+        private Response(String eTag, boolean notModified, Object value) {
+            this.eTag = eTag;
+            this.notModified = notModified;
+            this.value = value;
+        }
+
+        static Response notModified() {
+            return new Response(null, true, null);
+        }
+
+        static Response of(Object value, String eTag) {
+            return new Response(eTag, false, value);
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final String eTag;
+
+        private final long expiration;
+
+        private final Object value;
+
+        private Entry(String eTag, long expiration, Object value) {
+            this.eTag = eTag;
+            this.expiration = expiration;
+            this.value = value;
+        }
+
+    }
+
+}
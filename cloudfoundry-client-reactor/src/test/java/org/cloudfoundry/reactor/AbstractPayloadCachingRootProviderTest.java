@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.web.util.UriComponents;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class AbstractPayloadCachingRootProviderTest {
+
+    private final ConnectionContext connectionContext = mock(ConnectionContext.class);
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final StubRootProvider rootProvider = new StubRootProvider(this.count);
+
+    @Test
+    public void cached() {
+        when(this.connectionContext.getCacheDuration()).thenReturn(Optional.empty());
+        when(this.connectionContext.trust(anyString(), anyInt())).thenReturn(Mono.empty());
+
+        getRoot()
+            .repeat(2)
+            .as(StepVerifier::create)
+            .expectNext("https://test-host-1:443", "https://test-host-1:443", "https://test-host-1:443")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.count).hasValue(1);
+    }
+
+    @Test
+    public void expired() {
+        when(this.connectionContext.getCacheDuration()).thenReturn(Optional.of(Duration.ZERO));
+        when(this.connectionContext.trust(anyString(), anyInt())).thenReturn(Mono.empty());
+
+        getRoot()
+            .repeat(2)
+            .as(StepVerifier::create)
+            .expectNext("https://test-host-1:443", "https://test-host-1:443", "https://test-host-2:443")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.count).hasValue(3);
+    }
+
+    private Mono<String> getRoot() {
+        return Mono.defer(() -> this.rootProvider.getRoot("test-key", this.connectionContext));
+    }
+
+    private static final class StubRootProvider extends AbstractPayloadCachingRootProvider {
+
+        private final AtomicInteger count;
+
+        private StubRootProvider(AtomicInteger count) {
+            this.count = count;
+        }
+
+        @Override
+        public String getApiHost() {
+            return "test-host";
+        }
+
+        @Override
+        protected Mono<Map<String, String>> doGetPayload(ConnectionContext connectionContext) {
+            return Mono.fromCallable(() -> Collections.singletonMap("test-key", String.format("https://test-host-%d", this.count.incrementAndGet())));
+        }
+
+        @Override
+        protected Mono<UriComponents> doGetRoot(ConnectionContext connectionContext) {
+            return Mono.just(getRoot());
+        }
+
+        @Override
+        ObjectMapper getObjectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Override
+        Optional<Integer> getPort() {
+            return Optional.empty();
+        }
+
+        @Override
+        Optional<Boolean> getSecure() {
+            return Optional.empty();
+        }
+
+    }
+
+}
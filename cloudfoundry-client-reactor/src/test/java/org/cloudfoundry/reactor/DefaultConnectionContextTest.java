@@ -16,14 +16,31 @@
 
 package org.cloudfoundry.reactor;
 
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.After;
 import org.junit.Test;
+import reactor.ipc.netty.resources.LoopResources;
 import reactor.test.StepVerifier;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.netty.handler.codec.http.HttpMethod.GET;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public final class DefaultConnectionContextTest extends AbstractRestTest {
 
@@ -38,8 +55,159 @@ public final class DefaultConnectionContextTest extends AbstractRestTest {
         this.connectionContext.dispose();
     }
 
+    @Test
+    public void byteBufAllocator() {
+        CountingByteBufAllocator allocator = new CountingByteBufAllocator();
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost(this.mockWebServer.getHostName())
+            .byteBufAllocator(allocator)
+            .port(this.mockWebServer.getPort())
+            .secure(false)
+            .build();
+
+        try {
+            requestRoot(connectionContext);
+            assertThat(allocator.allocations).hasPositiveValue();
+        } finally {
+            connectionContext.dispose();
+        }
+    }
+
+    @Test
+    public void byteBufAllocatorWithMetrics() throws JMException {
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost("test-host")
+            .byteBufAllocator(new PooledByteBufAllocator(false))
+            .build();
+
+        try {
+            connectionContext.monitorByteBufAllocator();
+            assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName("org.cloudfoundry.reactor:type=ByteBufAllocator,endpoint=test-host/443"))).isTrue();
+        } finally {
+            connectionContext.dispose();
+        }
+    }
+
+    @Test
+    public void byteBufAllocatorWithoutMetrics() throws JMException {
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost("test-host")
+            .byteBufAllocator(new CountingByteBufAllocator())
+            .build();
+
+        try {
+            connectionContext.monitorByteBufAllocator();
+            assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName("org.cloudfoundry.reactor:type=ByteBufAllocator,endpoint=test-host/443"))).isFalse();
+        } finally {
+            connectionContext.dispose();
+        }
+    }
+
     @Test
     public void getInfo() {
+        requestRoot(this.connectionContext);
+    }
+
+    @Test
+    public void loopResources() {
+        LoopResources loopResources = LoopResources.create("test-loop", 1, true);
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost(this.mockWebServer.getHostName())
+            .loopResources(loopResources)
+            .port(this.mockWebServer.getPort())
+            .secure(false)
+            .build();
+
+        try {
+            requestRoot(connectionContext);
+            connectionContext.dispose();
+
+            assertThat(connectionContext.getThreadPool()).isSameAs(loopResources);
+            assertThat(loopResources.isDisposed()).isFalse();
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    public void multipleInstances() {
+        DefaultConnectionContext first = DefaultConnectionContext.builder()
+            .apiHost("test-host")
+            .build();
+
+        DefaultConnectionContext second = DefaultConnectionContext.builder()
+            .apiHost("test-host")
+            .build();
+
+        first.monitorByteBufAllocator();
+        second.monitorByteBufAllocator();
+
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    public void nativeTransport() {
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost(this.mockWebServer.getHostName())
+            .nativeTransport(true)
+            .port(this.mockWebServer.getPort())
+            .secure(false)
+            .build();
+
+        try {
+            requestRoot(connectionContext);
+        } finally {
+            connectionContext.dispose();
+        }
+    }
+
+    @Test
+    public void prefetchRoots() throws InterruptedException, IOException {
+        MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(404);
+            }
+
+        });
+
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost(mockWebServer.getHostName())
+            .port(mockWebServer.getPort())
+            .prefetchRoots(true)
+            .secure(false)
+            .build();
+
+        try {
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(0);
+
+            connectionContext.prefetchRoots();
+            assertThat(mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            connectionContext.dispose();
+            mockWebServer.shutdown();
+        }
+    }
+
+    @Test
+    public void prefetchRootsDisposed() {
+        DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+            .apiHost(this.mockWebServer.getHostName())
+            .port(this.mockWebServer.getPort())
+            .prefetchRoots(true)
+            .secure(false)
+            .build();
+
+        connectionContext.dispose();
+        connectionContext.prefetchRoots();
+
+        assertThat(this.mockWebServer.getRequestCount()).isEqualTo(0);
+    }
+
+    private void requestRoot(DefaultConnectionContext connectionContext) {
         mockRequest(InteractionContext.builder()
             .request(TestRequest.builder()
                 .method(GET).path("/")
@@ -60,29 +228,35 @@ public final class DefaultConnectionContextTest extends AbstractRestTest {
                 .build())
             .build());
 
-        this.connectionContext.getRootProvider()
-            .getRoot("token_endpoint", this.connectionContext)
+        connectionContext.getRootProvider()
+            .getRoot("token_endpoint", connectionContext)
             .as(StepVerifier::create)
             .expectNext("http://localhost:8080/uaa")
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    public void multipleInstances() {
-        DefaultConnectionContext first = DefaultConnectionContext.builder()
-            .apiHost("test-host")
-            .build();
+    private static final class CountingByteBufAllocator extends AbstractByteBufAllocator {
 
-        DefaultConnectionContext second = DefaultConnectionContext.builder()
-            .apiHost("test-host")
-            .build();
+        private final AtomicInteger allocations = new AtomicInteger();
 
-        first.monitorByteBufAllocator();
-        second.monitorByteBufAllocator();
+        @Override
+        public boolean isDirectBufferPooled() {
+            return false;
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            this.allocations.incrementAndGet();
+            return new UnpooledDirectByteBuf(this, initialCapacity, maxCapacity);
+        }
+
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            this.allocations.incrementAndGet();
+            return new UnpooledHeapByteBuf(this, initialCapacity, maxCapacity);
+        }
 
-        first.dispose();
-        second.dispose();
     }
 
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import org.cloudfoundry.QueryParameter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class AnnotatedAccessorsTest {
+
+    private final AnnotatedAccessors<QueryParameter> accessors = AnnotatedAccessors.of(QueryParameter.class);
+
+    @Test
+    public void forEach() {
+        List<String> values = new ArrayList<>();
+
+        this.accessors.forEach(new StubSubClass(), (queryParameter, value) -> values.add(String.format("%s=%s", queryParameter.value(), value)));
+
+        assertThat(values).containsExactly("test-alpha=test-value-1", "test-bravo=test-value-2", "test-charlie=test-value-3");
+    }
+
+    @Test
+    public void forEachRepeated() {
+        List<String> values = new ArrayList<>();
+
+        this.accessors.forEach(new StubSubClass(), (queryParameter, value) -> values.add(queryParameter.value()));
+        this.accessors.forEach(new StubSubClass(), (queryParameter, value) -> values.add(queryParameter.value()));
+
+        assertThat(values).containsExactly("test-alpha", "test-bravo", "test-charlie", "test-alpha", "test-bravo", "test-charlie");
+    }
+
+    public static abstract class Stub {
+
+        @QueryParameter("test-bravo")
+        abstract String getBravo();
+
+        @QueryParameter("test-charlie")
+        public final String getCharlie() {
+            return "test-value-3";
+        }
+
+        @QueryParameter("test-delta")
+        public final String getDelta() {
+            return null;
+        }
+
+        public final String getUnannotated() {
+            return "test-unannotated";
+        }
+
+    }
+
+    static final class StubSubClass extends Stub {
+
+        @QueryParameter("test-alpha")
+        public String getAlpha() {
+            return "test-value-1";
+        }
+
+        @Override
+        public String getBravo() {
+            return "test-value-2";
+        }
+
+    }
+
+}
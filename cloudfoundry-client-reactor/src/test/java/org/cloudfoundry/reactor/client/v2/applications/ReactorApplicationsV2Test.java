@@ -75,14 +75,20 @@ import org.cloudfoundry.reactor.InteractionContext;
 import org.cloudfoundry.reactor.TestRequest;
 import org.cloudfoundry.reactor.TestResponse;
 import org.cloudfoundry.reactor.client.AbstractClientApiTest;
+import org.cloudfoundry.util.FileUtils;
 import org.cloudfoundry.util.FluentMap;
 import org.cloudfoundry.util.OperationUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.core.io.ClassPathResource;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 
@@ -99,6 +105,9 @@ import static org.cloudfoundry.util.tuple.TupleUtils.consumer;
 
 public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private final ReactorApplicationsV2 applications = new ReactorApplicationsV2(CONNECTION_CONTEXT, this.root, TOKEN_PROVIDER);
 
     @SuppressWarnings("deprecation")
@@ -1091,4 +1100,62 @@ public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void uploadStreaming() throws IOException {
+        Path application = this.folder.newFolder().toPath();
+        Files.write(application.resolve("test-file"), "test-content".getBytes(StandardCharsets.UTF_8));
+        long length = FileUtils.compressedSize(application).block(Duration.ofSeconds(5));
+
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(PUT).path("/apps/test-application-id/bits")
+                .contents(consumer((headers, body) -> {
+                    String boundary = extractBoundary(headers);
+                    String contents = body.readString(StandardCharsets.ISO_8859_1);
+
+                    assertThat(contents)
+                        .startsWith("\r\n--" + boundary + "\r\n" +
+                            "content-disposition: form-data; name=\"resources\"\r\n" +
+                            "content-length: 2\r\n" +
+                            "content-type: application/json\r\n" +
+                            "\r\n" +
+                            "[]" +
+                            "\r\n" + "--" + boundary + "\r\n" +
+                            "content-disposition: form-data; name=\"application\"; filename=\"application.zip\"\r\n" +
+                            "content-length: " + length + "\r\n" +
+                            "content-type: application/zip\r\n" +
+                            "\r\n" +
+                            "PK")
+                        .contains("test-file")
+                        .endsWith("\r\n--" + boundary + "--");
+                }))
+                .build())
+            .response(TestResponse.builder()
+                .status(CREATED)
+                .payload("fixtures/client/v2/apps/PUT_{id}_bits_response.json")
+                .build())
+            .build());
+
+        this.applications
+            .upload(UploadApplicationRequest.builder()
+                .application(application)
+                .applicationId("test-application-id")
+                .streaming(true)
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(UploadApplicationResponse.builder()
+                .entity(JobEntity.builder()
+                    .id("eff6a47e-67a1-4e3b-99a5-4f9bcab7620a")
+                    .status("queued")
+                    .build())
+                .metadata(Metadata.builder()
+                    .createdAt("2015-07-27T22:43:33Z")
+                    .id("eff6a47e-67a1-4e3b-99a5-4f9bcab7620a")
+                    .url("/v2/jobs/eff6a47e-67a1-4e3b-99a5-4f9bcab7620a")
+                    .build())
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.EventType;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class EnvelopeCodecTest {
+
+    @Test
+    public void decode() {
+        EnvelopeCodec.decode(Flux.just(counterEvent(), valueMetric()), null)
+            .map(Envelope::getEventType)
+            .as(StepVerifier::create)
+            .expectNext(EventType.COUNTER_EVENT, EventType.VALUE_METRIC)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void decodeFiltered() {
+        EnvelopeCodec.decode(Flux.just(counterEvent(), valueMetric(), counterEvent()), Collections.singletonList(EventType.VALUE_METRIC))
+            .as(StepVerifier::create)
+            .consumeNextWith(envelope -> {
+                assertThat(envelope.getEventType()).isEqualTo(EventType.VALUE_METRIC);
+                assertThat(envelope.getValueMetric().getName()).isEqualTo("test-name");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void decodeFilteredGroup() {
+        EnvelopeCodec.decode(Flux.just(withGroup(counterEvent()), withGroup(valueMetric())), Collections.singletonList(EventType.VALUE_METRIC))
+            .map(Envelope::getEventType)
+            .as(StepVerifier::create)
+            .expectNext(EventType.VALUE_METRIC)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void decodeFilteredUndetermined() {
+        EnvelopeCodec.decode(Flux.just(counterEvent(), truncated(valueMetric())), Collections.singletonList(EventType.VALUE_METRIC))
+            .as(StepVerifier::create)
+            .expectError()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void peekEventType() {
+        ByteBuf frame = valueMetric();
+        int readerIndex = frame.readerIndex();
+
+        assertThat(EnvelopeCodec.peekEventType(frame)).isEqualTo(org.cloudfoundry.dropsonde.events.Envelope.EventType.ValueMetric.getValue());
+        assertThat(frame.readerIndex()).isEqualTo(readerIndex);
+    }
+
+    @Test
+    public void peekEventTypeGroup() {
+        assertThat(EnvelopeCodec.peekEventType(withGroup(valueMetric()))).isEqualTo(org.cloudfoundry.dropsonde.events.Envelope.EventType.ValueMetric.getValue());
+    }
+
+    @Test
+    public void peekEventTypeUndetermined() {
+        assertThat(EnvelopeCodec.peekEventType(truncated(valueMetric()))).isEqualTo(-2);
+    }
+
+    private static ByteBuf counterEvent() {
+        return toByteBuf(new org.cloudfoundry.dropsonde.events.Envelope.Builder()
+            .origin("test-origin")
+            .eventType(org.cloudfoundry.dropsonde.events.Envelope.EventType.CounterEvent)
+            .timestamp(1L)
+            .counterEvent(new org.cloudfoundry.dropsonde.events.CounterEvent.Builder()
+                .name("test-name")
+                .delta(1L)
+                .build())
+            .build());
+    }
+
+    private static ByteBuf toByteBuf(org.cloudfoundry.dropsonde.events.Envelope envelope) {
+        return Unpooled.wrappedBuffer(org.cloudfoundry.dropsonde.events.Envelope.ADAPTER.encode(envelope));
+    }
+
+    private static ByteBuf truncated(ByteBuf frame) {
+        return frame.slice(0, 2);
+    }
+
+    private static ByteBuf valueMetric() {
+        return toByteBuf(new org.cloudfoundry.dropsonde.events.Envelope.Builder()
+            .origin("test-origin")
+            .eventType(org.cloudfoundry.dropsonde.events.Envelope.EventType.ValueMetric)
+            .timestamp(1L)
+            .valueMetric(new org.cloudfoundry.dropsonde.events.ValueMetric.Builder()
+                .name("test-name")
+                .unit("test-unit")
+                .value(1.0)
+                .build())
+            .build());
+    }
+
+    private static ByteBuf withGroup(ByteBuf frame) {
+        ByteBuf group = Unpooled.wrappedBuffer(new byte[]{
+            (byte) 0xA3, 0x06,  // field 100, start group
+            0x08, 0x01,         // field 1, varint 1
+            (byte) 0xA4, 0x06   // field 100, end group
+        });
+
+        return Unpooled.wrappedBuffer(group, frame);
+    }
+
+}
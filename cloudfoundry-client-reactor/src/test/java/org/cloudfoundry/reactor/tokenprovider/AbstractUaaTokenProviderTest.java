@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.reactor.tokenprovider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.RootProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class AbstractUaaTokenProviderTest {
+
+    private final ConnectionContext connectionContext = mock(ConnectionContext.class, RETURNS_SMART_NULLS);
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private final RootProvider rootProvider = mock(RootProvider.class, RETURNS_SMART_NULLS);
+
+    private final ClientCredentialsGrantTokenProvider tokenProvider = ClientCredentialsGrantTokenProvider.builder()
+        .clientId("test-client-id")
+        .clientSecret("test-client-secret")
+        .build();
+
+    @Test
+    public void dispose() throws InterruptedException {
+        String accessToken = getAccessToken("test-access-token-1", Duration.ofSeconds(2));
+        this.mockWebServer.enqueue(tokenResponse(accessToken));
+
+        requestToken(accessToken);
+        this.tokenProvider.dispose();
+
+        assertThat(this.mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(this.mockWebServer.takeRequest(3, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void invalidate() throws InterruptedException {
+        String first = getAccessToken("test-access-token-1", Duration.ofSeconds(2));
+        String second = getAccessToken("test-access-token-2", Duration.ofHours(1));
+        this.mockWebServer.enqueue(tokenResponse(first));
+        this.mockWebServer.enqueue(tokenResponse(second));
+
+        requestToken(first);
+        this.tokenProvider.invalidate(this.connectionContext);
+        requestToken(second);
+
+        assertThat(this.mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(this.mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(this.mockWebServer.takeRequest(3, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void refresh() throws InterruptedException {
+        String first = getAccessToken("test-access-token-1", Duration.ofSeconds(2));
+        String second = getAccessToken("test-access-token-2", Duration.ofHours(1));
+        this.mockWebServer.enqueue(tokenResponse(first));
+        this.mockWebServer.enqueue(tokenResponse(second));
+
+        requestToken(first);
+
+        assertThat(this.mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(this.mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+        awaitToken(second);
+    }
+
+    @Test
+    public void refreshRetry() throws InterruptedException {
+        String first = getAccessToken("test-access-token-1", Duration.ofSeconds(2));
+        String second = getAccessToken("test-access-token-2", Duration.ofHours(1));
+        this.mockWebServer.enqueue(tokenResponse(first));
+        this.mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        this.mockWebServer.enqueue(tokenResponse(second));
+
+        requestToken(first);
+
+        assertThat(this.mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(this.mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(this.mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+        awaitToken(second);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        this.mockWebServer.start();
+
+        when(this.connectionContext.getCacheDuration()).thenReturn(Optional.empty());
+        when(this.connectionContext.getHttpClient()).thenReturn(HttpClient.create());
+        when(this.connectionContext.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(this.connectionContext.getRootProvider()).thenReturn(this.rootProvider);
+        when(this.rootProvider.getRoot("authorization_endpoint", this.connectionContext)).thenReturn(Mono.just(this.mockWebServer.url("/").toString()));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.tokenProvider.dispose();
+        this.mockWebServer.shutdown();
+    }
+
+    private static String getAccessToken(String id, Duration lifetime) {
+        return Jwts.builder()
+            .setExpiration(Date.from(Instant.now().plus(lifetime)))
+            .setId(id)
+            .compact();
+    }
+
+    private static MockResponse tokenResponse(String accessToken) {
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody(String.format("{\"access_token\":\"%s\",\"token_type\":\"bearer\"}", accessToken));
+    }
+
+    private void awaitToken(String accessToken) throws InterruptedException {
+        String expected = String.format("bearer %s", accessToken);
+
+        for (int i = 0; i < 50 && !expected.equals(this.tokenProvider.getToken(this.connectionContext).block(Duration.ofSeconds(5))); i++) {
+            Thread.sleep(100);
+        }
+
+        requestToken(accessToken);
+    }
+
+    private void requestToken(String accessToken) {
+        this.tokenProvider
+            .getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(String.format("bearer %s", accessToken))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+}
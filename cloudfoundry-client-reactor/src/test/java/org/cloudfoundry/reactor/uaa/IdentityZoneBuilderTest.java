@@ -20,6 +20,7 @@ import org.cloudfoundry.uaa.IdentityZoned;
 import org.junit.Test;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -43,6 +44,13 @@ public final class IdentityZoneBuilderTest {
         verifyZeroInteractions(this.outbound);
     }
 
+    @Test
+    public void headers() {
+        assertThat(IdentityZoneBuilder.headers(new StubIdentityZoned()))
+            .containsEntry("X-Identity-Zone-Id", "test-identity-zone-id")
+            .containsEntry("X-Identity-Zone-Subdomain", "test-identity-zone-subdomain");
+    }
+
     private static final class StubIdentityZoned implements IdentityZoned {
 
         @Override
@@ -34,9 +34,13 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class UaaSigningKeyResolverTest {
@@ -75,6 +79,30 @@ public final class UaaSigningKeyResolverTest {
         assertThat(this.signingKeyResolver.resolveSigningKey(header, claims)).isNotNull();
     }
 
+    @Test
+    public void resolveExpiredKey() throws NoSuchAlgorithmException {
+        PublicKey publicKey = getKeyPair().getPublic();
+        UaaSigningKeyResolver signingKeyResolver = new UaaSigningKeyResolver(this.tokens, Duration.ZERO, Duration.ZERO);
+
+        when(
+            this.tokens.listKeys(ListTokenKeysRequest.builder()
+                .build())
+        ).thenReturn(
+            Mono.just(ListTokenKeysResponse.builder()
+                .key(getTokenKey("test-key-id", publicKey))
+                .build())
+        );
+
+        JwsHeader<?> header = new DefaultJwsHeader().setKeyId("test-key-id");
+        Claims claims = new DefaultClaims();
+
+        assertThat(signingKeyResolver.resolveSigningKey(header, claims)).isNotNull();
+        assertThat(signingKeyResolver.resolveSigningKey(header, claims)).isNotNull();
+
+        verify(this.tokens, times(2)).listKeys(ListTokenKeysRequest.builder()
+            .build());
+    }
+
     @Test
     public void resolveRefreshedKey() throws NoSuchAlgorithmException {
         PublicKey publicKey = getKeyPair().getPublic();
@@ -118,10 +146,42 @@ public final class UaaSigningKeyResolverTest {
         this.signingKeyResolver.resolveSigningKey(header, claims);
     }
 
+    @Test
+    public void resolveUnknownKeyRateLimited() {
+        when(
+            this.tokens.listKeys(ListTokenKeysRequest.builder()
+                .build())
+        ).thenReturn(
+            Mono.just(ListTokenKeysResponse.builder()
+                .build())
+        );
+
+        JwsHeader<?> header = new DefaultJwsHeader().setKeyId("test-key-id");
+        Claims claims = new DefaultClaims();
+
+        assertThatIllegalStateException().isThrownBy(() -> this.signingKeyResolver.resolveSigningKey(header, claims));
+        assertThatIllegalStateException().isThrownBy(() -> this.signingKeyResolver.resolveSigningKey(header, claims));
+
+        verify(this.tokens, times(1)).listKeys(ListTokenKeysRequest.builder()
+            .build());
+    }
+
     private static String getEncoded(PublicKey publicKey) {
         return String.format("-----BEGIN PUBLIC KEY-----\n%s\n-----END PUBLIC KEY-----", BASE64.encode(publicKey.getEncoded()));
     }
 
+    private static TokenKey getTokenKey(String id, PublicKey publicKey) {
+        return TokenKey.builder()
+            .algorithm(publicKey.getAlgorithm())
+            .e("")
+            .id(id)
+            .keyType(KeyType.RSA)
+            .n("")
+            .use("")
+            .value(getEncoded(publicKey))
+            .build();
+    }
+
     private KeyPair getKeyPair() throws NoSuchAlgorithmException {
         KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
         keyPairGenerator.initialize(1024);
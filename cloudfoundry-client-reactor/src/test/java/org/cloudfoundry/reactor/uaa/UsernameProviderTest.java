@@ -39,6 +39,7 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -52,6 +53,48 @@ public final class UsernameProviderTest {
 
     private final UsernameProvider usernameProvider = new UsernameProvider(this.connectionContext, this.signingKeyResolver, this.tokenProvider);
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void getCachedToken() throws NoSuchAlgorithmException {
+        KeyPair keyPair = getKeyPair();
+        when(this.signingKeyResolver.resolveSigningKey(any(JwsHeader.class), any(Claims.class))).thenReturn(keyPair.getPublic());
+
+        String token = String.format("bearer %s", getToken(keyPair.getPrivate(), Instant.now().plus(Duration.ofHours(1))));
+        when(this.tokenProvider.getToken(this.connectionContext)).thenReturn(Mono.just(token));
+
+        this.usernameProvider
+            .get()
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext("test-username", "test-username")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        verify(this.signingKeyResolver, times(1)).resolveSigningKey(any(JwsHeader.class), any(Claims.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void getEvictsLeastRecentlyUsedToken() throws NoSuchAlgorithmException {
+        KeyPair keyPair = getKeyPair();
+        when(this.signingKeyResolver.resolveSigningKey(any(JwsHeader.class), any(Claims.class))).thenReturn(keyPair.getPublic());
+
+        String alpha = String.format("bearer %s", getToken(keyPair.getPrivate(), Instant.now().plus(Duration.ofHours(1))));
+        String bravo = String.format("bearer %s", getToken(keyPair.getPrivate(), Instant.now().plus(Duration.ofHours(2))));
+        String charlie = String.format("bearer %s", getToken(keyPair.getPrivate(), Instant.now().plus(Duration.ofHours(3))));
+        when(this.tokenProvider.getToken(this.connectionContext)).thenReturn(Mono.just(alpha), Mono.just(bravo), Mono.just(alpha), Mono.just(charlie), Mono.just(alpha));
+
+        new UsernameProvider(this.connectionContext, this.signingKeyResolver, this.tokenProvider, 2)
+            .get()
+            .repeat(4)
+            .as(StepVerifier::create)
+            .expectNextCount(5)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        verify(this.signingKeyResolver, times(3)).resolveSigningKey(any(JwsHeader.class), any(Claims.class));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void getInvalidToken() throws NoSuchAlgorithmException {
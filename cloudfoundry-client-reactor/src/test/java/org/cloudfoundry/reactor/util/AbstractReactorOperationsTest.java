@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.RequestMetrics;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class AbstractReactorOperationsTest {
+
+    private final ConnectionContext connectionContext = mock(ConnectionContext.class, RETURNS_SMART_NULLS);
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private final RequestMetrics requestMetrics = mock(RequestMetrics.class);
+
+    private final TokenProvider tokenProvider = mock(TokenProvider.class, RETURNS_SMART_NULLS);
+
+    private final TestOperations operations = new TestOperations(this.connectionContext, Mono.fromSupplier(() -> this.mockWebServer.url("/").toString()), this.tokenProvider);
+
+    public AbstractReactorOperationsTest() {
+        when(this.connectionContext.getHttpClient()).thenReturn(HttpClient.create());
+        when(this.connectionContext.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(this.connectionContext.getRequestCoalescer()).thenReturn(Optional.empty());
+        when(this.connectionContext.getRequestMetrics()).thenReturn(this.requestMetrics);
+        when(this.connectionContext.getResponseCache()).thenReturn(Optional.empty());
+        when(this.tokenProvider.getToken(this.connectionContext)).thenReturn(Mono.just("test-authorization"));
+    }
+
+    @Test
+    public void coalesceIdentityZones() throws InterruptedException {
+        when(this.connectionContext.getRequestCoalescer()).thenReturn(Optional.of(RequestCoalescer.create()));
+        this.mockWebServer.enqueue(okResponse().setBodyDelay(100, TimeUnit.MILLISECONDS));
+        this.mockWebServer.enqueue(okResponse().setBodyDelay(100, TimeUnit.MILLISECONDS));
+
+        Mono
+            .zip(this.operations.get("test-identity-zone-1"), this.operations.get("test-identity-zone-2"))
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(Arrays.asList(this.mockWebServer.takeRequest().getHeader("X-Identity-Zone-Id"), this.mockWebServer.takeRequest().getHeader("X-Identity-Zone-Id")))
+            .containsExactlyInAnyOrder("test-identity-zone-1", "test-identity-zone-2");
+    }
+
+    @Test
+    public void coalesceWithResponseCache() {
+        when(this.connectionContext.getRequestCoalescer()).thenReturn(Optional.of(RequestCoalescer.create()));
+        when(this.connectionContext.getResponseCache()).thenReturn(Optional.of(ResponseCache.create(Collections.singletonMap("/v2/stacks", Duration.ofMinutes(5)))));
+        this.mockWebServer.enqueue(okResponse().setBodyDelay(100, TimeUnit.MILLISECONDS));
+        this.mockWebServer.enqueue(okResponse());
+
+        Mono
+            .zip(this.operations.get(), this.operations.get())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void retry() {
+        this.mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("test-error"));
+        this.mockWebServer.enqueue(okResponse());
+
+        this.operations
+            .get()
+            .retry(1)
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.requestMetrics).onResponse(eq("GET /v2/info"), eq(500), anyLong(), anyLong(), any(Duration.class));
+        verify(this.requestMetrics).onResponse(eq("GET /v2/info"), eq(200), anyLong(), anyLong(), any(Duration.class));
+        verify(this.requestMetrics, times(1)).onRetry("GET /v2/info");
+        verify(this.requestMetrics, never()).onTokenRenegotiation("GET /v2/info");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.mockWebServer.shutdown();
+    }
+
+    @Test
+    public void tokenRenegotiation() {
+        this.mockWebServer.enqueue(new MockResponse().setResponseCode(401));
+        this.mockWebServer.enqueue(okResponse());
+
+        this.operations
+            .get()
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.tokenProvider).invalidate(this.connectionContext);
+        verify(this.requestMetrics).onResponse(eq("GET /v2/info"), eq(401), anyLong(), anyLong(), any(Duration.class));
+        verify(this.requestMetrics).onResponse(eq("GET /v2/info"), eq(200), anyLong(), anyLong(), any(Duration.class));
+        verify(this.requestMetrics, times(1)).onTokenRenegotiation("GET /v2/info");
+        verify(this.requestMetrics, never()).onRetry("GET /v2/info");
+    }
+
+    private static MockResponse okResponse() {
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("{}");
+    }
+
+    private static final class TestOperations extends AbstractReactorOperations {
+
+        private TestOperations(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider) {
+            super(connectionContext, root, tokenProvider);
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Mono<Map> get() {
+            return doGet(Map.class, builder -> builder.pathSegment("v2", "info"), Function.identity(), Function.identity());
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Mono<Map> get(String identityZoneId) {
+            return doGet(Map.class, Collections.singletonMap("X-Identity-Zone-Id", identityZoneId), builder -> builder.pathSegment("identity-providers"), Function.identity(), Function.identity());
+        }
+
+    }
+
+}
@@ -17,23 +17,31 @@
 package org.cloudfoundry.reactor.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import org.cloudfoundry.RetryableCloudFoundryException;
 import org.cloudfoundry.UnknownCloudFoundryException;
 import org.cloudfoundry.client.v2.ClientV2Exception;
 import org.cloudfoundry.client.v3.ClientV3Exception;
 import org.cloudfoundry.uaa.UaaException;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.ByteBufFlux;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
@@ -105,6 +113,29 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void clientV2TooManyRequests() throws IOException {
+        when(this.response.status()).thenReturn(TOO_MANY_REQUESTS);
+        when(this.response.responseHeaders()).thenReturn(new DefaultHttpHeaders().add("Retry-After", "5"));
+        when(this.response.receive()).thenReturn(ByteBufFlux.fromPath(new ClassPathResource("fixtures/client/v2/error_response.json").getFile().toPath()));
+
+        Mono.just(this.response)
+            .transform(ErrorPayloadMapper.clientV2(this.objectMapper))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> {
+                assertThat(t)
+                    .isInstanceOf(RetryableCloudFoundryException.class)
+                    .extracting("statusCode", "retryAfter")
+                    .containsExactly(TOO_MANY_REQUESTS.code(), Duration.ofSeconds(5));
+
+                assertThat(t.getCause())
+                    .isInstanceOf(ClientV2Exception.class)
+                    .extracting("statusCode", "code", "description", "errorCode")
+                    .containsExactly(TOO_MANY_REQUESTS.code(), 10008, "The request is semantically invalid: space_guid and name unique", "CF-UnprocessableEntity");
+            })
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void clientV3BadPayload() throws IOException {
         when(this.response.status()).thenReturn(BAD_REQUEST);
@@ -177,6 +208,36 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void fallbackLargePayload() {
+        char[] payload = new char[256 * 1024];
+        Arrays.fill(payload, 'x');
+
+        when(this.response.status()).thenReturn(INTERNAL_SERVER_ERROR);
+        when(this.response.receive()).thenReturn(toByteBufFlux(new String(payload)));
+
+        Mono.just(this.response)
+            .transform(ErrorPayloadMapper.fallback())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(((UnknownCloudFoundryException) t).getPayload()).hasSize(64 * 1024))
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void fallbackServiceUnavailable() {
+        when(this.response.status()).thenReturn(SERVICE_UNAVAILABLE);
+        when(this.response.responseHeaders()).thenReturn(new DefaultHttpHeaders().add("Retry-After", "120"));
+        when(this.response.receive()).thenReturn(toByteBufFlux("<html>503 Service Unavailable</html>"));
+
+        Mono.just(this.response)
+            .transform(ErrorPayloadMapper.fallback())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t)
+                .isInstanceOf(RetryableCloudFoundryException.class)
+                .extracting("statusCode", "retryAfter", "payload")
+                .containsExactly(SERVICE_UNAVAILABLE.code(), Duration.ofMinutes(2), "<html>503 Service Unavailable</html>"))
+            .verify(Duration.ofSeconds(1));
+    }
 
     @Test
     public void uaaBadPayload() throws IOException {
@@ -238,4 +299,31 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void uaaServiceUnavailable() throws IOException {
+        when(this.response.status()).thenReturn(SERVICE_UNAVAILABLE);
+        when(this.response.responseHeaders()).thenReturn(new DefaultHttpHeaders().add("Retry-After", "5"));
+        when(this.response.receive()).thenReturn(ByteBufFlux.fromPath(new ClassPathResource("fixtures/uaa/error_response.json").getFile().toPath()));
+
+        Mono.just(this.response)
+            .transform(ErrorPayloadMapper.uaa(this.objectMapper))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> {
+                assertThat(t)
+                    .isInstanceOf(RetryableCloudFoundryException.class)
+                    .extracting("statusCode", "retryAfter")
+                    .containsExactly(SERVICE_UNAVAILABLE.code(), Duration.ofSeconds(5));
+
+                assertThat(t.getCause())
+                    .isInstanceOf(UaaException.class)
+                    .extracting("statusCode")
+                    .containsExactly(SERVICE_UNAVAILABLE.code());
+            })
+            .verify(Duration.ofSeconds(1));
+    }
+
+    private static ByteBufFlux toByteBufFlux(String payload) {
+        return ByteBufFlux.fromInbound(Flux.just(Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8)));
+    }
+
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class HostPoolResourcesTest {
+
+    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+
+    private final HostPoolResources poolResources = new HostPoolResources("test-pool", "test-host/443", 16, Collections.singletonMap("uaa.test-host", 4), Duration.ofSeconds(5));
+
+    @Test
+    public void dispose() throws JMException {
+        select("api.test-host");
+
+        ObjectName name = getObjectName("api.test-host");
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isTrue();
+
+        this.poolResources.dispose();
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isFalse();
+    }
+
+    @Test
+    public void disposeSharedEndpoint() throws JMException {
+        HostPoolResources other = new HostPoolResources("test-pool", "test-host/443", 16, Collections.emptyMap(), Duration.ofSeconds(5));
+
+        try {
+            select("api.test-host");
+            ObjectName name = getObjectName("api.test-host");
+
+            select(other, "api.test-host");
+            assertThat(queryNames("api.test-host")).hasSize(2);
+
+            other.dispose();
+            assertThat(queryNames("api.test-host")).containsExactly(name);
+        } finally {
+            other.dispose();
+        }
+    }
+
+    @Test
+    public void endpointWithSeparators() throws JMException {
+        HostPoolResources other = new HostPoolResources("test-pool", "test-host:8443,test-zone/443", 16, Collections.emptyMap(), Duration.ofSeconds(5));
+
+        try {
+            select(other, "api.test-host");
+            assertThat(queryNames("test-host:8443,test-zone/443", "api.test-host")).hasSize(1);
+        } finally {
+            other.dispose();
+        }
+    }
+
+    @Test
+    public void selectOrCreate() throws JMException {
+        select("api.test-host");
+        select("uaa.test-host");
+
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(getObjectName("api.test-host"), "MaximumConnections")).isEqualTo(16);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(getObjectName("uaa.test-host"), "MaximumConnections")).isEqualTo(4);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(getObjectName("uaa.test-host"), "Active")).isEqualTo(0L);
+    }
+
+    @After
+    public void tearDown() {
+        this.poolResources.dispose();
+        this.eventLoopGroup.shutdownGracefully();
+    }
+
+    private static Set<ObjectName> queryNames(String host) throws JMException {
+        return queryNames("test-host/443", host);
+    }
+
+    private static Set<ObjectName> queryNames(String endpoint, String host) throws JMException {
+        return ManagementFactory.getPlatformMBeanServer().queryNames(new ObjectName("org.cloudfoundry.reactor:type=ConnectionPool,endpoint=" + ObjectName.quote(endpoint) + ",host=" + ObjectName.quote(host) + ",*"),
+            null);
+    }
+
+    private static ObjectName getObjectName(String host) throws JMException {
+        Set<ObjectName> names = queryNames(host);
+        assertThat(names).hasSize(1);
+
+        return names.iterator().next();
+    }
+
+    private void select(String host) {
+        select(this.poolResources, host);
+    }
+
+    private void select(HostPoolResources poolResources, String host) {
+        poolResources.selectOrCreate(InetSocketAddress.createUnresolved(host, 443), () -> new Bootstrap().group(this.eventLoopGroup).channel(NioSocketChannel.class), channel -> {
+        }, this.eventLoopGroup);
+    }
+
+}
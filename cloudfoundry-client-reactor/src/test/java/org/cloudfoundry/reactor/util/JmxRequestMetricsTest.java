@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class JmxRequestMetricsTest {
+
+    private final JmxRequestMetrics requestMetrics = new JmxRequestMetrics("test-host/443");
+
+    @Test
+    public void dispose() throws JMException {
+        this.requestMetrics.onError("GET /v2/info", new IllegalStateException(), Duration.ofMillis(1));
+
+        ObjectName name = getObjectName("GET /v2/info");
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isTrue();
+
+        this.requestMetrics.dispose();
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isFalse();
+    }
+
+    @Test
+    public void disposeSharedEndpoint() throws JMException {
+        JmxRequestMetrics other = new JmxRequestMetrics("test-host/443");
+
+        try {
+            this.requestMetrics.onRetry("GET /v2/info");
+            ObjectName name = getObjectName("GET /v2/info");
+
+            other.onRetry("GET /v2/info");
+            assertThat(queryNames(ObjectName.quote("GET /v2/info"))).hasSize(2);
+
+            other.dispose();
+            assertThat(queryNames(ObjectName.quote("GET /v2/info"))).containsExactly(name);
+            assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Retries")).isEqualTo(1L);
+        } finally {
+            other.dispose();
+        }
+    }
+
+    @Test
+    public void onResponse() throws JMException {
+        this.requestMetrics.onResponse("GET /v2/apps/{id}", 200, -1, 1_024, Duration.ofMillis(15));
+        this.requestMetrics.onResponse("GET /v2/apps/{id}", 404, -1, 128, Duration.ofMillis(3));
+        this.requestMetrics.onTokenRenegotiation("GET /v2/apps/{id}");
+
+        ObjectName name = getObjectName("GET /v2/apps/{id}");
+
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Requests")).isEqualTo(2L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Status2xx")).isEqualTo(1L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Status4xx")).isEqualTo(1L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "BytesIn")).isEqualTo(1_152L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "LatencyMax")).isEqualTo(15L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Latency99thPercentile")).isEqualTo(20L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Retries")).isEqualTo(0L);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TokenRenegotiations")).isEqualTo(1L);
+    }
+
+    @Test
+    public void routeLimit() throws JMException {
+        for (int i = 0; i < 300; i++) {
+            this.requestMetrics.onResponse(String.format("GET /test-path-%d", i), 200, -1, -1, Duration.ofMillis(1));
+        }
+
+        assertThat(queryNames("\"GET /test-path-*\"")).hasSize(256);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(getObjectName("{other}"), "Requests")).isEqualTo(44L);
+    }
+
+    @After
+    public void tearDown() {
+        this.requestMetrics.dispose();
+    }
+
+    private static ObjectName getObjectName(String route) throws JMException {
+        Set<ObjectName> names = queryNames(ObjectName.quote(route));
+        assertThat(names).hasSize(1);
+
+        return names.iterator().next();
+    }
+
+    private static Set<ObjectName> queryNames(String route) throws JMException {
+        return ManagementFactory.getPlatformMBeanServer().queryNames(new ObjectName("org.cloudfoundry.reactor:type=RequestMetrics,endpoint=" + ObjectName.quote("test-host/443") + ",route=" + route + ",*"),
+            null);
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+public final class JsonTokenizerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void bigDecimal() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        JsonTokenizer.tokenize(objectMapper, Flux.just("{\"alpha\":1.00000000000000000001}").map(JsonTokenizerTest::toByteBuf), 100)
+            .map(tokenBuffer -> JsonTokenizer.asString(objectMapper, tokenBuffer))
+            .as(StepVerifier::create)
+            .expectNext("{\"alpha\":1.00000000000000000001}")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void directBuffer() {
+        JsonTokenizer.tokenize(this.objectMapper, Flux.just("{\"alpha\":", "[1,2]}").map(chunk -> Unpooled.directBuffer().writeBytes(chunk.getBytes(StandardCharsets.UTF_8))), 100)
+            .map(tokenBuffer -> JsonTokenizer.asString(this.objectMapper, tokenBuffer))
+            .as(StepVerifier::create)
+            .expectNext("{\"alpha\":[1,2]}")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void empty() {
+        tokenize(100)
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void invalid() {
+        tokenize(100, "{\"alpha\":", "}")
+            .as(StepVerifier::create)
+            .expectError(JsonParsingException.class)
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void multipleValues() {
+        tokenize(100, "{\"alpha\":1}{\"bravo\"", ":[2,3]} \"charlie\"")
+            .as(StepVerifier::create)
+            .expectNext("{\"alpha\":1}")
+            .expectNext("{\"bravo\":[2,3]}")
+            .expectNext("\"charlie\"")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void releasedAfterNext() {
+        TestPublisher<ByteBuf> publisher = TestPublisher.create();
+        ByteBuf alpha = toByteBuf("{\"alpha\":1}");
+        ByteBuf bravo = toByteBuf("{\"bravo\":2}");
+
+        StepVerifier.create(JsonTokenizer.tokenize(this.objectMapper, publisher.flux(), 100)
+            .map(tokenBuffer -> JsonTokenizer.asString(this.objectMapper, tokenBuffer)), 0)
+            .then(() -> {
+                publisher.next(alpha);
+                alpha.release();
+                publisher.next(bravo);
+                bravo.release();
+                publisher.complete();
+            })
+            .thenRequest(2)
+            .expectNext("{\"alpha\":1}")
+            .expectNext("{\"bravo\":2}")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void splitValue() {
+        tokenize(100, "{\"al", "pha\":{\"bravo\":", "[\"charlie\",", "\"delta\"]}}")
+            .as(StepVerifier::create)
+            .expectNext("{\"alpha\":{\"bravo\":[\"charlie\",\"delta\"]}}")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void tooLong() {
+        tokenize(10, "{\"alpha\":", "\"bravo-charlie\"}")
+            .as(StepVerifier::create)
+            .expectError(TooLongFrameException.class)
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void truncated() {
+        tokenize(100, "{\"alpha\":[1,", "2]")
+            .as(StepVerifier::create)
+            .expectError(JsonParsingException.class)
+            .verify(Duration.ofSeconds(1));
+    }
+
+    private static ByteBuf toByteBuf(String chunk) {
+        return Unpooled.wrappedBuffer(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Flux<String> tokenize(int maxPayloadSize, String... chunks) {
+        return JsonTokenizer.tokenize(this.objectMapper, Flux.just(chunks).map(JsonTokenizerTest::toByteBuf), maxPayloadSize)
+            .map(tokenBuffer -> JsonTokenizer.asString(this.objectMapper, tokenBuffer));
+    }
+
+}
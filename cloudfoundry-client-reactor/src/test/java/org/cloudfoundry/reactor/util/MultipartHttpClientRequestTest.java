@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.ipc.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class MultipartHttpClientRequestTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final Logger logger = (Logger) NetworkLogging.REQUEST_LOGGER;
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private Level level;
+
+    @Test
+    public void sendFile() throws InterruptedException, IOException {
+        Path file = Files.createTempFile("test-file-", ".zip");
+
+        try {
+            try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+                out.setLength(17 * 1024 * 1024);
+            }
+
+            this.mockWebServer.enqueue(new MockResponse());
+
+            List<Long> progress = new CopyOnWriteArrayList<>();
+
+            HttpClient.create()
+                .post(this.mockWebServer.url("/").toString(), request -> new MultipartHttpClientRequest(new ObjectMapper(), request)
+                    .addPart(part -> part.setContentDispositionFormData("bits", "test-file.zip")
+                        .setProgress(progress::add)
+                        .sendFile(file))
+                    .done())
+                .flatMap(response -> response.receive().then())
+                .as(StepVerifier::create)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+            RecordedRequest request = this.mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+            assertThat(request.getBodySize()).isGreaterThan(17 * 1024 * 1024);
+
+            assertThat(this.appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .filteredOn(message -> message.startsWith("UPLOAD"))
+                .hasSize(3)
+                .allMatch(message -> message.contains(" of 17.0 MiB ("))
+                .anyMatch(message -> message.contains(" 8.0 MiB of "))
+                .anyMatch(message -> message.contains(" 16.0 MiB of "))
+                .anyMatch(message -> message.contains(" 17.0 MiB of "));
+
+            assertThat(progress).containsExactly(8L * 1024 * 1024, 16L * 1024 * 1024, 17L * 1024 * 1024);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void sendStream() throws InterruptedException {
+        this.mockWebServer.enqueue(new MockResponse());
+
+        List<Long> progress = new CopyOnWriteArrayList<>();
+
+        HttpClient.create()
+            .post(this.mockWebServer.url("/").toString(), request -> new MultipartHttpClientRequest(new ObjectMapper(), request)
+                .addPart(part -> part.setContentDispositionFormData("bits", "test-file.zip")
+                    .setProgress(progress::add)
+                    .sendStream(Flux.just(new byte[1024], new byte[2048], new byte[512]), 3584))
+                .done())
+            .flatMap(response -> response.receive().then())
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+
+        RecordedRequest request = this.mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getBodySize()).isGreaterThan(3584);
+
+        assertThat(progress).containsExactly(1024L, 3072L, 3584L);
+    }
+
+    @Test
+    public void sendStreamChunked() throws InterruptedException {
+        this.mockWebServer.enqueue(new MockResponse());
+
+        List<Long> progress = new CopyOnWriteArrayList<>();
+
+        HttpClient.create()
+            .post(this.mockWebServer.url("/").toString(), request -> new MultipartHttpClientRequest(new ObjectMapper(), request)
+                .addPart(part -> part.setContentDispositionFormData("bits", "test-file.zip")
+                    .setProgress(progress::add)
+                    .sendStream(Flux.just(new byte[1024], new byte[2048], new byte[512])))
+                .done())
+            .flatMap(response -> response.receive().then())
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+
+        RecordedRequest request = this.mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request.getHeader("Content-Length")).isNull();
+        assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+        assertThat(request.getBodySize()).isGreaterThan(3584);
+
+        assertThat(progress).containsExactly(1024L, 3072L, 3584L);
+    }
+
+    @Test
+    public void sendStreamShorterThanLength() {
+        this.mockWebServer.enqueue(new MockResponse());
+
+        HttpClient.create()
+            .post(this.mockWebServer.url("/").toString(), request -> new MultipartHttpClientRequest(new ObjectMapper(), request)
+                .addPart(part -> part.setContentDispositionFormData("bits", "test-file.zip")
+                    .sendStream(Flux.just(new byte[1024], new byte[512]), 2048))
+                .done())
+            .flatMap(response -> response.receive().then())
+            .as(StepVerifier::create)
+            .expectError()
+            .verify(Duration.ofSeconds(10));
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        this.level = this.logger.getLevel();
+        this.logger.setLevel(Level.DEBUG);
+        this.logger.addAppender(this.appender);
+        this.appender.start();
+
+        this.mockWebServer.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.mockWebServer.shutdown();
+
+        this.appender.stop();
+        this.logger.detachAppender(this.appender);
+        this.logger.setLevel(this.level);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class RequestCoalescerTest {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final Object principal = new Object();
+
+    private final RequestCoalescer requestCoalescer = RequestCoalescer.create();
+
+    @Test
+    public void concurrent() {
+        Mono<Integer> request = coalesce(new RequestKey(this.principal, "https://api.test/v2/stacks", Collections.emptyMap(), Integer.class));
+
+        Mono.zip(request, request)
+            .as(StepVerifier::create)
+            .assertNext(tuple -> assertThat(tuple.getT1()).isEqualTo(1).isEqualTo(tuple.getT2()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.count).hasValue(1);
+        assertThat(this.requestCoalescer.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void differentHeaders() {
+        Mono.zip(coalesce(new RequestKey(this.principal, "https://api.test/identity-providers", Collections.singletonMap("X-Identity-Zone-Id", "test-zone-1"), Integer.class)),
+            coalesce(new RequestKey(this.principal, "https://api.test/identity-providers", Collections.singletonMap("X-Identity-Zone-Id", "test-zone-2"), Integer.class)))
+            .as(StepVerifier::create)
+            .assertNext(tuple -> assertThat(tuple.getT1()).isNotEqualTo(tuple.getT2()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.count).hasValue(2);
+    }
+
+    @Test
+    public void differentPrincipals() {
+        Mono.zip(coalesce(new RequestKey(this.principal, "https://api.test/v2/stacks", Collections.emptyMap(), Integer.class)),
+            coalesce(new RequestKey(new Object(), "https://api.test/v2/stacks", Collections.emptyMap(), Integer.class)))
+            .as(StepVerifier::create)
+            .assertNext(tuple -> assertThat(tuple.getT1()).isNotEqualTo(tuple.getT2()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.count).hasValue(2);
+    }
+
+    @Test
+    public void sequential() {
+        coalesce(new RequestKey(this.principal, "https://api.test/v2/stacks", Collections.emptyMap(), Integer.class))
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext(1, 2)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private Mono<Integer> coalesce(RequestKey key) {
+        return this.requestCoalescer.coalesce(key, () -> Mono.fromCallable(this.count::incrementAndGet)
+            .delayElement(Duration.ofMillis(100)));
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.cloudfoundry.reactor.RequestMetrics;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.http.client.HttpClientResponse;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class RequestObserverTest {
+
+    @Test
+    public void route() {
+        assertThat(RequestObserver.route("GET", "https://api.example.org/v2/apps/1cb006ee-fb05-47e1-b541-c34179ddc446/routes?page=2"))
+            .isEqualTo("GET /v2/apps/{id}/routes");
+    }
+
+    @Test
+    public void routeDigest() {
+        assertThat(RequestObserver.route("GET", "https://api.example.org/v3/packages/test-package-id/droplets/7b502c3a1f48c8609ae212cdfb639dee39673f5e"))
+            .isEqualTo("GET /v3/packages/test-package-id/droplets/{id}");
+    }
+
+    @Test
+    public void routeName() {
+        assertThat(RequestObserver.route("GET", "https://uaa.example.org/oauth/clients/test-client-1/meta"))
+            .isEqualTo("GET /oauth/clients/{id}/meta");
+    }
+
+    @Test
+    public void routeNumeric() {
+        assertThat(RequestObserver.route("DELETE", "https://api.example.org/v2/apps/test-application-id/instances/2"))
+            .isEqualTo("DELETE /v2/apps/test-application-id/instances/{id}");
+    }
+
+    @Test
+    public void routeRelative() {
+        assertThat(RequestObserver.route("GET", "/v3/apps?names=test-name"))
+            .isEqualTo("GET /v3/apps");
+    }
+
+    @Test
+    public void repeats() {
+        RequestMetrics requestMetrics = mock(RequestMetrics.class);
+        RequestObserver observer = RequestObserver.create(requestMetrics, "GET", "https://api.example.org/v2/info");
+        HttpClientResponse response = okResponse();
+
+        Mono<HttpClientResponse> exchange = Mono.just(response)
+            .transform(observer.response())
+            .transform(RequestObserver.retries());
+
+        exchange
+            .repeat(2)
+            .as(StepVerifier::create)
+            .expectNextCount(3)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        verify(requestMetrics, times(3)).onResponse(eq("GET /v2/info"), eq(200), eq(-1L), eq(-1L), any(Duration.class));
+        verify(requestMetrics, never()).onRetry("GET /v2/info");
+    }
+
+    @Test
+    public void retries() {
+        RequestMetrics requestMetrics = mock(RequestMetrics.class);
+        RequestObserver observer = RequestObserver.create(requestMetrics, "GET", "https://api.example.org/v2/info");
+        HttpClientResponse response = okResponse();
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<HttpClientResponse> exchange = Mono
+            .defer(() -> attempts.getAndIncrement() == 0 ? Mono.<HttpClientResponse>error(new IllegalStateException("test-error")) : Mono.just(response))
+            .transform(observer.response())
+            .transform(RequestObserver.retries());
+
+        exchange
+            .retry(1)
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNextCount(2)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        verify(requestMetrics).onError(eq("GET /v2/info"), any(IllegalStateException.class), any(Duration.class));
+        verify(requestMetrics, times(2)).onResponse(eq("GET /v2/info"), eq(200), eq(-1L), eq(-1L), any(Duration.class));
+        verify(requestMetrics, times(1)).onRetry("GET /v2/info");
+    }
+
+    private static HttpClientResponse okResponse() {
+        HttpClientResponse response = mock(HttpClientResponse.class, RETURNS_SMART_NULLS);
+        when(response.status()).thenReturn(HttpResponseStatus.OK);
+        when(response.responseHeaders()).thenReturn(new DefaultHttpHeaders());
+        return response;
+    }
+
+}
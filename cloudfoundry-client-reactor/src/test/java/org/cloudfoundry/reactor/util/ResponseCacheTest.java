@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ResponseCacheTest {
+
+    private final Object principal = new Object();
+
+    @Test
+    public void cached() {
+        ResponseCache responseCache = ResponseCache.create(Collections.singletonMap("/v2/stacks", Duration.ofMinutes(1)));
+        AtomicInteger count = new AtomicInteger();
+
+        get(responseCache, "https://api.test/v2/stacks?page=1", eTag -> Mono.just(ResponseCache.Response.of(String.valueOf(count.incrementAndGet()), null)))
+            .repeat(2)
+            .as(StepVerifier::create)
+            .expectNext("1", "1", "1")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    public void coalesced() {
+        ResponseCache responseCache = ResponseCache.create(Collections.singletonMap("/v2/stacks", Duration.ofMinutes(1)));
+        AtomicInteger count = new AtomicInteger();
+
+        Mono<String> response = get(responseCache, "https://api.test/v2/stacks", eTag -> Mono.fromCallable(() -> ResponseCache.Response.of(String.valueOf(count.incrementAndGet()), null))
+            .delayElement(Duration.ofMillis(100)));
+
+        Mono.zip(response, response)
+            .as(StepVerifier::create)
+            .assertNext(tuple -> assertThat(tuple.getT1()).isEqualTo(tuple.getT2()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    public void differentHeaders() {
+        ResponseCache responseCache = ResponseCache.create(Collections.singletonMap("/identity-providers", Duration.ofMinutes(1)));
+        AtomicInteger count = new AtomicInteger();
+        Function<String, Mono<ResponseCache.Response>> exchange = eTag -> Mono.just(ResponseCache.Response.of(String.valueOf(count.incrementAndGet()), null));
+
+        get(responseCache, "https://uaa.test/identity-providers", Collections.singletonMap("X-Identity-Zone-Id", "test-identity-zone-1"), exchange)
+            .concatWith(get(responseCache, "https://uaa.test/identity-providers", Collections.singletonMap("X-Identity-Zone-Id", "test-identity-zone-2"), exchange))
+            .concatWith(get(responseCache, "https://uaa.test/identity-providers", Collections.singletonMap("X-Identity-Zone-Id", "test-identity-zone-1"), exchange))
+            .as(StepVerifier::create)
+            .expectNext("1", "2", "1")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(responseCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void evicted() {
+        ResponseCache responseCache = ResponseCache.create(Collections.singletonMap("/v2/stacks", Duration.ofMinutes(1)), 1);
+
+        get(responseCache, "https://api.test/v2/stacks/test-stack-id-1", eTag -> Mono.just(ResponseCache.Response.of("test-value-1", null)))
+            .then(get(responseCache, "https://api.test/v2/stacks/test-stack-id-2", eTag -> Mono.just(ResponseCache.Response.of("test-value-2", null))))
+            .as(StepVerifier::create)
+            .expectNext("test-value-2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(responseCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void getTtl() {
+        assertThat(ResponseCache.getTtl(ResponseCache.DEFAULT_TTLS, "https://api.test/v2/stacks")).hasValue(Duration.ofMinutes(5));
+        assertThat(ResponseCache.getTtl(ResponseCache.DEFAULT_TTLS, "https://api.test/v2/stacks/test-stack-id?inline-relations-depth=1")).hasValue(Duration.ofMinutes(5));
+        assertThat(ResponseCache.getTtl(ResponseCache.DEFAULT_TTLS, "https://api.test/v2/stacksx")).isEmpty();
+        assertThat(ResponseCache.getTtl(ResponseCache.DEFAULT_TTLS, "https://api.test/v2/apps")).isEmpty();
+    }
+
+    @Test
+    public void notCached() {
+        ResponseCache responseCache = ResponseCache.create(Collections.singletonMap("/v2/stacks", Duration.ofMinutes(1)));
+        AtomicInteger count = new AtomicInteger();
+
+        get(responseCache, "https://api.test/v2/apps", eTag -> Mono.just(ResponseCache.Response.of(String.valueOf(count.incrementAndGet()), null)))
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext("1", "2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(responseCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void revalidated() {
+        ResponseCache responseCache = ResponseCache.create(Collections.singletonMap("/v2/stacks", Duration.ZERO));
+        List<String> eTags = new ArrayList<>();
+
+        get(responseCache, "https://api.test/v2/stacks", eTag -> {
+            eTags.add(String.valueOf(eTag));
+            return Mono.just(eTag == null ? ResponseCache.Response.of("test-value", "test-etag") : ResponseCache.Response.notModified());
+        })
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext("test-value", "test-value")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(eTags).containsExactly("null", "test-etag");
+    }
+
+    private Mono<String> get(ResponseCache responseCache, String uri, Function<String, Mono<ResponseCache.Response>> exchange) {
+        return get(responseCache, uri, Collections.emptyMap(), exchange);
+    }
+
+    private Mono<String> get(ResponseCache responseCache, String uri, Map<String, String> headers, Function<String, Mono<ResponseCache.Response>> exchange) {
+        return responseCache.get(this.principal, uri, headers, String.class, exchange);
+    }
+
+}
@@ -35,6 +35,18 @@ public abstract class AbstractCloudFoundryException extends RuntimeException {
         this.statusCode = statusCode;
     }
 
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode the status code
+     * @param message    the message of the error
+     * @param cause      the cause of the error
+     */
+    protected AbstractCloudFoundryException(Integer statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
     /**
      * Returns the status code of the error
      */
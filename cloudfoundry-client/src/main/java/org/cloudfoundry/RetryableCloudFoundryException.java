@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry;
+
+import java.time.Duration;
+
+/**
+ * An exception representing a Cloud Foundry error that can be retried after a delay, such as a {@code 429 Too Many Requests} or {@code 503 Service Unavailable} response with a {@code
+ * Retry-After} header.
+ */
+public final class RetryableCloudFoundryException extends AbstractCloudFoundryException {
+
+    private static final long serialVersionUID = -4386511218315476209L;
+
+    private final String payload;
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode the status code
+     * @param retryAfter the delay after which the request can be retried
+     * @param payload    the payload of the error
+     */
+    public RetryableCloudFoundryException(Integer statusCode, Duration retryAfter, String payload) {
+        this(statusCode, retryAfter, payload, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode the status code
+     * @param retryAfter the delay after which the request can be retried
+     * @param payload    the payload of the error
+     * @param cause      the typed exception, such as a {@code ClientV2Exception}, that the payload describes
+     */
+    public RetryableCloudFoundryException(Integer statusCode, Duration retryAfter, String payload, Throwable cause) {
+        super(statusCode, String.format("Retryable Cloud Foundry Exception (retry after %s)", retryAfter), cause);
+        this.payload = payload;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the payload of the error
+     */
+    public String getPayload() {
+        return this.payload;
+    }
+
+    /**
+     * Returns the delay after which the request can be retried
+     */
+    public Duration getRetryAfter() {
+        return this.retryAfter;
+    }
+
+}
@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 /**
  * Request payload for the Upload Application operation.
@@ -49,10 +50,26 @@ abstract class _UploadApplicationRequest {
     @QueryParameter("async")
     abstract Boolean getAsync();
 
+    /**
+     * A callback receiving the number of bytes of the application bits uploaded so far
+     */
+    @JsonIgnore
+    @Nullable
+    @Value.Auxiliary
+    abstract LongConsumer getProgress();
+
     /**
      * Fingerprints of the application bits that have previously been pushed to Cloud Foundry
      */
     @JsonIgnore
     abstract List<Resource> getResources();
 
+    /**
+     * If true and the application is a directory, it is zipped while it is uploaded instead of into a temporary file first.  Its entries are stored rather than deflated, so that the length of the
+     * upload is known in advance, which makes the upload larger for compressible content.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract Boolean getStreaming();
+
 }
@@ -18,9 +18,11 @@ package org.cloudfoundry.client.v2.buildpacks;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 
 /**
  * The request payload to Upload a Buildpack
@@ -46,4 +48,20 @@ abstract class _UploadBuildpackRequest {
     @JsonIgnore
     abstract String getFilename();
 
+    /**
+     * A callback receiving the number of bytes of the buildpack bits uploaded so far
+     */
+    @JsonIgnore
+    @Nullable
+    @Value.Auxiliary
+    abstract LongConsumer getProgress();
+
+    /**
+     * If true and the buildpack is a directory, it is zipped while it is uploaded instead of into a temporary file first.  Its entries are stored rather than deflated, so that the length of the
+     * upload is known in advance, which makes the upload larger for compressible content.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract Boolean getStreaming();
+
 }
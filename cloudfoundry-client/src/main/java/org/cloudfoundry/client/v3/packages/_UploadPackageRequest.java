@@ -17,9 +17,11 @@
 package org.cloudfoundry.client.v3.packages;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 
 /**
  * The request payload for the Upload Package operation
@@ -39,4 +41,20 @@ abstract class _UploadPackageRequest {
     @JsonIgnore
     abstract String getPackageId();
 
+    /**
+     * A callback receiving the number of bytes of the bits uploaded so far
+     */
+    @JsonIgnore
+    @Nullable
+    @Value.Auxiliary
+    abstract LongConsumer getProgress();
+
+    /**
+     * If true and the bits are a directory, they are zipped while they are uploaded instead of into a temporary file first.  Their entries are stored rather than deflated, so that the length of
+     * the upload is known in advance, which makes the upload larger for compressible content.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract Boolean getStreaming();
+
 }
@@ -17,14 +17,24 @@
 package org.cloudfoundry.doppler;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
+import java.util.List;
+
 /**
  * The request payload for the Firehose endpoint
  */
 @Value.Immutable
 abstract class _FirehoseRequest {
 
+    /**
+     * The event types to receive.  Envelopes of other types are discarded before they are decoded.  If not set, all event types are received.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract List<EventType> getEventTypes();
+
     /**
      * The subscription id
      */
@@ -17,8 +17,11 @@
 package org.cloudfoundry.doppler;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
+import java.util.List;
+
 /**
  * The request payload for the Stream endpoint
  */
@@ -31,4 +34,11 @@ abstract class _StreamRequest {
     @JsonIgnore
     abstract String getApplicationId();
 
+    /**
+     * The event types to receive.  Envelopes of other types are discarded before they are decoded.  If not set, all event types are received.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract List<EventType> getEventTypes();
+
 }
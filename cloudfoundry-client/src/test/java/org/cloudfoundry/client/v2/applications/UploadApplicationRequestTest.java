@@ -21,6 +21,8 @@ import org.junit.Test;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public final class UploadApplicationRequestTest {
 
     private static final Path TEST_APPLICATION = Paths.get("/");
@@ -39,6 +41,23 @@ public final class UploadApplicationRequestTest {
             .build();
     }
 
+    @Test
+    public void progressAuxiliary() {
+        UploadApplicationRequest request = UploadApplicationRequest.builder()
+            .application(TEST_APPLICATION)
+            .applicationId("test-application-id")
+            .build();
+
+        assertThat(UploadApplicationRequest.builder()
+            .application(TEST_APPLICATION)
+            .applicationId("test-application-id")
+            .progress(bytes -> {
+            })
+            .build())
+            .isEqualTo(request)
+            .hasSameHashCodeAs(request);
+    }
+
     @Test
     public void valid() {
         UploadApplicationRequest.builder()
@@ -52,9 +52,11 @@ import org.cloudfoundry.operations.stacks.DefaultStacks;
 import org.cloudfoundry.operations.stacks.Stacks;
 import org.cloudfoundry.operations.useradmin.DefaultUserAdmin;
 import org.cloudfoundry.operations.useradmin.UserAdmin;
+import org.cloudfoundry.operations.util.NameCache;
 import org.cloudfoundry.routing.RoutingClient;
 import org.cloudfoundry.uaa.UaaClient;
 import org.cloudfoundry.util.ExceptionUtils;
+import org.cloudfoundry.util.HashCache;
 import org.cloudfoundry.util.PaginationUtils;
 import org.cloudfoundry.util.ResourceUtils;
 import org.immutables.value.Value;
@@ -80,7 +82,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Applications applications() {
-        return new DefaultApplications(getCloudFoundryClientPublisher(), getDopplerClientPublisher(), getSpaceId());
+        return new DefaultApplications(getCloudFoundryClientPublisher(), getDopplerClientPublisher(), getSpaceId(), getNameCacheOrDisabled(), getHashCache().orElse(null));
     }
 
     @Override
@@ -116,7 +118,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Routes routes() {
-        return new DefaultRoutes(getCloudFoundryClientPublisher(), getOrganizationId(), getSpaceId());
+        return new DefaultRoutes(getCloudFoundryClientPublisher(), getOrganizationId(), getSpaceId(), getNameCacheOrDisabled());
     }
 
     @Override
@@ -128,7 +130,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Services services() {
-        return new DefaultServices(getCloudFoundryClientPublisher(), getOrganizationId(), getSpaceId());
+        return new DefaultServices(getCloudFoundryClientPublisher(), getOrganizationId(), getSpaceId(), getNameCacheOrDisabled());
     }
 
     @Override
@@ -186,6 +188,22 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
             .orElse(Mono.error(new IllegalStateException("DopplerClient must be set")));
     }
 
+    /**
+     * The cache of file hashes reused when matching application resources during a push.  When not set, every file is hashed on each push.
+     */
+    abstract Optional<HashCache> getHashCache();
+
+    /**
+     * The cache used to resolve application, domain, service instance, and stack names to ids.  When not set, names are resolved on every operation.
+     */
+    abstract Optional<NameCache> getNameCache();
+
+    @Value.Derived
+    NameCache getNameCacheOrDisabled() {
+        return getNameCache()
+            .orElse(NameCache.disabled());
+    }
+
     /**
      * The {@link NetworkingClient} to use for operations functionality
      */
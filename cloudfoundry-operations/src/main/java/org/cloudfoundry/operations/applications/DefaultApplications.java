@@ -94,20 +94,24 @@ import org.cloudfoundry.doppler.EventType;
 import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
+import org.cloudfoundry.operations.util.NameCache;
 import org.cloudfoundry.operations.util.OperationsLogging;
 import org.cloudfoundry.util.DateUtils;
 import org.cloudfoundry.util.DelayTimeoutException;
 import org.cloudfoundry.util.ExceptionUtils;
 import org.cloudfoundry.util.FileUtils;
 import org.cloudfoundry.util.FluentMap;
+import org.cloudfoundry.util.HashCache;
 import org.cloudfoundry.util.JobUtils;
 import org.cloudfoundry.util.PaginationUtils;
 import org.cloudfoundry.util.ResourceMatchingUtils;
 import org.cloudfoundry.util.ResourceUtils;
 import org.cloudfoundry.util.SortingUtils;
+import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuple4;
 import reactor.util.function.Tuples;
@@ -123,13 +127,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import static org.cloudfoundry.util.DelayUtils.exponentialBackOff;
+import static org.cloudfoundry.util.DelayUtils.signalledBackOff;
 import static org.cloudfoundry.util.tuple.TupleUtils.function;
 import static org.cloudfoundry.util.tuple.TupleUtils.predicate;
 
@@ -153,31 +161,59 @@ public final class DefaultApplications implements Applications {
 
     private static final String[] ENTRY_FIELDS_NORMAL = {"instances", "memory", "state", "environment_json"};
 
+    private static final Pattern INSTANCE_STATE_CHANGED = Pattern.compile("Container became healthy|Container became unhealthy|Exit status|Process has crashed");
+
     private static final Comparator<LogMessage> LOG_MESSAGE_COMPARATOR = Comparator.comparing(LogMessage::getTimestamp);
 
     private static final Duration LOG_MESSAGE_TIMESPAN = Duration.ofMillis(500);
 
     private static final int MAX_NUMBER_OF_RECENT_EVENTS = 50;
 
+    private static final Duration POLL_MINIMUM = Duration.ofSeconds(1);
+
+    private static final Pattern STAGING_COMPLETE = Pattern.compile("Uploading complete|Staging complete|Staging failed|Exit status");
+
+    private static final Duration STAGING_POLL_MAXIMUM = Duration.ofSeconds(15);
+
     private static final String STARTED_STATE = "STARTED";
 
+    private static final Duration STARTUP_POLL_MAXIMUM = Duration.ofSeconds(5);
+
     private static final String STOPPED_STATE = "STOPPED";
 
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
     private final Mono<DopplerClient> dopplerClient;
 
+    private final HashCache hashCache;
+
+    private final NameCache nameCache;
+
     private final RandomWords randomWords;
 
     private final Mono<String> spaceId;
 
     public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, Mono<String> spaceId) {
-        this(cloudFoundryClient, dopplerClient, new WordListRandomWords(), spaceId);
+        this(cloudFoundryClient, dopplerClient, spaceId, NameCache.disabled());
+    }
+
+    public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, Mono<String> spaceId, NameCache nameCache) {
+        this(cloudFoundryClient, dopplerClient, spaceId, nameCache, null);
+    }
+
+    public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, Mono<String> spaceId, NameCache nameCache, HashCache hashCache) {
+        this(cloudFoundryClient, dopplerClient, hashCache, nameCache, new WordListRandomWords(), spaceId);
     }
 
     DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, RandomWords randomWords, Mono<String> spaceId) {
+        this(cloudFoundryClient, dopplerClient, null, NameCache.disabled(), randomWords, spaceId);
+    }
+
+    DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, HashCache hashCache, NameCache nameCache, RandomWords randomWords, Mono<String> spaceId) {
         this.cloudFoundryClient = cloudFoundryClient;
         this.dopplerClient = dopplerClient;
+        this.hashCache = hashCache;
+        this.nameCache = nameCache;
         this.randomWords = randomWords;
         this.spaceId = spaceId;
     }
@@ -188,14 +224,14 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId),
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId),
                 getApplicationIdFromOrgSpace(cloudFoundryClient, request.getTargetName(), spaceId, request.getTargetOrganization(), request.getTargetSpace())
             )))
             .flatMap(function((cloudFoundryClient, sourceApplicationId, targetApplicationId) -> copyBits(cloudFoundryClient, request.getStagingTimeout(), sourceApplicationId, targetApplicationId)
                 .thenReturn(Tuples.of(cloudFoundryClient, targetApplicationId))))
             .filter(predicate((cloudFoundryClient, targetApplicationId) -> Optional.ofNullable(request.getRestart()).orElse(false)))
-            .flatMap(function((cloudFoundryClient, targetApplicationId) -> restartApplication(cloudFoundryClient, request.getTargetName(), targetApplicationId, request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, targetApplicationId) -> restartApplication(cloudFoundryClient, this.dopplerClient, request.getTargetName(), targetApplicationId,
+                request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Copy Application Source"))
             .checkpoint();
     }
@@ -204,12 +240,12 @@ public final class DefaultApplications implements Applications {
     public Mono<Void> delete(DeleteApplicationRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> getRoutesAndApplicationId(cloudFoundryClient, request, spaceId, Optional.ofNullable(request.getDeleteRoutes()).orElse(false))
-                .map(function((routes, applicationId) -> Tuples.of(cloudFoundryClient, routes, applicationId)))))
-            .flatMap(function((cloudFoundryClient, routes, applicationId) -> deleteRoutes(cloudFoundryClient, request.getCompletionTimeout(), routes)
-                .thenReturn(Tuples.of(cloudFoundryClient, applicationId))))
-            .delayUntil(function(DefaultApplications::removeServiceBindings))
-            .flatMap(function(DefaultApplications::requestDeleteApplication))
+            .flatMap(function((cloudFoundryClient, spaceId) -> this.nameCache.invalidating(NameCache.Type.APPLICATION, spaceId, request.getName(),
+                getRoutesAndApplicationId(cloudFoundryClient, request, spaceId, Optional.ofNullable(request.getDeleteRoutes()).orElse(false))
+                    .flatMap(function((routes, applicationId) -> deleteRoutes(cloudFoundryClient, request.getCompletionTimeout(), routes)
+                        .thenReturn(Tuples.of(cloudFoundryClient, applicationId))))
+                    .delayUntil(function(DefaultApplications::removeServiceBindings))
+                    .flatMap(function(DefaultApplications::requestDeleteApplication)))))
             .transform(OperationsLogging.log("Delete Application"))
             .checkpoint();
     }
@@ -262,7 +298,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
@@ -283,7 +319,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
             .flatMap(function(DefaultApplications::requestApplicationEnvironment))
             .map(DefaultApplications::toApplicationEnvironments)
@@ -297,7 +333,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
             .flatMapMany(function((cloudFoundryClient, applicationId) -> requestEvents(applicationId, cloudFoundryClient)
                 .take(Optional.ofNullable(request.getMaxNumberOfEvents()).orElse(MAX_NUMBER_OF_RECENT_EVENTS))))
@@ -345,7 +381,7 @@ public final class DefaultApplications implements Applications {
     public Flux<LogMessage> logs(LogsRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> getApplicationId(cloudFoundryClient, request.getName(), spaceId)))
+            .flatMap(function((cloudFoundryClient, spaceId) -> getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)))
             .flatMapMany(applicationId -> getLogs(this.dopplerClient, applicationId, request.getRecent()))
             .transform(OperationsLogging.log("Get Application Logs"))
             .checkpoint();
@@ -406,16 +442,21 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 listAvailableDomains(cloudFoundryClient, organizationId),
                 Mono.just(spaceId))))
-            .flatMapMany(function((cloudFoundryClient, availableDomains, spaceId) -> Flux.fromIterable(request.getManifests())
-                .flatMap(manifest -> {
-                    if (manifest.getPath() != null) {
-                        return pushApplication(cloudFoundryClient, availableDomains, manifest, this.randomWords, request, spaceId);
-                    } else if (!manifest.getDocker().getImage().isEmpty()) {
-                        return pushDocker(cloudFoundryClient, availableDomains, manifest, this.randomWords, request, spaceId);
-                    } else {
-                        throw new IllegalStateException("One of application or dockerImage must be supplied");
-                    }
-                })))
+            .flatMapMany(function((cloudFoundryClient, availableDomains, spaceId) -> {
+                Map<String, Mono<String>> serviceIds = getServiceIds(cloudFoundryClient, request.getManifests(), spaceId);
+                Map<String, Mono<String>> stackIds = getStackIds(cloudFoundryClient, this.nameCache, request.getManifests());
+
+                return Flux.fromIterable(request.getManifests())
+                    .flatMapDelayError(manifest -> {
+                        if (manifest.getPath() != null) {
+                            return pushApplication(cloudFoundryClient, this.dopplerClient, this.hashCache, availableDomains, stackIds, serviceIds, manifest, this.randomWords, request, spaceId);
+                        } else if (!manifest.getDocker().getImage().isEmpty()) {
+                            return pushDocker(cloudFoundryClient, this.dopplerClient, availableDomains, stackIds, serviceIds, manifest, this.randomWords, request, spaceId);
+                        } else {
+                            return Flux.error(new IllegalStateException("One of application or dockerImage must be supplied"));
+                        }
+                    }, request.getMaxConcurrency(), Queues.XS_BUFFER_SIZE);
+            }))
             .then()
             .transform(OperationsLogging.log("Push Manifest"))
             .checkpoint();
@@ -425,11 +466,9 @@ public final class DefaultApplications implements Applications {
     public Mono<Void> rename(RenameApplicationRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
-            )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> requestUpdateApplicationName(cloudFoundryClient, applicationId, request.getNewName())))
+            .flatMap(function((cloudFoundryClient, spaceId) -> this.nameCache.invalidating(NameCache.Type.APPLICATION, spaceId, request.getName(),
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
+                    .flatMap(applicationId -> requestUpdateApplicationName(cloudFoundryClient, applicationId, request.getNewName())))))
             .then()
             .transform(OperationsLogging.log("Rename Application"))
             .checkpoint();
@@ -441,10 +480,10 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> restageApplication(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(), request.getStartupTimeout
-                ())))
+            .flatMap(function((cloudFoundryClient, applicationId) -> restageApplication(cloudFoundryClient, this.dopplerClient, request.getName(), applicationId,
+                request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Restage Application"))
             .checkpoint();
     }
@@ -461,8 +500,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 stopApplicationIfNotStopped(cloudFoundryClient, resource)
             )))
-            .flatMap(function((cloudFoundryClient, stoppedApplication) -> startApplicationAndWait(cloudFoundryClient, request.getName(), ResourceUtils.getId(stoppedApplication),
-                request.getStagingTimeout(), request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, stoppedApplication) -> startApplicationAndWait(cloudFoundryClient, this.dopplerClient, request.getName(),
+                ResourceUtils.getId(stoppedApplication), request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Restart Application"))
             .checkpoint();
     }
@@ -473,7 +512,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> requestTerminateApplicationInstance(cloudFoundryClient, applicationId, String.valueOf(request.getInstanceIndex()))))
             .transform(OperationsLogging.log("Restart Application Instance"))
@@ -501,15 +540,15 @@ public final class DefaultApplications implements Applications {
             .filter(predicate((cloudFoundryClient, spaceId) -> areModifiersPresent(request)))
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 requestUpdateApplicationScale(cloudFoundryClient, applicationId, request.getDiskLimit(), request.getInstances(), request.getMemoryLimit())
             )))
             .filter(predicate((cloudFoundryClient, resource) -> isRestartRequired(request, resource)))
-            .flatMap(function((cloudFoundryClient, resource) -> restartApplication(cloudFoundryClient, request.getName(), ResourceUtils.getId(resource), request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, resource) -> restartApplication(cloudFoundryClient, this.dopplerClient, request.getName(), ResourceUtils.getId(resource),
+                request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Scale Application"))
             .checkpoint();
     }
@@ -535,7 +574,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> requestUpdateApplicationHealthCheckType(cloudFoundryClient, applicationId, request.getType())))
             .then()
@@ -561,8 +600,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 getApplicationIdWhere(cloudFoundryClient, request.getName(), spaceId, isNotIn(STARTED_STATE))
             )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, this.dopplerClient, request.getName(), applicationId,
+                request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Start Application"))
             .checkpoint();
     }
@@ -633,16 +672,17 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
-    private static Mono<Void> bindServices(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest, String spaceId) {
+    private static Mono<Void> bindServices(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest, Map<String, String> serviceIds) {
         if (manifest.getServices() == null || manifest.getServices().size() == 0) {
             return Mono.empty();
         }
 
         return Flux.fromIterable(manifest.getServices())
-            .flatMap(serviceInstanceName -> getServiceId(cloudFoundryClient, serviceInstanceName, spaceId))
+            .map(serviceIds::get)
             .flatMap(serviceInstanceId -> requestCreateServiceBinding(cloudFoundryClient, applicationId, serviceInstanceId)
                 .onErrorResume(ExceptionUtils.statusCode(CF_SERVICE_ALREADY_BOUND), t -> Mono.empty()))
-            .then();
+            .then()
+            .transform(OperationsLogging.log(String.format("Bind Services (%s)", manifest.getName())));
     }
 
     private static BiFunction<String, String, String> collectStates() {
@@ -759,6 +799,10 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, NameCache nameCache, String application, String spaceId) {
+        return nameCache.get(NameCache.Type.APPLICATION, spaceId, application, getApplicationId(cloudFoundryClient, application, spaceId));
+    }
+
     private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, ApplicationManifest manifest, String spaceId, String stackId) {
         return requestApplications(cloudFoundryClient, manifest.getName(), spaceId)
             .singleOrEmpty()
@@ -879,6 +923,13 @@ public final class DefaultApplications implements Applications {
         }
     }
 
+    private static Mono<Map<String, String>> getManifestServiceIds(Map<String, Mono<String>> serviceIds, ApplicationManifest manifest) {
+        return Flux.fromIterable(Optional.ofNullable(manifest.getServices()).orElse(Collections.emptyList()))
+            .flatMap(serviceInstanceName -> serviceIds.get(serviceInstanceName)
+                .map(serviceInstanceId -> Tuples.of(serviceInstanceName, serviceInstanceId)))
+            .collectMap(Tuple2::getT1, Tuple2::getT2);
+    }
+
     @SuppressWarnings("unchecked")
     private static Map<String, Object> getMetadataRequest(EventEntity entity) {
         Map<String, Optional<Object>> metadata = Optional
@@ -906,11 +957,13 @@ public final class DefaultApplications implements Applications {
         }
     }
 
-    private static Mono<Optional<String>> getOptionalStackId(CloudFoundryClient cloudFoundryClient, String stack) {
-        return Optional.ofNullable(stack)
-            .map(stack1 -> getStackId(cloudFoundryClient, stack1)
-                .map(Optional::of))
-            .orElse(Mono.just(Optional.empty()));
+    private static Mono<Optional<String>> getOptionalStackId(Map<String, Mono<String>> stackIds, ApplicationManifest manifest) {
+        if (manifest.getStack() != null) {
+            return stackIds.get(manifest.getStack())
+                .map(Optional::of);
+        } else {
+            return Mono.just(Optional.empty());
+        }
     }
 
     private static Mono<OrganizationResource> getOrganization(CloudFoundryClient cloudFoundryClient, String organization) {
@@ -1020,6 +1073,18 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
+    /**
+     * Returns a lookup for each distinct service instance named by the manifests.  Each lookup runs at most once, when the first application that binds it subscribes, so a missing service instance
+     * only fails the applications that bind it.
+     */
+    private static Map<String, Mono<String>> getServiceIds(CloudFoundryClient cloudFoundryClient, List<ApplicationManifest> manifests, String spaceId) {
+        return manifests.stream()
+            .filter(manifest -> manifest.getServices() != null)
+            .flatMap(manifest -> manifest.getServices().stream())
+            .distinct()
+            .collect(Collectors.toMap(serviceInstanceName -> serviceInstanceName, serviceInstanceName -> getServiceId(cloudFoundryClient, serviceInstanceName, spaceId).cache()));
+    }
+
     private static Mono<String> getSpaceOrganizationId(CloudFoundryClient cloudFoundryClient, String spaceId) {
         return requestSpace(cloudFoundryClient, spaceId)
             .map(response -> ResourceUtils.getEntity(response).getOrganizationId());
@@ -1032,6 +1097,18 @@ public final class DefaultApplications implements Applications {
             .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Stack %s does not exist", stack));
     }
 
+    /**
+     * Returns a lookup for each distinct stack named by the manifests.  Like {@link #getServiceIds(CloudFoundryClient, List, String)}, each lookup runs at most once, so a missing stack only fails
+     * the applications that use it.
+     */
+    private static Map<String, Mono<String>> getStackIds(CloudFoundryClient cloudFoundryClient, NameCache nameCache, List<ApplicationManifest> manifests) {
+        return manifests.stream()
+            .map(ApplicationManifest::getStack)
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toMap(stack -> stack, stack -> nameCache.get(NameCache.Type.STACK, null, stack, getStackId(cloudFoundryClient, stack)).cache()));
+    }
+
     private static Mono<String> getStackName(CloudFoundryClient cloudFoundryClient, String stackId) {
         return requestStack(cloudFoundryClient, stackId)
             .map(getStackResponse -> getStackResponse.getEntity().getName());
@@ -1083,6 +1160,18 @@ public final class DefaultApplications implements Applications {
         return state -> "STAGED".equals(state) || "FAILED".equals(state);
     }
 
+    private static Predicate<Envelope> isStagingSignal() {
+        return envelope -> EventType.LOG_MESSAGE == envelope.getEventType()
+            && "STG".equals(envelope.getLogMessage().getSourceType())
+            && STAGING_COMPLETE.matcher(envelope.getLogMessage().getMessage()).find();
+    }
+
+    private static Predicate<Envelope> isStartupSignal() {
+        return envelope -> EventType.LOG_MESSAGE == envelope.getEventType()
+            && ("API".equals(envelope.getLogMessage().getSourceType()) || "CELL".equals(envelope.getLogMessage().getSourceType()))
+            && INSTANCE_STATE_CHANGED.matcher(envelope.getLogMessage().getMessage()).find();
+    }
+
     private static boolean isTcpDomain(List<DomainSummary> availableDomains, String domainId) {
         List<String> tcpDomainIds = availableDomains.stream()
             .filter(domain -> "tcp".equals(domain.getType()))
@@ -1138,40 +1227,76 @@ public final class DefaultApplications implements Applications {
             .then();
     }
 
-    private static Flux<Void> pushApplication(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
+    private static <T> Function<Mono<T>, Mono<T>> progress(PushApplicationManifestRequest request, String name, PushPhase phase) {
+        return source -> Optional.ofNullable(request.getProgress())
+            .map(progress -> source.doOnSuccess(value -> progress.accept(name, phase)))
+            .orElse(source);
+    }
+
+    private static Flux<Void> pushApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, HashCache hashCache, List<DomainSummary> availableDomains,
+                                              Map<String, Mono<String>> stackIds, Map<String, Mono<String>> serviceIds, ApplicationManifest manifest, RandomWords randomWords,
                                               PushApplicationManifestRequest request, String spaceId) {
 
-        return getOptionalStackId(cloudFoundryClient, manifest.getStack())
-            .flatMapMany(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
-            .flatMap(applicationId -> Mono.zip(
+        return Mono
+            .zip(
+                getManifestServiceIds(serviceIds, manifest),
+                getOptionalStackId(stackIds, manifest)
+            )
+            .flatMap(function((manifestServiceIds, stackId) -> Mono.zip(
+                Mono.just(manifestServiceIds),
+                getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)),
+                Optional.ofNullable(hashCache)
+                    .map(cache -> ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, manifest.getPath(), cache))
+                    .orElseGet(() -> ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, manifest.getPath()))
+                    .transform(OperationsLogging.log(String.format("Match Resources (%s)", manifest.getName())))
+                    .transform(progress(request, manifest.getName(), PushPhase.MATCH_RESOURCES))
+            )))
+            .flatMap(function((manifestServiceIds, applicationId, matchedResources) -> Mono.zip(
+                Mono.just(manifestServiceIds),
                 Mono.just(applicationId),
-                getApplicationRoutes(cloudFoundryClient, applicationId),
-                ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, manifest.getPath())
-            ))
-            .flatMap(function((applicationId, existingRoutes, matchedResources) -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes,
-                randomWords, spaceId)
-                .thenReturn(Tuples.of(applicationId, matchedResources))))
-            .flatMap(function((applicationId, matchedResources) -> Mono.when(
-                uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout()),
-                bindServices(cloudFoundryClient, applicationId, manifest, spaceId)
+                Mono.just(matchedResources),
+                getApplicationRoutes(cloudFoundryClient, applicationId)
+            )))
+            .flatMapMany(function((manifestServiceIds, applicationId, matchedResources, existingRoutes) -> Mono.when(
+                prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes, randomWords, spaceId)
+                    .transform(OperationsLogging.log(String.format("Prepare Routes (%s)", manifest.getName())))
+                    .transform(progress(request, manifest.getName(), PushPhase.PREPARE_ROUTES)),
+                uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout())
+                    .transform(OperationsLogging.log(String.format("Upload Application (%s)", manifest.getName())))
+                    .transform(progress(request, manifest.getName(), PushPhase.UPLOAD)),
+                bindServices(cloudFoundryClient, applicationId, manifest, manifestServiceIds)
+                    .transform(progress(request, manifest.getName(), PushPhase.BIND_SERVICES))
             )
                 .thenReturn(applicationId)))
-            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, applicationId, manifest.getName(), request));
+            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, dopplerClient, applicationId, manifest.getName(), request));
     }
 
-    private static Flux<Void> pushDocker(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
-                                         PushApplicationManifestRequest request, String spaceId) {
+    private static Flux<Void> pushDocker(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, List<DomainSummary> availableDomains, Map<String, Mono<String>> stackIds,
+                                         Map<String, Mono<String>> serviceIds, ApplicationManifest manifest, RandomWords randomWords, PushApplicationManifestRequest request, String spaceId) {
 
-        return getOptionalStackId(cloudFoundryClient, manifest.getStack())
-            .flatMapMany(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
-            .flatMap(applicationId -> Mono.zip(
+        return Mono
+            .zip(
+                getManifestServiceIds(serviceIds, manifest),
+                getOptionalStackId(stackIds, manifest)
+            )
+            .flatMap(function((manifestServiceIds, stackId) -> Mono.zip(
+                Mono.just(manifestServiceIds),
+                getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null))
+            )))
+            .flatMap(function((manifestServiceIds, applicationId) -> Mono.zip(
+                Mono.just(manifestServiceIds),
                 Mono.just(applicationId),
                 getApplicationRoutes(cloudFoundryClient, applicationId)
-            ))
-            .flatMap(function((applicationId, existingRoutes) -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes, randomWords, spaceId)
+            )))
+            .flatMapMany(function((manifestServiceIds, applicationId, existingRoutes) -> Mono.when(
+                prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes, randomWords, spaceId)
+                    .transform(OperationsLogging.log(String.format("Prepare Routes (%s)", manifest.getName())))
+                    .transform(progress(request, manifest.getName(), PushPhase.PREPARE_ROUTES)),
+                bindServices(cloudFoundryClient, applicationId, manifest, manifestServiceIds)
+                    .transform(progress(request, manifest.getName(), PushPhase.BIND_SERVICES))
+            )
                 .thenReturn(applicationId)))
-            .delayUntil(applicationId -> bindServices(cloudFoundryClient, applicationId, manifest, spaceId))
-            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, applicationId, manifest.getName(), request));
+            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, dopplerClient, applicationId, manifest.getName(), request));
     }
 
     private static Map<String, Object> removeFromEnvironment(Map<String, Object> environment, String variableName) {
@@ -1640,31 +1765,35 @@ public final class DefaultApplications implements Applications {
             .upload(request);
     }
 
-    private static Mono<Void> restageApplication(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<Void> restageApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId, Duration stagingTimeout,
+                                                 Duration startupTimeout) {
         return requestRestageApplication(cloudFoundryClient, applicationId)
-            .flatMap(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+            .then(waitForStagingAndRunning(cloudFoundryClient, dopplerClient, application, applicationId, stagingTimeout, startupTimeout));
     }
 
-    private static Mono<Void> restartApplication(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<Void> restartApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId, Duration stagingTimeout,
+                                                 Duration startupTimeout) {
         return stopApplication(cloudFoundryClient, applicationId)
-            .then(startApplicationAndWait(cloudFoundryClient, application, applicationId, stagingTimeout, startupTimeout));
+            .then(startApplicationAndWait(cloudFoundryClient, dopplerClient, application, applicationId, stagingTimeout, startupTimeout));
     }
 
     private static Predicate<AbstractApplicationResource> sshEnabled(Boolean enabled) {
         return resource -> enabled.equals(ResourceUtils.getEntity(resource).getEnableSsh());
     }
 
-    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId, Duration stagingTimeout,
+                                                      Duration startupTimeout) {
         return requestUpdateApplicationState(cloudFoundryClient, applicationId, STARTED_STATE)
-            .flatMap(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+            .then(waitForStagingAndRunning(cloudFoundryClient, dopplerClient, application, applicationId, stagingTimeout, startupTimeout));
     }
 
-    private static Mono<Void> stopAndStartApplication(CloudFoundryClient cloudFoundryClient, String applicationId, String name, PushApplicationManifestRequest request) {
+    private static Mono<Void> stopAndStartApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String applicationId, String name,
+                                                      PushApplicationManifestRequest request) {
         return stopApplication(cloudFoundryClient, applicationId)
             .filter(resource -> !Optional.ofNullable(request.getNoStart()).orElse(false))
-            .flatMap(resource -> startApplicationAndWait(cloudFoundryClient, name, applicationId, request.getStagingTimeout(), request.getStartupTimeout()));
+            .flatMap(resource -> startApplicationAndWait(cloudFoundryClient, dopplerClient, name, applicationId, request.getStagingTimeout(), request.getStartupTimeout())
+                .transform(progress(request, name, PushPhase.START)))
+            .transform(OperationsLogging.log(String.format("Start Application (%s)", name)));
     }
 
     private static Mono<AbstractApplicationResource> stopApplication(CloudFoundryClient cloudFoundryClient, String applicationId) {
@@ -1875,7 +2004,7 @@ public final class DefaultApplications implements Applications {
             .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, stagingTimeout, job));
     }
 
-    private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration startupTimeout) {
+    private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, Flux<Envelope> envelopes, String application, String applicationId, Duration startupTimeout) {
         Duration timeout = Optional.ofNullable(startupTimeout).orElse(Duration.ofMinutes(5));
 
         return requestApplicationInstances(cloudFoundryClient, applicationId)
@@ -1883,24 +2012,43 @@ public final class DefaultApplications implements Applications {
             .map(ApplicationInstanceInfo::getState)
             .reduce("UNKNOWN", collectStates())
             .filter(isInstanceComplete())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout))
+            .repeatWhenEmpty(signalledBackOff(envelopes.filter(isStartupSignal()), POLL_MINIMUM, STARTUP_POLL_MAXIMUM, timeout))
             .filter(isRunning())
             .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during start", application))
             .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during start", application))
             .then();
     }
 
-    private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout) {
+    private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, Flux<Envelope> envelopes, String application, String applicationId, Duration stagingTimeout) {
         Duration timeout = Optional.ofNullable(stagingTimeout).orElse(Duration.ofMinutes(15));
 
         return requestGetApplication(cloudFoundryClient, applicationId)
             .map(response -> ResourceUtils.getEntity(response).getPackageState())
             .filter(isStagingComplete())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout))
+            .repeatWhenEmpty(signalledBackOff(envelopes.filter(isStagingSignal()), POLL_MINIMUM, STAGING_POLL_MAXIMUM, timeout))
             .filter(isStaged())
             .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during staging", application))
             .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during staging", application))
             .then();
     }
 
+    /**
+     * Waits for staging and then startup over a single application log stream.  The stream is opened when the first wait falls back to polling, and closed once both waits have finished.  The
+     * latest envelope is replayed so that a signal arriving between the two waits is not lost.
+     */
+    private static Mono<Void> waitForStagingAndRunning(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId, Duration stagingTimeout,
+                                                       Duration startupTimeout) {
+        return Mono.defer(() -> {
+            AtomicReference<Disposable> connection = new AtomicReference<>();
+
+            Flux<Envelope> envelopes = requestLogsStream(dopplerClient, applicationId)
+                .replay(1)
+                .autoConnect(1, connection::set);
+
+            return waitForStaging(cloudFoundryClient, envelopes, application, applicationId, stagingTimeout)
+                .then(waitForRunning(cloudFoundryClient, envelopes, application, applicationId, startupTimeout))
+                .doFinally(signal -> Optional.ofNullable(connection.get()).ifPresent(Disposable::dispose));
+        });
+    }
+
 }
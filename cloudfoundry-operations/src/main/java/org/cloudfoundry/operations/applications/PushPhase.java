@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+/**
+ * A phase of pushing an application, reported to {@link PushApplicationManifestRequest#getProgress()} as each application completes it
+ */
+public enum PushPhase {
+
+    /**
+     * The services in the manifest have been bound
+     */
+    BIND_SERVICES,
+
+    /**
+     * The application bits already known to Cloud Foundry have been matched
+     */
+    MATCH_RESOURCES,
+
+    /**
+     * The routes in the manifest have been created and mapped
+     */
+    PREPARE_ROUTES,
+
+    /**
+     * The application has staged and is running
+     */
+    START,
+
+    /**
+     * The application bits have been uploaded
+     */
+    UPLOAD
+
+}
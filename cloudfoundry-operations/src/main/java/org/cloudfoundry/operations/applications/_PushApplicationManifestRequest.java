@@ -21,6 +21,7 @@ import org.immutables.value.Value;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * The request options for the push application operation
@@ -37,6 +38,10 @@ abstract class _PushApplicationManifestRequest {
         if (getDockerUsername() != null && getDockerPassword() == null) {
             throw new IllegalStateException("Docker username requires password");
         }
+
+        if (getMaxConcurrency() < 1) {
+            throw new IllegalStateException("Max concurrency must be at least 1");
+        }
     }
 
     /**
@@ -52,16 +57,32 @@ abstract class _PushApplicationManifestRequest {
     abstract String getDockerUsername();
 
     /**
-     * The manifests to be pushed
+     * The manifests to be pushed.  An application that fails to push does not stop the others: every application is pushed, and the push then fails with the error of each application that
+     * failed.
      */
     abstract List<ApplicationManifest> getManifests();
 
+    /**
+     * The maximum number of applications to push concurrently
+     */
+    @Value.Default
+    Integer getMaxConcurrency() {
+        return 8;
+    }
+
     /**
      * Do not start the application after pushing
      */
     @Nullable
     abstract Boolean getNoStart();
 
+    /**
+     * A callback receiving the name of each application as it completes each phase of the push
+     */
+    @Nullable
+    @Value.Auxiliary
+    abstract BiConsumer<String, PushPhase> getProgress();
+
     /**
      * How long to wait for staging
      */
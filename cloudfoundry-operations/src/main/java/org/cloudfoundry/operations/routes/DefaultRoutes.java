@@ -21,14 +21,17 @@ import org.cloudfoundry.client.v2.Resource;
 import org.cloudfoundry.client.v2.applications.ApplicationResource;
 import org.cloudfoundry.client.v2.applications.AssociateApplicationRouteRequest;
 import org.cloudfoundry.client.v2.applications.AssociateApplicationRouteResponse;
+import org.cloudfoundry.client.v2.applications.ListApplicationsRequest;
 import org.cloudfoundry.client.v2.applications.RemoveApplicationRouteRequest;
 import org.cloudfoundry.client.v2.organizations.ListOrganizationPrivateDomainsRequest;
 import org.cloudfoundry.client.v2.organizations.ListOrganizationSpacesRequest;
 import org.cloudfoundry.client.v2.privatedomains.PrivateDomainResource;
+import org.cloudfoundry.client.v2.routemappings.ListRouteMappingsRequest;
+import org.cloudfoundry.client.v2.routemappings.RouteMappingEntity;
+import org.cloudfoundry.client.v2.routemappings.RouteMappingResource;
 import org.cloudfoundry.client.v2.routes.AbstractRouteResource;
 import org.cloudfoundry.client.v2.routes.CreateRouteResponse;
 import org.cloudfoundry.client.v2.routes.DeleteRouteResponse;
-import org.cloudfoundry.client.v2.routes.ListRouteApplicationsRequest;
 import org.cloudfoundry.client.v2.routes.RouteEntity;
 import org.cloudfoundry.client.v2.routes.RouteExistsRequest;
 import org.cloudfoundry.client.v2.routes.RouteResource;
@@ -39,7 +42,9 @@ import org.cloudfoundry.client.v2.spaces.ListSpaceApplicationsRequest;
 import org.cloudfoundry.client.v2.spaces.ListSpaceRoutesRequest;
 import org.cloudfoundry.client.v2.spaces.ListSpaceServiceInstancesRequest;
 import org.cloudfoundry.client.v2.spaces.SpaceResource;
+import org.cloudfoundry.operations.util.NameCache;
 import org.cloudfoundry.operations.util.OperationsLogging;
+import org.cloudfoundry.util.DelayUtils;
 import org.cloudfoundry.util.ExceptionUtils;
 import org.cloudfoundry.util.JobUtils;
 import org.cloudfoundry.util.PaginationUtils;
@@ -49,27 +54,45 @@ import reactor.core.publisher.Mono;
 import reactor.util.function.Tuples;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import static org.cloudfoundry.util.tuple.TupleUtils.function;
-import static org.cloudfoundry.util.tuple.TupleUtils.predicate;
 
 public final class DefaultRoutes implements Routes {
 
+    private static final int FILTER_BATCH_SIZE = 50;
+
+    private static final int FILTER_CONCURRENCY = 4;
+
+    private static final Duration JOB_POLL_MAXIMUM = Duration.ofSeconds(5);
+
+    private static final Duration JOB_POLL_MINIMUM = Duration.ofSeconds(1);
+
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
+    private final NameCache nameCache;
+
     private final Mono<String> organizationId;
 
     private final Mono<String> spaceId;
 
     public DefaultRoutes(Mono<CloudFoundryClient> cloudFoundryClient, Mono<String> organizationId, Mono<String> spaceId) {
+        this(cloudFoundryClient, organizationId, spaceId, NameCache.disabled());
+    }
+
+    public DefaultRoutes(Mono<CloudFoundryClient> cloudFoundryClient, Mono<String> organizationId, Mono<String> spaceId, NameCache nameCache) {
         this.cloudFoundryClient = cloudFoundryClient;
+        this.nameCache = nameCache;
         this.organizationId = organizationId;
         this.spaceId = spaceId;
     }
@@ -95,7 +118,7 @@ public final class DefaultRoutes implements Routes {
             .flatMap(function((cloudFoundryClient, organizationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getSpaceId(cloudFoundryClient, organizationId, request.getSpace()),
-                getDomainId(cloudFoundryClient, organizationId, request.getDomain())
+                getDomainId(cloudFoundryClient, this.nameCache, organizationId, request.getDomain())
             )))
             .flatMap(function((cloudFoundryClient, spaceId, domainId) ->
                 requestCreateRoute(cloudFoundryClient, domainId, request.getHost(), request.getPath(), request.getPort(), request.getRandomPort(), spaceId)
@@ -112,7 +135,7 @@ public final class DefaultRoutes implements Routes {
             .zip(this.cloudFoundryClient, this.organizationId)
             .flatMap(function((cloudFoundryClient, organizationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getDomainId(cloudFoundryClient, organizationId, request.getDomain())
+                getDomainId(cloudFoundryClient, this.nameCache, organizationId, request.getDomain())
             )))
             .flatMap(function((cloudFoundryClient, domainId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
@@ -128,15 +151,17 @@ public final class DefaultRoutes implements Routes {
     public Mono<Void> deleteOrphanedRoutes(DeleteOrphanedRoutesRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMapMany(function((cloudFoundryClient, spaceId) -> requestSpaceRoutes(cloudFoundryClient, spaceId)
-                .filter(route -> isRouteOrphan(ResourceUtils.getEntity(route)))
-                .map(ResourceUtils::getId)
-                .map(routeId -> Tuples.of(cloudFoundryClient, routeId))))
-            .flatMap(function((cloudFoundryClient, routeId) -> getApplications(cloudFoundryClient, routeId)
-                .map(applicationResources -> Tuples.of(cloudFoundryClient, applicationResources, routeId))))
-            .filter(predicate((cloudFoundryClient, applicationResources, routeId) -> isApplicationOrphan(applicationResources)))
-            .flatMap(function((cloudFoundryClient, applicationResources, routeId) -> deleteRoute(cloudFoundryClient, request.getCompletionTimeout(), routeId)))
-            .then()
+            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
+                Mono.just(cloudFoundryClient),
+                requestSpaceRoutes(cloudFoundryClient, spaceId)
+                    .filter(route -> isRouteOrphan(ResourceUtils.getEntity(route)))
+                    .collectList()
+            )))
+            .flatMap(function((cloudFoundryClient, routes) -> Mono.zip(
+                Mono.just(cloudFoundryClient),
+                getOrphanedRouteIds(cloudFoundryClient, routes)
+            )))
+            .flatMap(function((cloudFoundryClient, routeIds) -> deleteRoutes(cloudFoundryClient, request.getCompletionTimeout(), request.getMaxConcurrency(), routeIds)))
             .transform(OperationsLogging.log("Delete Orphaned Routes"))
             .checkpoint();
     }
@@ -148,19 +173,19 @@ public final class DefaultRoutes implements Routes {
             .flatMap(function((cloudFoundryClient, organizationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getAllDomains(cloudFoundryClient, organizationId),
+                getRoutes(cloudFoundryClient, request, this.organizationId, this.spaceId).collectList(),
                 getAllSpaces(cloudFoundryClient, organizationId)
             )))
-            .flatMapMany(function((cloudFoundryClient, domains, spaces) -> getRoutes(cloudFoundryClient, request, this.organizationId, this.spaceId)
-                .map(route -> Tuples.of(cloudFoundryClient, domains, route, spaces))))
-            .flatMap(function((cloudFoundryClient, domains, route, spaces) -> Mono
-                .zip(
-                    getApplicationNames(cloudFoundryClient, ResourceUtils.getId(route)),
-                    getDomainName(domains, ResourceUtils.getEntity(route).getDomainId()),
-                    Mono.just(route),
-                    getServiceName(cloudFoundryClient, ResourceUtils.getEntity(route)),
-                    getSpaceName(spaces, ResourceUtils.getEntity(route).getSpaceId())
-                )))
-            .map(function(DefaultRoutes::toRoute))
+            .flatMap(function((cloudFoundryClient, domains, routes, spaces) -> Mono.zip(
+                getApplicationNames(cloudFoundryClient, routes),
+                Mono.just(domains),
+                Mono.just(routes),
+                getServiceNames(cloudFoundryClient, routes),
+                Mono.just(spaces)
+            )))
+            .flatMapIterable(function((applicationNames, domains, routes, serviceNames, spaces) -> routes.stream()
+                .map(route -> toRoute(applicationNames, domains, route, serviceNames, spaces))
+                .collect(Collectors.toList())))
             .transform(OperationsLogging.log("List Routes"))
             .checkpoint();
     }
@@ -172,7 +197,7 @@ public final class DefaultRoutes implements Routes {
             .flatMap(function((cloudFoundryClient, organizationId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getOrCreateRoute(cloudFoundryClient, organizationId, spaceId, request.getDomain(), request.getHost(), request.getPath(), request.getPort(), request.getRandomPort()),
-                getApplicationId(cloudFoundryClient, request.getApplicationName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getApplicationName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, routeResource, applicationId) -> requestAssociateRoute(cloudFoundryClient, applicationId, ResourceUtils.getId(routeResource))))
             .then(Mono.justOrEmpty(request.getPort()))
@@ -186,8 +211,8 @@ public final class DefaultRoutes implements Routes {
             .zip(this.cloudFoundryClient, this.organizationId, this.spaceId)
             .flatMap(function((cloudFoundryClient, organizationId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getApplicationName(), spaceId),
-                getDomainId(cloudFoundryClient, organizationId, request.getDomain())
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getApplicationName(), spaceId),
+                getDomainId(cloudFoundryClient, this.nameCache, organizationId, request.getDomain())
                     .flatMap(domainId -> getRouteId(cloudFoundryClient, request.getHost(), request.getDomain(), domainId, request.getPath(), request.getPort()))
             )))
             .flatMap(function(DefaultRoutes::requestRemoveRouteFromApplication))
@@ -200,6 +225,14 @@ public final class DefaultRoutes implements Routes {
             .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
     }
 
+    private static Mono<Void> deleteRoutes(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, Integer maxConcurrency, List<String> routeIds) {
+        return Flux.fromIterable(routeIds)
+            .flatMap(routeId -> requestDeleteRoute(cloudFoundryClient, routeId), maxConcurrency)
+            .map(ResourceUtils::getEntity)
+            .collectList()
+            .flatMap(jobs -> JobUtils.waitForCompletion(cloudFoundryClient, DelayUtils.jitteredBackOff(JOB_POLL_MINIMUM, JOB_POLL_MAXIMUM, completionTimeout), jobs));
+    }
+
     private static Mono<Map<String, String>> getAllDomains(CloudFoundryClient cloudFoundryClient, String organizationId) {
         return requestAllPrivateDomains(cloudFoundryClient, organizationId)
             .map(resource -> Tuples.of(ResourceUtils.getId(resource), ResourceUtils.getEntity(resource).getName()))
@@ -220,20 +253,22 @@ public final class DefaultRoutes implements Routes {
             .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Application %s does not exist", application));
     }
 
-    private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
-        return getApplication(cloudFoundryClient, application, spaceId)
-            .map(ResourceUtils::getId);
+    private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, NameCache nameCache, String application, String spaceId) {
+        return nameCache.get(NameCache.Type.APPLICATION, spaceId, application, getApplication(cloudFoundryClient, application, spaceId)
+            .map(ResourceUtils::getId));
     }
 
-    private static Mono<List<String>> getApplicationNames(CloudFoundryClient cloudFoundryClient, String routeId) {
-        return requestApplications(cloudFoundryClient, routeId)
-            .map(resource -> ResourceUtils.getEntity(resource).getName())
-            .collectList();
+    private static Mono<Map<String, List<String>>> getApplicationNames(CloudFoundryClient cloudFoundryClient, List<RouteResource> routes) {
+        return getRouteMappings(cloudFoundryClient, routes)
+            .flatMap(mappings -> getApplicationNames(cloudFoundryClient, getMappedSpaceIds(mappings, routes))
+                .map(names -> toApplicationNames(mappings, names)));
     }
 
-    private static Mono<List<ApplicationResource>> getApplications(CloudFoundryClient cloudFoundryClient, String routeId) {
-        return requestApplications(cloudFoundryClient, routeId)
-            .collectList();
+    private static Mono<Map<String, String>> getApplicationNames(CloudFoundryClient cloudFoundryClient, Set<String> spaceIds) {
+        return Flux.fromIterable(spaceIds)
+            .buffer(FILTER_BATCH_SIZE)
+            .flatMap(batch -> requestListApplications(cloudFoundryClient, batch), FILTER_CONCURRENCY)
+            .collectMap(ResourceUtils::getId, resource -> ResourceUtils.getEntity(resource).getName());
     }
 
     private static Mono<Resource<?>> getDomain(CloudFoundryClient cloudFoundryClient, String organizationId, String domain) {
@@ -247,8 +282,8 @@ public final class DefaultRoutes implements Routes {
             .map(ResourceUtils::getId);
     }
 
-    private static Mono<String> getDomainName(Map<String, String> domains, String domainId) {
-        return Mono.just(domains.get(domainId));
+    private static Mono<String> getDomainId(CloudFoundryClient cloudFoundryClient, NameCache nameCache, String organizationId, String domain) {
+        return nameCache.get(NameCache.Type.DOMAIN, organizationId, domain, getDomainId(cloudFoundryClient, organizationId, domain));
     }
 
     private static Flux<Resource<?>> getDomains(CloudFoundryClient cloudFoundryClient, String organizationId, String domain) {
@@ -257,12 +292,27 @@ public final class DefaultRoutes implements Routes {
             .switchIfEmpty(requestSharedDomains(cloudFoundryClient, domain));
     }
 
+    private static Set<String> getMappedSpaceIds(Map<String, Collection<String>> mappings, List<RouteResource> routes) {
+        return routes.stream()
+            .filter(route -> mappings.containsKey(ResourceUtils.getId(route)))
+            .map(route -> ResourceUtils.getEntity(route).getSpaceId())
+            .collect(Collectors.toSet());
+    }
+
     private static Mono<String> getOptionalDomainId(CloudFoundryClient cloudFoundryClient, String organizationId, String domain) {
         return getDomains(cloudFoundryClient, organizationId, domain)
             .singleOrEmpty()
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<List<String>> getOrphanedRouteIds(CloudFoundryClient cloudFoundryClient, List<RouteResource> routes) {
+        return getRouteMappings(cloudFoundryClient, routes)
+            .map(mappings -> routes.stream()
+                .map(ResourceUtils::getId)
+                .filter(routeId -> !mappings.containsKey(routeId))
+                .collect(Collectors.toList()));
+    }
+
     private static Mono<AbstractRouteResource> getOrCreateRoute(CloudFoundryClient cloudFoundryClient, String organizationId, String spaceId, String domain, String host, String path, Integer port,
                                                                 Boolean randomPort) {
         if (randomPort != null) {
@@ -298,6 +348,15 @@ public final class DefaultRoutes implements Routes {
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<Map<String, Collection<String>>> getRouteMappings(CloudFoundryClient cloudFoundryClient, List<RouteResource> routes) {
+        return Flux.fromIterable(routes)
+            .map(ResourceUtils::getId)
+            .buffer(FILTER_BATCH_SIZE)
+            .flatMap(batch -> requestRouteMappings(cloudFoundryClient, batch), FILTER_CONCURRENCY)
+            .map(ResourceUtils::getEntity)
+            .collectMultimap(RouteMappingEntity::getRouteId, RouteMappingEntity::getApplicationId);
+    }
+
     private static Flux<RouteResource> getRoutes(CloudFoundryClient cloudFoundryClient, ListRoutesRequest request, Mono<String> organizationId, Mono<String> spaceId) {
         if (Level.ORGANIZATION == request.getLevel()) {
             return organizationId
@@ -308,17 +367,14 @@ public final class DefaultRoutes implements Routes {
         }
     }
 
-    private static Mono<Optional<String>> getServiceInstanceName(CloudFoundryClient cloudFoundryClient, String serviceInstanceId, String spaceId) {
-        return requestListSpaceServiceInstances(cloudFoundryClient, spaceId)
-            .filter(resource -> serviceInstanceId.equals(ResourceUtils.getId(resource)))
-            .single()
-            .map(resource -> Optional.of(ResourceUtils.getEntity(resource).getName()));
-    }
-
-    private static Mono<Optional<String>> getServiceName(CloudFoundryClient cloudFoundryClient, RouteEntity route) {
-        return Mono.justOrEmpty(route.getServiceInstanceId())
-            .flatMap(serviceInstanceId -> getServiceInstanceName(cloudFoundryClient, serviceInstanceId, route.getSpaceId()))
-            .defaultIfEmpty(Optional.empty());
+    private static Mono<Map<String, String>> getServiceNames(CloudFoundryClient cloudFoundryClient, List<RouteResource> routes) {
+        return Flux.fromIterable(routes)
+            .map(ResourceUtils::getEntity)
+            .filter(entity -> entity.getServiceInstanceId() != null)
+            .map(RouteEntity::getSpaceId)
+            .distinct()
+            .flatMap(spaceId -> requestListSpaceServiceInstances(cloudFoundryClient, spaceId), FILTER_CONCURRENCY)
+            .collectMap(ResourceUtils::getId, resource -> ResourceUtils.getEntity(resource).getName());
     }
 
     private static Mono<SpaceResource> getSpace(CloudFoundryClient cloudFoundryClient, String organizationId, String space) {
@@ -332,14 +388,6 @@ public final class DefaultRoutes implements Routes {
             .map(ResourceUtils::getId);
     }
 
-    private static Mono<String> getSpaceName(Map<String, String> spaces, String spaceId) {
-        return Mono.just(spaces.get(spaceId));
-    }
-
-    private static boolean isApplicationOrphan(List<ApplicationResource> applications) {
-        return applications.isEmpty();
-    }
-
     private static boolean isIdentical(String s, String t) {
         return s == null ? t == null : s.equals(t);
     }
@@ -374,15 +422,6 @@ public final class DefaultRoutes implements Routes {
                     .build()));
     }
 
-    private static Flux<ApplicationResource> requestApplications(CloudFoundryClient cloudFoundryClient, String routeId) {
-        return PaginationUtils
-            .requestClientV2Resources(page -> cloudFoundryClient.routes()
-                .listApplications(ListRouteApplicationsRequest.builder()
-                    .routeId(routeId)
-                    .page(page)
-                    .build()));
-    }
-
     private static Flux<ApplicationResource> requestApplications(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
         return PaginationUtils
             .requestClientV2Resources(page -> cloudFoundryClient.spaces()
@@ -429,6 +468,15 @@ public final class DefaultRoutes implements Routes {
                 .build());
     }
 
+    private static Flux<ApplicationResource> requestListApplications(CloudFoundryClient cloudFoundryClient, List<String> spaceIds) {
+        return PaginationUtils
+            .requestClientV2Resources(page -> cloudFoundryClient.applicationsV2()
+                .list(ListApplicationsRequest.builder()
+                    .page(page)
+                    .spaceIds(spaceIds)
+                    .build()));
+    }
+
     private static Flux<UnionServiceInstanceResource> requestListSpaceServiceInstances(CloudFoundryClient cloudFoundryClient, String spaceId) {
         return PaginationUtils
             .requestClientV2Resources(page -> cloudFoundryClient.spaces()
@@ -466,6 +514,15 @@ public final class DefaultRoutes implements Routes {
                 .build());
     }
 
+    private static Flux<RouteMappingResource> requestRouteMappings(CloudFoundryClient cloudFoundryClient, List<String> routeIds) {
+        return PaginationUtils
+            .requestClientV2Resources(page -> cloudFoundryClient.routeMappings()
+                .list(ListRouteMappingsRequest.builder()
+                    .page(page)
+                    .routeIds(routeIds)
+                    .build()));
+    }
+
     private static Flux<RouteResource> requestRoutes(CloudFoundryClient cloudFoundryClient, UnaryOperator<org.cloudfoundry.client.v2.routes.ListRoutesRequest.Builder> modifier) {
 
         org.cloudfoundry.client.v2.routes.ListRoutesRequest.Builder listBuilder = modifier.apply(org.cloudfoundry.client.v2.routes.ListRoutesRequest.builder());
@@ -514,17 +571,27 @@ public final class DefaultRoutes implements Routes {
                     .build()));
     }
 
-    private static Route toRoute(List<String> applications, String domain, RouteResource resource, Optional<String> service, String space) {
+    private static Map<String, List<String>> toApplicationNames(Map<String, Collection<String>> mappings, Map<String, String> names) {
+        return mappings.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().stream()
+                .map(names::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())));
+    }
+
+    private static Route toRoute(Map<String, List<String>> applicationNames, Map<String, String> domains, RouteResource resource, Map<String, String> serviceNames, Map<String, String> spaces) {
         RouteEntity entity = ResourceUtils.getEntity(resource);
         Route.Builder builder = Route.builder()
-            .applications(applications)
-            .domain(domain)
+            .applications(applicationNames.getOrDefault(ResourceUtils.getId(resource), Collections.emptyList()))
+            .domain(domains.get(entity.getDomainId()))
             .host(entity.getHost())
             .id(ResourceUtils.getId(resource))
             .path(entity.getPath())
-            .space(space);
+            .space(spaces.get(entity.getSpaceId()));
 
-        service.ifPresent(builder::service);
+        Optional.ofNullable(entity.getServiceInstanceId())
+            .map(serviceNames::get)
+            .ifPresent(builder::service);
 
         return builder.build();
     }
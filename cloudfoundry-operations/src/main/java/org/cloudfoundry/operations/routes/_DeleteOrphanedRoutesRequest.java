@@ -26,6 +26,13 @@ import java.time.Duration;
 @Value.Immutable
 abstract class _DeleteOrphanedRoutesRequest {
 
+    @Value.Check
+    void check() {
+        if (getMaxConcurrency() < 1) {
+            throw new IllegalStateException("Max concurrency must be at least 1");
+        }
+    }
+
     /**
      * How long to wait for deletion
      */
@@ -34,4 +41,12 @@ abstract class _DeleteOrphanedRoutesRequest {
         return Duration.ofMinutes(5);
     }
 
+    /**
+     * The maximum number of routes to delete concurrently
+     */
+    @Value.Default
+    Integer getMaxConcurrency() {
+        return 8;
+    }
+
 }
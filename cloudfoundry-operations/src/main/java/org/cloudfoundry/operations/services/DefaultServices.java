@@ -72,6 +72,7 @@ import org.cloudfoundry.client.v2.userprovidedserviceinstances.CreateUserProvide
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.DeleteUserProvidedServiceInstanceRequest;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.RemoveUserProvidedServiceInstanceRouteRequest;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UpdateUserProvidedServiceInstanceResponse;
+import org.cloudfoundry.operations.util.NameCache;
 import org.cloudfoundry.operations.util.OperationsLogging;
 import org.cloudfoundry.util.ExceptionUtils;
 import org.cloudfoundry.util.JobUtils;
@@ -107,12 +108,19 @@ public final class DefaultServices implements Services {
 
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
+    private final NameCache nameCache;
+
     private final Mono<String> organizationId;
 
     private final Mono<String> spaceId;
 
     public DefaultServices(Mono<CloudFoundryClient> cloudFoundryClient, Mono<String> organizationId, Mono<String> spaceId) {
+        this(cloudFoundryClient, organizationId, spaceId, NameCache.disabled());
+    }
+
+    public DefaultServices(Mono<CloudFoundryClient> cloudFoundryClient, Mono<String> organizationId, Mono<String> spaceId, NameCache nameCache) {
         this.cloudFoundryClient = cloudFoundryClient;
+        this.nameCache = nameCache;
         this.spaceId = spaceId;
         this.organizationId = organizationId;
     }
@@ -123,8 +131,8 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getApplicationName(), spaceId),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getApplicationName(), spaceId),
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId, serviceInstanceId) -> createServiceBinding(cloudFoundryClient, applicationId, serviceInstanceId, request.getParameters())))
             .then()
@@ -138,13 +146,13 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.organizationId, this.spaceId)
             .flatMap(function((cloudFoundryClient, organizationId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getDomainId(cloudFoundryClient, request.getDomainName(), organizationId),
+                getDomainId(cloudFoundryClient, this.nameCache, request.getDomainName(), organizationId),
                 Mono.just(spaceId)
             )))
             .flatMap(function((cloudFoundryClient, domainId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getRouteId(cloudFoundryClient, request.getDomainName(), domainId, request.getHostname(), request.getPath()),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, routeId, userProvidedServiceInstanceId) -> createRouteBinding(cloudFoundryClient, routeId, userProvidedServiceInstanceId, request.getParameters())))
             .then()
@@ -182,7 +190,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId) -> requestCreateServiceKey(cloudFoundryClient, serviceInstanceId, request.getServiceKeyName(), request.getParameters())))
             .then()
@@ -205,12 +213,9 @@ public final class DefaultServices implements Services {
     public Mono<Void> deleteInstance(DeleteServiceInstanceRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
-                Mono.just(request.getCompletionTimeout()),
+            .flatMap(function((cloudFoundryClient, spaceId) -> this.nameCache.invalidating(NameCache.Type.SERVICE_INSTANCE, spaceId, request.getName(),
                 getSpaceServiceInstance(cloudFoundryClient, request.getName(), spaceId)
-            )))
-            .flatMap(function(DefaultServices::deleteServiceInstance))
+                    .flatMap(serviceInstance -> deleteServiceInstance(cloudFoundryClient, request.getCompletionTimeout(), serviceInstance)))))
             .transform(OperationsLogging.log("Delete Service Instance"))
             .checkpoint();
     }
@@ -221,7 +226,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
@@ -263,7 +268,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId) -> getServiceKey(cloudFoundryClient, serviceInstanceId, request.getServiceKeyName())))
             .map(DefaultServices::toServiceKey)
@@ -290,7 +295,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMapMany(function((cloudFoundryClient, serviceInstanceId) -> requestListServiceInstanceServiceKeys(cloudFoundryClient, serviceInstanceId)))
             .map(DefaultServices::toServiceKey)
@@ -321,11 +326,9 @@ public final class DefaultServices implements Services {
     public Mono<Void> renameInstance(RenameServiceInstanceRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
+            .flatMap(function((cloudFoundryClient, spaceId) -> this.nameCache.invalidating(NameCache.Type.SERVICE_INSTANCE, spaceId, request.getName(),
                 getSpaceServiceInstance(cloudFoundryClient, request.getName(), spaceId)
-            )))
-            .flatMap(function((cloudFoundryClient, serviceInstance) -> renameServiceInstance(cloudFoundryClient, serviceInstance, request.getNewName())))
+                    .flatMap(serviceInstance -> renameServiceInstance(cloudFoundryClient, serviceInstance, request.getNewName())))))
             .then()
             .transform(OperationsLogging.log("Rename Service Instance"))
             .checkpoint();
@@ -337,8 +340,8 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getApplicationName(), spaceId),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getApplicationId(cloudFoundryClient, this.nameCache, request.getApplicationName(), spaceId),
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId, serviceInstanceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
@@ -357,13 +360,13 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.organizationId, this.spaceId)
             .flatMap(function((cloudFoundryClient, organizationId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getDomainId(cloudFoundryClient, request.getDomainName(), organizationId),
+                getDomainId(cloudFoundryClient, this.nameCache, request.getDomainName(), organizationId),
                 Mono.just(spaceId)
             )))
             .flatMap(function((cloudFoundryClient, domainId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getRouteId(cloudFoundryClient, request.getDomainName(), domainId, request.getHostname(), request.getPath()),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(cloudFoundryClient, this.nameCache, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function(DefaultServices::requestRemoveRoute))
             .then()
@@ -462,9 +465,9 @@ public final class DefaultServices implements Services {
             .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Application %s does not exist", applicationName));
     }
 
-    private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, String applicationName, String spaceId) {
-        return getApplication(cloudFoundryClient, applicationName, spaceId)
-            .map(ResourceUtils::getId);
+    private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, NameCache nameCache, String applicationName, String spaceId) {
+        return nameCache.get(NameCache.Type.APPLICATION, spaceId, applicationName, getApplication(cloudFoundryClient, applicationName, spaceId)
+            .map(ResourceUtils::getId));
     }
 
     private static Mono<List<String>> getBoundApplications(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
@@ -476,10 +479,10 @@ public final class DefaultServices implements Services {
             .collectList();
     }
 
-    private static Mono<String> getDomainId(CloudFoundryClient cloudFoundryClient, String domain, String organizationId) {
-        return getPrivateDomainId(cloudFoundryClient, domain, organizationId)
+    private static Mono<String> getDomainId(CloudFoundryClient cloudFoundryClient, NameCache nameCache, String domain, String organizationId) {
+        return nameCache.get(NameCache.Type.DOMAIN, organizationId, domain, getPrivateDomainId(cloudFoundryClient, domain, organizationId)
             .switchIfEmpty(getSharedDomainId(cloudFoundryClient, domain))
-            .switchIfEmpty(ExceptionUtils.illegalArgument("Domain %s not found", domain));
+            .switchIfEmpty(ExceptionUtils.illegalArgument("Domain %s not found", domain)));
     }
 
     @SuppressWarnings("unchecked")
@@ -611,9 +614,9 @@ public final class DefaultServices implements Services {
             .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Service instance %s does not exist", serviceInstanceName));
     }
 
-    private static Mono<String> getSpaceServiceInstanceId(CloudFoundryClient cloudFoundryClient, String serviceInstanceName, String spaceId) {
-        return getSpaceServiceInstance(cloudFoundryClient, serviceInstanceName, spaceId)
-            .map(ResourceUtils::getId);
+    private static Mono<String> getSpaceServiceInstanceId(CloudFoundryClient cloudFoundryClient, NameCache nameCache, String serviceInstanceName, String spaceId) {
+        return nameCache.get(NameCache.Type.SERVICE_INSTANCE, spaceId, serviceInstanceName, getSpaceServiceInstance(cloudFoundryClient, serviceInstanceName, spaceId)
+            .map(ResourceUtils::getId));
     }
 
     private static Mono<UnionServiceInstanceResource> getSpaceUserProvidedServiceInstance(CloudFoundryClient cloudFoundryClient, String serviceInstanceName, String spaceId) {
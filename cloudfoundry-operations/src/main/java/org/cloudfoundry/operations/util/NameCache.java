@@ -0,0 +1,227 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.operations.util;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size-bounded, least-recently-used cache of entity ids keyed by the type, scope, and name of the entity.  Resolved ids are retained for a fixed time-to-live and are invalidated
+ * explicitly when an operation renames or deletes the entity.  Changes made outside of the operations API are only observed once an entry expires.
+ */
+public final class NameCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private static final NameCache DISABLED = new NameCache(Duration.ZERO, 0);
+
+    private final Map<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maximumSize;
+
+    private final long ttl;
+
+    private NameCache(Duration ttl, int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.ttl = ttl.toNanos();
+    }
+
+    /**
+     * Creates a new cache
+     *
+     * @param ttl how long a resolved id is retained
+     * @return the cache
+     */
+    public static NameCache create(Duration ttl) {
+        return create(ttl, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new cache
+     *
+     * @param ttl         how long a resolved id is retained
+     * @param maximumSize the maximum number of ids to retain
+     * @return the cache
+     */
+    public static NameCache create(Duration ttl, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+
+        return new NameCache(ttl, maximumSize);
+    }
+
+    /**
+     * Returns a cache that retains nothing
+     *
+     * @return the cache
+     */
+    public static NameCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Removes all cached ids
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Returns the id of an entity, resolving it only if it is not cached or its entry has expired
+     *
+     * @param type     the type of the entity
+     * @param scope    the id of the organization or space the name is unique within, or {@code null} for a global name
+     * @param name     the name of the entity
+     * @param resolver a {@link Mono} that resolves the id of the entity
+     * @return the id of the entity
+     */
+    public Mono<String> get(Type type, String scope, String name, Mono<String> resolver) {
+        if (this.maximumSize == 0) {
+            return resolver;
+        }
+
+        return Mono.defer(() -> {
+            List<Object> key = Arrays.asList(type, scope, name);
+            String id = getId(key);
+
+            if (id != null) {
+                return Mono.just(id);
+            }
+
+            return resolver
+                .doOnNext(resolved -> putId(key, resolved));
+        });
+    }
+
+    /**
+     * Removes the cached id of an entity
+     *
+     * @param type  the type of the entity
+     * @param scope the id of the organization or space the name is unique within, or {@code null} for a global name
+     * @param name  the name of the entity
+     */
+    public void invalidate(Type type, String scope, String name) {
+        synchronized (this.entries) {
+            this.entries.remove(Arrays.asList(type, scope, name));
+        }
+    }
+
+    /**
+     * Removes the cached id of an entity both before a mutation of that entity is subscribed to and once it finishes, so that a lookup made while the mutation is in flight cannot leave a
+     * stale id behind.  The id is removed before the mutation's result is signalled, or when the mutation is cancelled.
+     *
+     * @param type     the type of the entity
+     * @param scope    the id of the organization or space the name is unique within, or {@code null} for a global name
+     * @param name     the name of the entity
+     * @param mutation a {@link Mono} that renames or deletes the entity
+     * @param <T>      the type of the mutation's result
+     * @return the mutation
+     */
+    public <T> Mono<T> invalidating(Type type, String scope, String name, Mono<T> mutation) {
+        return Mono.defer(() -> {
+            invalidate(type, scope, name);
+
+            return mutation
+                .doOnTerminate(() -> invalidate(type, scope, name))
+                .doFinally(signal -> {
+                    if (SignalType.CANCEL == signal) {
+                        invalidate(type, scope, name);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Returns the number of cached ids
+     *
+     * @return the number of cached ids
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private String getId(List<Object> key) {
+        synchronized (this.entries) {
+            Entry entry = this.entries.get(key);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry.expiration - System.nanoTime() <= 0) {
+                this.entries.remove(key);
+                return null;
+            }
+
+            return entry.id;
+        }
+    }
+
+    private void putId(List<Object> key, String id) {
+        synchronized (this.entries) {
+            this.entries.put(key, new Entry(System.nanoTime() + this.ttl, id));
+
+            Iterator<List<Object>> keys = this.entries.keySet().iterator();
+            while (this.entries.size() > this.maximumSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * The types of entity whose ids are cached
+     */
+    public enum Type {
+
+        APPLICATION,
+
+        DOMAIN,
+
+        SERVICE_INSTANCE,
+
+        STACK
+
+    }
+
+    private static final class Entry {
+
+        private final long expiration;
+
+        private final String id;
+
+        private Entry(long expiration, String id) {
+            this.expiration = expiration;
+            this.id = id;
+        }
+
+    }
+
+}
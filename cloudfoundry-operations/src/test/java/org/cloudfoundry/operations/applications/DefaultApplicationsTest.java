@@ -80,8 +80,12 @@ import org.cloudfoundry.client.v2.routes.ListRoutesRequest;
 import org.cloudfoundry.client.v2.routes.ListRoutesResponse;
 import org.cloudfoundry.client.v2.routes.RouteEntity;
 import org.cloudfoundry.client.v2.routes.RouteResource;
+import org.cloudfoundry.client.v2.servicebindings.CreateServiceBindingRequest;
+import org.cloudfoundry.client.v2.servicebindings.CreateServiceBindingResponse;
 import org.cloudfoundry.client.v2.servicebindings.ServiceBindingResource;
 import org.cloudfoundry.client.v2.serviceinstances.ServiceInstance;
+import org.cloudfoundry.client.v2.serviceinstances.UnionServiceInstanceEntity;
+import org.cloudfoundry.client.v2.serviceinstances.UnionServiceInstanceResource;
 import org.cloudfoundry.client.v2.shareddomains.GetSharedDomainRequest;
 import org.cloudfoundry.client.v2.shareddomains.GetSharedDomainResponse;
 import org.cloudfoundry.client.v2.shareddomains.ListSharedDomainsRequest;
@@ -94,6 +98,8 @@ import org.cloudfoundry.client.v2.spaces.GetSpaceSummaryRequest;
 import org.cloudfoundry.client.v2.spaces.GetSpaceSummaryResponse;
 import org.cloudfoundry.client.v2.spaces.ListSpaceApplicationsRequest;
 import org.cloudfoundry.client.v2.spaces.ListSpaceApplicationsResponse;
+import org.cloudfoundry.client.v2.spaces.ListSpaceServiceInstancesRequest;
+import org.cloudfoundry.client.v2.spaces.ListSpaceServiceInstancesResponse;
 import org.cloudfoundry.client.v2.spaces.SpaceApplicationSummary;
 import org.cloudfoundry.client.v2.spaces.SpaceEntity;
 import org.cloudfoundry.client.v2.spaces.SpaceResource;
@@ -102,6 +108,7 @@ import org.cloudfoundry.client.v2.stacks.GetStackResponse;
 import org.cloudfoundry.client.v2.stacks.ListStacksRequest;
 import org.cloudfoundry.client.v2.stacks.ListStacksResponse;
 import org.cloudfoundry.client.v2.stacks.StackEntity;
+import org.cloudfoundry.client.v2.stacks.StackResource;
 import org.cloudfoundry.client.v3.BuildpackData;
 import org.cloudfoundry.client.v3.Lifecycle;
 import org.cloudfoundry.client.v3.LifecycleType;
@@ -120,24 +127,33 @@ import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
 import org.cloudfoundry.operations.AbstractOperationsTest;
+import org.cloudfoundry.operations.util.NameCache;
 import org.cloudfoundry.util.DateUtils;
 import org.cloudfoundry.util.FluentMap;
+import org.cloudfoundry.util.HashCache;
 import org.cloudfoundry.util.ResourceMatchingUtils;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.core.io.ClassPathResource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 import reactor.test.StepVerifier;
 import reactor.test.scheduler.VirtualTimeScheduler;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -145,16 +161,27 @@ import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.cloudfoundry.operations.TestObjects.fill;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class DefaultApplicationsTest extends AbstractOperationsTest {
 
     private RandomWords randomWords = mock(RandomWords.class, RETURNS_SMART_NULLS);
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private final DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), this.randomWords, Mono.just(TEST_SPACE_ID));
 
+    @Before
+    public void mockDopplerStream() {
+        when(this.dopplerClient.stream(any(StreamRequest.class))).thenReturn(Flux.never());
+    }
+
     @Test
     public void copySourceNoRestartOrgSpace() {
         requestApplications(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
@@ -1451,6 +1478,199 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void pushMultipleApplications() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+        List<ApplicationManifest> manifests = Arrays.asList(
+            ApplicationManifest.builder()
+                .path(testApplication)
+                .domain("test-shared-domain")
+                .name("test-name-1")
+                .service("test-service-instance")
+                .stack("test-stack")
+                .build(),
+            ApplicationManifest.builder()
+                .path(testApplication)
+                .domain("test-shared-domain")
+                .name("test-name-2")
+                .service("test-service-instance")
+                .stack("test-stack")
+                .build());
+        List<MonoProcessor<UploadApplicationResponse>> uploads = Arrays.asList(MonoProcessor.create(), MonoProcessor.create());
+
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestStacks(this.cloudFoundryClient, "test-stack", "test-stack-id");
+        requestListSpaceServiceInstances(this.cloudFoundryClient, "test-service-instance", TEST_SPACE_ID, "test-service-instance-id");
+        requestListMatchingResources(this.cloudFoundryClient, Arrays.asList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+
+        for (int i = 0; i < manifests.size(); i++) {
+            ApplicationManifest manifest = manifests.get(i);
+            String applicationId = String.format("test-application-id-%d", i + 1);
+            String routeId = String.format("test-route-id-%d", i + 1);
+
+            requestApplicationsEmpty(this.cloudFoundryClient, manifest.getName(), TEST_SPACE_ID);
+            requestCreateApplication(this.cloudFoundryClient, manifest, TEST_SPACE_ID, "test-stack-id", applicationId);
+            requestApplicationRoutesEmpty(this.cloudFoundryClient, applicationId);
+            requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", manifest.getName(), null, null);
+            requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", manifest.getName(), null, null, TEST_SPACE_ID, routeId);
+            requestAssociateRoute(this.cloudFoundryClient, applicationId, routeId);
+            requestUpload(this.cloudFoundryClient, applicationId, testApplication, uploads.get(i));
+            requestCreateServiceBinding(this.cloudFoundryClient, applicationId, "test-service-instance-id");
+            requestUpdateApplicationState(this.cloudFoundryClient, applicationId, "STOPPED");
+            requestUpdateApplicationState(this.cloudFoundryClient, applicationId, "STARTED");
+            requestGetApplication(this.cloudFoundryClient, applicationId);
+            requestApplicationInstancesRunning(this.cloudFoundryClient, applicationId);
+        }
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushManifest(PushApplicationManifestRequest.builder()
+                .manifests(manifests)
+                .build()))
+            .then(() -> {
+                assertThat(uploads).allMatch(upload -> upload.hasDownstreams());
+
+                for (int i = 1; i <= manifests.size(); i++) {
+                    verify(this.cloudFoundryClient.applicationsV2()).associateRoute(AssociateApplicationRouteRequest.builder()
+                        .applicationId(String.format("test-application-id-%d", i))
+                        .routeId(String.format("test-route-id-%d", i))
+                        .build());
+                    verify(this.cloudFoundryClient.serviceBindingsV2()).create(CreateServiceBindingRequest.builder()
+                        .applicationId(String.format("test-application-id-%d", i))
+                        .serviceInstanceId("test-service-instance-id")
+                        .build());
+                }
+            })
+            .then(() -> uploads.forEach(upload -> upload.onNext(fill(UploadApplicationResponse.builder())
+                .entity(fill(JobEntity.builder(), "job-entity-")
+                    .status("finished")
+                    .build())
+                .build())))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.cloudFoundryClient.stacks(), times(1)).list(ListStacksRequest.builder()
+            .name("test-stack")
+            .page(1)
+            .build());
+        verify(this.cloudFoundryClient.spaces(), times(1)).listServiceInstances(ListSpaceServiceInstancesRequest.builder()
+            .name("test-service-instance")
+            .page(1)
+            .returnUserProvidedServiceInstances(true)
+            .spaceId(TEST_SPACE_ID)
+            .build());
+    }
+
+    @Test
+    public void pushMultipleApplicationsMissingService() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+        ApplicationManifest manifest = ApplicationManifest.builder()
+            .path(testApplication)
+            .domain("test-shared-domain")
+            .name("test-name-2")
+            .service("test-service-instance")
+            .build();
+        List<String> progress = Collections.synchronizedList(new LinkedList<>());
+
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestListSpaceServiceInstancesEmpty(this.cloudFoundryClient, "test-service-instance-missing", TEST_SPACE_ID);
+        requestListSpaceServiceInstances(this.cloudFoundryClient, "test-service-instance", TEST_SPACE_ID, "test-service-instance-id");
+        requestListMatchingResources(this.cloudFoundryClient, Arrays.asList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name-2", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, manifest, TEST_SPACE_ID, null, "test-application-id");
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name-2", null, null);
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name-2", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestUpload(this.cloudFoundryClient, "test-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestCreateServiceBinding(this.cloudFoundryClient, "test-application-id", "test-service-instance-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-application-id");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushManifest(PushApplicationManifestRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .path(testApplication)
+                    .domain("test-shared-domain")
+                    .name("test-name-1")
+                    .service("test-service-instance-missing")
+                    .build())
+                .manifest(manifest)
+                .progress((name, phase) -> progress.add(String.format("%s %s", name, phase)))
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(IllegalArgumentException.class).hasMessage("Service instance test-service-instance-missing could not be found"))
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(progress).containsExactlyInAnyOrder("test-name-2 MATCH_RESOURCES", "test-name-2 PREPARE_ROUTES", "test-name-2 UPLOAD", "test-name-2 BIND_SERVICES", "test-name-2 START");
+        verify(this.cloudFoundryClient.applicationsV2()).update(UpdateApplicationRequest.builder()
+            .applicationId("test-application-id")
+            .state("STARTED")
+            .build());
+    }
+
+    @Test
+    public void pushMultipleApplicationsMissingStack() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+        ApplicationManifest manifest = ApplicationManifest.builder()
+            .path(testApplication)
+            .domain("test-shared-domain")
+            .name("test-name-2")
+            .stack("test-stack")
+            .build();
+        List<String> progress = Collections.synchronizedList(new LinkedList<>());
+
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestStackIdEmpty(this.cloudFoundryClient, "test-stack-missing");
+        requestStacks(this.cloudFoundryClient, "test-stack", "test-stack-id");
+        requestListMatchingResources(this.cloudFoundryClient, Arrays.asList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name-2", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, manifest, TEST_SPACE_ID, "test-stack-id", "test-application-id");
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name-2", null, null);
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name-2", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestUpload(this.cloudFoundryClient, "test-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-application-id");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushManifest(PushApplicationManifestRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .path(testApplication)
+                    .domain("test-shared-domain")
+                    .name("test-name-1")
+                    .stack("test-stack-missing")
+                    .build())
+                .manifest(manifest)
+                .progress((name, phase) -> progress.add(String.format("%s %s", name, phase)))
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(IllegalArgumentException.class).hasMessage("Stack test-stack-missing does not exist"))
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(progress).containsExactlyInAnyOrder("test-name-2 MATCH_RESOURCES", "test-name-2 PREPARE_ROUTES", "test-name-2 UPLOAD", "test-name-2 START");
+        verify(this.cloudFoundryClient.applicationsV2()).update(UpdateApplicationRequest.builder()
+            .applicationId("test-application-id")
+            .state("STARTED")
+            .build());
+    }
+
     @Test
     public void pushMultipleRoutes() throws IOException {
         Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
@@ -1534,6 +1754,52 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void pushNewApplicationHashCache() throws IOException {
+        Path testApplication = this.folder.newFolder("test-application").toPath();
+        Files.write(testApplication.resolve("Staticfile"), new byte[0]);
+        Files.setPosixFilePermissions(testApplication.resolve("Staticfile"), PosixFilePermissions.fromString("rw-r--r--"));
+        Path cacheFile = this.folder.getRoot().toPath().resolve("test-hash-cache");
+
+        DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), HashCache.persistent(cacheFile), NameCache.disabled(),
+            this.randomWords, Mono.just(TEST_SPACE_ID));
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .domain("test-shared-domain")
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestListMatchingResources(this.cloudFoundryClient, Collections.singletonList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644",
+            0)));
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestApplicationRoutes(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestUpload(this.cloudFoundryClient, "test-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-application-id");
+
+        StepVerifier.withVirtualTime(() -> applications
+            .push(PushApplicationRequest.builder()
+                .path(testApplication)
+                .domain("test-shared-domain")
+                .name("test-name")
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(HashCache.persistent(cacheFile).hash(testApplication.resolve("Staticfile"))).isEqualTo("da39a3ee5e6b4b0d3255bfef95601890afd80709");
+        assertThat(Files.readAllLines(cacheFile)).hasSize(1);
+    }
+
     @Test
     public void pushNewApplicationWithEnvironmentVariables() throws IOException {
         Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
@@ -2629,6 +2895,27 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void startApplicationSignalled() {
+        requestApplicationsSpecificState(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesStarted(this.cloudFoundryClient, "test-application-id");
+        requestLogsStreamStartup(this.dopplerClient, "test-application-id");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .start(StartApplicationRequest.builder()
+                .name("test-application-name")
+                .build()))
+            .thenAwait(Duration.ofSeconds(2))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.dopplerClient, times(1)).stream(StreamRequest.builder()
+            .applicationId("test-application-id")
+            .build());
+    }
+
     @Test
     public void startApplicationTimeout() {
         requestApplicationsSpecificState(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "STOPPED");
@@ -2903,6 +3190,35 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestApplicationInstancesStarted(CloudFoundryClient cloudFoundryClient, String applicationId) {
+        when(cloudFoundryClient.applicationsV2()
+            .instances(ApplicationInstancesRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Mono
+                .defer(new Supplier<Mono<ApplicationInstancesResponse>>() {
+
+                    private final Queue<ApplicationInstancesResponse> responses = new LinkedList<>(Arrays.asList(
+                        fill(ApplicationInstancesResponse.builder(), "application-instances-")
+                            .instance("instance-0", fill(ApplicationInstanceInfo.builder(), "application-instance-info-")
+                                .state("STARTING")
+                                .build())
+                            .build(),
+                        fill(ApplicationInstancesResponse.builder(), "application-instances-")
+                            .instance("instance-0", fill(ApplicationInstanceInfo.builder(), "application-instance-info-")
+                                .state("RUNNING")
+                                .build())
+                            .build()
+                    ));
+
+                    @Override
+                    public Mono<ApplicationInstancesResponse> get() {
+                        return Mono.just(this.responses.poll());
+                    }
+
+                }));
+    }
+
     private static void requestApplicationInstancesTimeout(CloudFoundryClient cloudFoundryClient, String applicationId) {
         when(cloudFoundryClient.applicationsV2()
             .instances(ApplicationInstancesRequest.builder()
@@ -3272,6 +3588,17 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestCreateServiceBinding(CloudFoundryClient cloudFoundryClient, String applicationId, String serviceInstanceId) {
+        when(cloudFoundryClient.serviceBindingsV2()
+            .create(CreateServiceBindingRequest.builder()
+                .applicationId(applicationId)
+                .serviceInstanceId(serviceInstanceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(CreateServiceBindingResponse.builder(), "service-binding-")
+                    .build()));
+    }
+
     private static void requestCreateDockerApplication(CloudFoundryClient cloudFoundryClient, PushApplicationRequest request, String spaceId, String stackId, String applicationId) {
         CreateApplicationRequest.Builder requestBuilder = CreateApplicationRequest.builder();
         Optional.ofNullable(request.getDockerUsername()).ifPresent(username -> requestBuilder.dockerCredentialsJson(username, request.getDockerPassword()));
@@ -3564,6 +3891,40 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestListSpaceServiceInstances(CloudFoundryClient cloudFoundryClient, String serviceInstanceName, String spaceId, String serviceInstanceId) {
+        when(cloudFoundryClient.spaces()
+            .listServiceInstances(ListSpaceServiceInstancesRequest.builder()
+                .name(serviceInstanceName)
+                .page(1)
+                .returnUserProvidedServiceInstances(true)
+                .spaceId(spaceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListSpaceServiceInstancesResponse.builder())
+                    .resource(fill(UnionServiceInstanceResource.builder())
+                        .metadata(fill(Metadata.builder())
+                            .id(serviceInstanceId)
+                            .build())
+                        .entity(fill(UnionServiceInstanceEntity.builder(), "service-instance-")
+                            .build())
+                        .build())
+                    .totalPages(1)
+                    .build()));
+    }
+
+    private static void requestListSpaceServiceInstancesEmpty(CloudFoundryClient cloudFoundryClient, String serviceInstanceName, String spaceId) {
+        when(cloudFoundryClient.spaces()
+            .listServiceInstances(ListSpaceServiceInstancesRequest.builder()
+                .name(serviceInstanceName)
+                .page(1)
+                .returnUserProvidedServiceInstances(true)
+                .spaceId(spaceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListSpaceServiceInstancesResponse.builder())
+                    .build()));
+    }
+
     private static void requestLogsRecent(DopplerClient dopplerClient, String applicationId) {
         when(dopplerClient
             .recentLogs(RecentLogsRequest.builder()
@@ -3592,6 +3953,31 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestLogsStreamStartup(DopplerClient dopplerClient, String applicationId) {
+        when(dopplerClient
+            .stream(StreamRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Flux
+                .just(Envelope.builder()
+                        .eventType(EventType.LOG_MESSAGE)
+                        .logMessage(fill(LogMessage.builder(), "log-message-")
+                            .message("Staging complete")
+                            .sourceType("STG")
+                            .build())
+                        .origin("cc")
+                        .build(),
+                    Envelope.builder()
+                        .eventType(EventType.LOG_MESSAGE)
+                        .logMessage(fill(LogMessage.builder(), "log-message-")
+                            .message("Container became healthy")
+                            .sourceType("CELL")
+                            .build())
+                        .origin("rep")
+                        .build())
+                .concatWith(Flux.never()));
+    }
+
     private static void requestOrganizationSpacesByName(CloudFoundryClient cloudFoundryClient, String organizationId, String space) {
         when(cloudFoundryClient.organizations()
             .listSpaces(ListOrganizationSpacesRequest.builder()
@@ -3873,6 +4259,25 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestStacks(CloudFoundryClient cloudFoundryClient, String stack, String stackId) {
+        when(cloudFoundryClient.stacks()
+            .list(ListStacksRequest.builder()
+                .name(stack)
+                .page(1)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListStacksResponse.builder())
+                    .resource(fill(StackResource.builder())
+                        .metadata(fill(Metadata.builder())
+                            .id(stackId)
+                            .build())
+                        .entity(fill(StackEntity.builder(), "stack-entity-")
+                            .build())
+                        .build())
+                    .totalPages(1)
+                    .build()));
+    }
+
     private static void requestTcpDomains(CloudFoundryClient cloudFoundryClient, String domain, String domainId) {
         when(cloudFoundryClient.sharedDomains()
             .list(ListSharedDomainsRequest.builder()
@@ -4031,4 +4436,14 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestUpload(CloudFoundryClient cloudFoundryClient, String applicationId, Path application, Mono<UploadApplicationResponse> response) {
+        when(cloudFoundryClient.applicationsV2()
+            .upload(UploadApplicationRequest.builder()
+                .applicationId(applicationId)
+                .async(true)
+                .application(application)
+                .build()))
+            .thenReturn(response);
+    }
+
 }
@@ -22,6 +22,8 @@ import org.cloudfoundry.client.v2.Metadata;
 import org.cloudfoundry.client.v2.applications.ApplicationResource;
 import org.cloudfoundry.client.v2.applications.AssociateApplicationRouteRequest;
 import org.cloudfoundry.client.v2.applications.AssociateApplicationRouteResponse;
+import org.cloudfoundry.client.v2.applications.ListApplicationsRequest;
+import org.cloudfoundry.client.v2.applications.ListApplicationsResponse;
 import org.cloudfoundry.client.v2.applications.RemoveApplicationRouteRequest;
 import org.cloudfoundry.client.v2.jobs.ErrorDetails;
 import org.cloudfoundry.client.v2.jobs.GetJobRequest;
@@ -32,10 +34,12 @@ import org.cloudfoundry.client.v2.organizations.ListOrganizationPrivateDomainsRe
 import org.cloudfoundry.client.v2.organizations.ListOrganizationSpacesRequest;
 import org.cloudfoundry.client.v2.organizations.ListOrganizationSpacesResponse;
 import org.cloudfoundry.client.v2.privatedomains.PrivateDomainResource;
+import org.cloudfoundry.client.v2.routemappings.ListRouteMappingsRequest;
+import org.cloudfoundry.client.v2.routemappings.ListRouteMappingsResponse;
+import org.cloudfoundry.client.v2.routemappings.RouteMappingEntity;
+import org.cloudfoundry.client.v2.routemappings.RouteMappingResource;
 import org.cloudfoundry.client.v2.routes.CreateRouteResponse;
 import org.cloudfoundry.client.v2.routes.DeleteRouteResponse;
-import org.cloudfoundry.client.v2.routes.ListRouteApplicationsRequest;
-import org.cloudfoundry.client.v2.routes.ListRouteApplicationsResponse;
 import org.cloudfoundry.client.v2.routes.ListRoutesResponse;
 import org.cloudfoundry.client.v2.routes.RouteEntity;
 import org.cloudfoundry.client.v2.routes.RouteExistsRequest;
@@ -344,7 +348,7 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
     @Test
     public void deleteOrphanedRoutesAssociatedApplication() {
         requestSpaceRoutes(this.cloudFoundryClient, TEST_SPACE_ID);
-        requestApplications(this.cloudFoundryClient, "test-route-id");
+        requestRouteMappings(this.cloudFoundryClient, "test-route-id");
 
         this.routes
             .deleteOrphanedRoutes(DeleteOrphanedRoutesRequest.builder()
@@ -369,7 +373,7 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
     @Test
     public void deleteOrphanedRoutesNoAssociations() {
         requestSpaceRoutes(this.cloudFoundryClient, TEST_SPACE_ID);
-        requestApplicationsEmpty(this.cloudFoundryClient, "test-route-id");
+        requestRouteMappingsEmpty(this.cloudFoundryClient, "test-route-id");
         requestDeleteRoute(this.cloudFoundryClient, "test-route-id");
         requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
 
@@ -384,7 +388,7 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
     @Test
     public void deleteOrphanedRoutesNoAssociationsFailure() {
         requestSpaceRoutes(this.cloudFoundryClient, TEST_SPACE_ID);
-        requestApplicationsEmpty(this.cloudFoundryClient, "test-route-id");
+        requestRouteMappingsEmpty(this.cloudFoundryClient, "test-route-id");
         requestDeleteRoute(this.cloudFoundryClient, "test-route-id");
         requestJobFailure(this.cloudFoundryClient, "test-job-entity-id");
 
@@ -452,7 +456,8 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
         requestSharedDomainsAll(this.cloudFoundryClient);
         requestSpacesAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
         requestSpaceServiceInstances(this.cloudFoundryClient, "test-route-entity-serviceInstanceId", "test-route-entity-spaceId");
-        requestApplications(this.cloudFoundryClient, "test-id");
+        requestRouteMappings(this.cloudFoundryClient, "test-id");
+        requestListApplications(this.cloudFoundryClient, "test-route-entity-spaceId");
 
         this.routes
             .list(ListRoutesRequest.builder()
@@ -478,7 +483,6 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
         requestPrivateDomainsAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
         requestSharedDomainsAll(this.cloudFoundryClient);
         requestSpacesAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
-        requestApplications(this.cloudFoundryClient, "test-id");
 
         this.routes
             .list(ListRoutesRequest.builder()
@@ -495,7 +499,8 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
         requestPrivateDomainsAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
         requestSharedDomainsAll(this.cloudFoundryClient);
         requestSpacesAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
-        requestApplications(this.cloudFoundryClient, "test-route-id");
+        requestRouteMappings(this.cloudFoundryClient, "test-route-id");
+        requestListApplications(this.cloudFoundryClient, "test-route-entity-spaceId");
 
         this.routes
             .list(ListRoutesRequest.builder()
@@ -514,13 +519,38 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void listCurrentSpaceNoApplications() {
+        requestSpaceRoutes(this.cloudFoundryClient, TEST_SPACE_ID);
+        requestPrivateDomainsAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomainsAll(this.cloudFoundryClient);
+        requestSpacesAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestRouteMappingsEmpty(this.cloudFoundryClient, "test-route-id");
+
+        this.routes
+            .list(ListRoutesRequest.builder()
+                .level(Level.SPACE)
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(Route.builder()
+                .domain("test-shared-domain-name")
+                .host("test-route-entity-host")
+                .id("test-route-id")
+                .path("test-route-entity-path")
+                .space("test-space-entity-name")
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void listCurrentSpaceNoPath() {
         requestSpaceRoutesNoPath(this.cloudFoundryClient, TEST_SPACE_ID);
         requestPrivateDomainsAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
         requestSharedDomainsAll(this.cloudFoundryClient);
         requestSpacesAll(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
-        requestApplications(this.cloudFoundryClient, "test-route-id");
+        requestRouteMappings(this.cloudFoundryClient, "test-route-id");
+        requestListApplications(this.cloudFoundryClient, "test-route-entity-spaceId");
 
         this.routes
             .list(ListRoutesRequest.builder()
@@ -803,19 +833,6 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    private static void requestApplications(CloudFoundryClient cloudFoundryClient, String routeId) {
-        when(cloudFoundryClient.routes()
-            .listApplications(ListRouteApplicationsRequest.builder()
-                .page(1)
-                .routeId(routeId)
-                .build()))
-            .thenReturn(Mono
-                .just(fill(ListRouteApplicationsResponse.builder())
-                    .resource(fill(ApplicationResource.builder(), "application-")
-                        .build())
-                    .build()));
-    }
-
     private static void requestApplications(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
         when(cloudFoundryClient.spaces()
             .listApplications(ListSpaceApplicationsRequest.builder()
@@ -830,17 +847,6 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
                     .build()));
     }
 
-    private static void requestApplicationsEmpty(CloudFoundryClient cloudFoundryClient, String routeId) {
-        when(cloudFoundryClient.routes()
-            .listApplications(ListRouteApplicationsRequest.builder()
-                .page(1)
-                .routeId(routeId)
-                .build()))
-            .thenReturn(Mono
-                .just(fill(ListRouteApplicationsResponse.builder())
-                    .build()));
-    }
-
     private static void requestApplicationsEmpty(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
         when(cloudFoundryClient.spaces()
             .listApplications(ListSpaceApplicationsRequest.builder()
@@ -952,6 +958,19 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
                 }));
     }
 
+    private static void requestListApplications(CloudFoundryClient cloudFoundryClient, String spaceId) {
+        when(cloudFoundryClient.applicationsV2()
+            .list(ListApplicationsRequest.builder()
+                .page(1)
+                .spaceId(spaceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListApplicationsResponse.builder())
+                    .resource(fill(ApplicationResource.builder(), "application-")
+                        .build())
+                    .build()));
+    }
+
     private static void requestOrganizationsRoutes(CloudFoundryClient cloudFoundryClient, String organizationId) {
         when(cloudFoundryClient.routes()
             .list(org.cloudfoundry.client.v2.routes.ListRoutesRequest.builder()
@@ -1031,6 +1050,34 @@ public final class DefaultRoutesTest extends AbstractOperationsTest {
             .thenReturn(Mono.empty());
     }
 
+    private static void requestRouteMappings(CloudFoundryClient cloudFoundryClient, String routeId) {
+        when(cloudFoundryClient.routeMappings()
+            .list(ListRouteMappingsRequest.builder()
+                .page(1)
+                .routeId(routeId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListRouteMappingsResponse.builder())
+                    .resource(fill(RouteMappingResource.builder(), "route-mapping-")
+                        .entity(fill(RouteMappingEntity.builder(), "route-mapping-entity-")
+                            .applicationId("test-application-id")
+                            .routeId(routeId)
+                            .build())
+                        .build())
+                    .build()));
+    }
+
+    private static void requestRouteMappingsEmpty(CloudFoundryClient cloudFoundryClient, String routeId) {
+        when(cloudFoundryClient.routeMappings()
+            .list(ListRouteMappingsRequest.builder()
+                .page(1)
+                .routeId(routeId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListRouteMappingsResponse.builder())
+                    .build()));
+    }
+
     private static void requestRouteExistsFalse(CloudFoundryClient cloudFoundryClient, String domainId, String host, String path) {
         when(cloudFoundryClient.routes()
             .exists(RouteExistsRequest.builder()
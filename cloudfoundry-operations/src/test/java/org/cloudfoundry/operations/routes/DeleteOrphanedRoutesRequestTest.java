@@ -20,6 +20,13 @@ import org.junit.Test;
 
 public final class DeleteOrphanedRoutesRequestTest {
 
+    @Test(expected = IllegalStateException.class)
+    public void invalidMaxConcurrency() {
+        DeleteOrphanedRoutesRequest.builder()
+            .maxConcurrency(0)
+            .build();
+    }
+
     @Test
     public void valid() {
         DeleteOrphanedRoutesRequest.builder()
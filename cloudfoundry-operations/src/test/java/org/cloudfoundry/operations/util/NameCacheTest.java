@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.operations.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class NameCacheTest {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Test
+    public void cached() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        get(nameCache, "test-name")
+            .repeat(2)
+            .as(StepVerifier::create)
+            .expectNext("test-id-1", "test-id-1", "test-id-1")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.count).hasValue(1);
+    }
+
+    @Test
+    public void disabled() {
+        NameCache nameCache = NameCache.disabled();
+
+        get(nameCache, "test-name")
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext("test-id-1", "test-id-2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nameCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void error() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        nameCache.get(NameCache.Type.APPLICATION, "test-space-id", "test-name", Mono.error(new IllegalArgumentException("Application test-name does not exist")))
+            .as(StepVerifier::create)
+            .expectErrorMessage("Application test-name does not exist")
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nameCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void evicted() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1), 1);
+
+        get(nameCache, "test-name-1")
+            .then(get(nameCache, "test-name-2"))
+            .then(get(nameCache, "test-name-1"))
+            .as(StepVerifier::create)
+            .expectNext("test-id-3")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nameCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void expired() {
+        NameCache nameCache = NameCache.create(Duration.ZERO);
+
+        get(nameCache, "test-name")
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext("test-id-1", "test-id-2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void invalidated() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        get(nameCache, "test-name")
+            .doOnNext(id -> nameCache.invalidate(NameCache.Type.APPLICATION, "test-space-id", "test-name"))
+            .repeat(1)
+            .as(StepVerifier::create)
+            .expectNext("test-id-1", "test-id-2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void invalidatingCancel() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        get(nameCache, "test-name")
+            .then(nameCache.invalidating(NameCache.Type.APPLICATION, "test-space-id", "test-name", get(nameCache, "test-name")
+                .then(Mono.never())))
+            .as(StepVerifier::create)
+            .expectSubscription()
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nameCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void invalidatingError() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        get(nameCache, "test-name")
+            .then(nameCache.invalidating(NameCache.Type.APPLICATION, "test-space-id", "test-name", get(nameCache, "test-name")
+                .then(Mono.error(new IllegalStateException("test-message")))))
+            .as(StepVerifier::create)
+            .expectErrorMessage("test-message")
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nameCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void invalidatingMutation() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        get(nameCache, "test-name")
+            .then(nameCache.invalidating(NameCache.Type.APPLICATION, "test-space-id", "test-name", get(nameCache, "test-name")))
+            .then(get(nameCache, "test-name"))
+            .as(StepVerifier::create)
+            .expectNext("test-id-3")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void scoped() {
+        NameCache nameCache = NameCache.create(Duration.ofMinutes(1));
+
+        get(nameCache, "test-name")
+            .then(nameCache.get(NameCache.Type.SERVICE_INSTANCE, "test-space-id", "test-name", Mono.fromCallable(() -> "test-id-" + this.count.incrementAndGet())))
+            .as(StepVerifier::create)
+            .expectNext("test-id-2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nameCache.size()).isEqualTo(2);
+    }
+
+    private Mono<String> get(NameCache nameCache, String name) {
+        return nameCache.get(NameCache.Type.APPLICATION, "test-space-id", name, Mono.fromCallable(() -> "test-id-" + this.count.incrementAndGet()));
+    }
+
+}
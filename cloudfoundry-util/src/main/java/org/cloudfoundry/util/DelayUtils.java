@@ -21,11 +21,15 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -36,6 +40,8 @@ public final class DelayUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.delay");
 
+    private static final int MAXIMUM_EXPONENT = 20;
+
     private DelayUtils() {
     }
 
@@ -90,11 +96,67 @@ public final class DelayUtils {
                 .doOnSubscribe(logDelay(Duration.ZERO)), 1);
     }
 
+    /**
+     * Implements an exponential backoff delay with jitter for use with {@link Mono#repeatWhenEmpty(Function)}.  Each delay is chosen at random between the minimum and the exponentially
+     * growing bound, and never extends past the timeout.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Long>, Publisher<?>> jitteredBackOff(Duration minimum, Duration maximum, Duration timeout) {
+        Instant finish = Instant.now().plus(timeout);
+        return iterations -> getJitteredDelay(minimum, maximum, finish, iterations, Mono::delay);
+    }
+
+    /**
+     * Implements an exponential backoff delay with jitter for use with {@link Mono#repeatWhenEmpty(Function)} that ends early each time {@code signals} emits, but never before {@code minimum}
+     * has passed, so that a burst of signals cannot cause a burst of repeats.  {@code signals} is subscribed to once, when the first delay starts, and cancelled when the repeat finishes.  If it
+     * errors or completes, the backoff continues without it.
+     *
+     * @param signals the signals that end a delay early
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Long>, Publisher<?>> signalledBackOff(Publisher<?> signals, Duration minimum, Duration maximum, Duration timeout) {
+        Instant finish = Instant.now().plus(timeout);
+
+        return iterations -> Flux.defer(() -> {
+            AtomicReference<Disposable> connection = new AtomicReference<>();
+
+            Flux<Long> shared = Flux.from(signals)
+                .map(signal -> 0L)
+                .onErrorResume(t -> {
+                    LOGGER.debug("Delay signals failed", t);
+                    return Mono.empty();
+                })
+                .concatWith(Mono.never())
+                .onBackpressureLatest()
+                .publish(1)
+                .autoConnect(1, connection::set);
+
+            return getJitteredDelay(minimum, maximum, finish, iterations, delay -> Mono
+                .when(Mono.delay(min(minimum, delay)), Mono.first(shared.next(), Mono.delay(delay)))
+                .thenReturn(0L))
+                .doFinally(signal -> Optional.ofNullable(connection.get()).ifPresent(Disposable::dispose));
+        });
+    }
+
     private static Duration calculateDuration(Duration minimum, Duration maximum, Long iteration) {
-        Duration candidate = minimum.multipliedBy((long) Math.pow(2, iteration));
+        Duration candidate = minimum.multipliedBy((long) Math.pow(2, Math.min(iteration, MAXIMUM_EXPONENT)));
         return min(candidate, maximum);
     }
 
+    private static Duration calculateJitteredDuration(Duration minimum, Duration maximum, Long iteration) {
+        long bound = calculateDuration(minimum, maximum, iteration).toNanos();
+        long origin = Math.min(minimum.toNanos(), bound);
+
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(origin, bound + 1));
+    }
+
     private static Flux<?> getDelay(Duration minimum, Duration maximum, Instant finish, Flux<Long> iterations) {
         return iterations
             .map(iteration -> calculateDuration(minimum, maximum, iteration))
@@ -109,6 +171,21 @@ public final class DelayUtils {
             }, 1);
     }
 
+    private static Flux<?> getJitteredDelay(Duration minimum, Duration maximum, Instant finish, Flux<Long> iterations, Function<Duration, Mono<Long>> delayer) {
+        return iterations
+            .flatMap(iteration -> {
+                Instant now = Instant.now();
+                if (now.isAfter(finish)) {
+                    return Mono.error(new DelayTimeoutException());
+                }
+
+                Duration delay = min(calculateJitteredDuration(minimum, maximum, iteration), Duration.between(now, finish));
+
+                return delayer.apply(delay)
+                    .doOnSubscribe(logDelay(delay));
+            }, 1);
+    }
+
     private static Consumer<Subscription> logDelay(Duration delay) {
         return subscription -> {
             int seconds = (int) delay.getSeconds();
@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.util;
 
+import org.cloudfoundry.RetryableCloudFoundryException;
 import org.cloudfoundry.client.v2.ClientV2Exception;
 import reactor.core.publisher.Mono;
 
@@ -61,14 +62,18 @@ public final class ExceptionUtils {
     }
 
     /**
-     * A predicate that returns {@code true} if the exception is a {@link ClientV2Exception} and its code matches expectation
+     * A predicate that returns {@code true} if the exception is a {@link ClientV2Exception}, or a {@link RetryableCloudFoundryException} caused by one, and its code matches expectation
      *
      * @param codes the codes to match
      * @return {@code true} if the exception is a {@link ClientV2Exception} and its code matches
      */
     public static Predicate<? super Throwable> statusCode(int... codes) {
-        return t -> t instanceof ClientV2Exception &&
-            Arrays.stream(codes).anyMatch(candidate -> ((ClientV2Exception) t).getCode().equals(candidate));
+        return t -> {
+            Throwable candidate = t instanceof RetryableCloudFoundryException ? t.getCause() : t;
+
+            return candidate instanceof ClientV2Exception &&
+                Arrays.stream(codes).anyMatch(code -> ((ClientV2Exception) candidate).getCode().equals(code));
+        };
     }
 
 }
@@ -16,15 +16,22 @@
 
 package org.cloudfoundry.util;
 
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.CountingOutputStream;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
 import reactor.core.scheduler.Schedulers;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -32,10 +39,15 @@ import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Enumeration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 /**
  * Utilities for files
@@ -98,6 +110,76 @@ public final class FileUtils {
             .subscribeOn(Schedulers.elastic());
     }
 
+    /**
+     * Packages a candidate {@link Path} into a stream of zip chunks without writing an intermediate file
+     *
+     * @param candidate the candidate {@link Path} to package
+     * @return the packaged artifact as a stream of chunks
+     */
+    public static Flux<byte[]> compressStream(Path candidate) {
+        return compressStream(candidate, path -> true);
+    }
+
+    /**
+     * Packages a candidate {@link Path} into a stream of zip chunks without writing an intermediate file, filtering out entries.  Entries are {@code STORED} rather than deflated so that the
+     * size of the artifact is known from file metadata alone (see {@link #compressedSize(Path, Predicate)}).  Chunks are only produced as they are requested, so a slow consumer never causes the
+     * artifact to be buffered in memory.  Artifacts with more than 65,534 entries, or that would be 4 GiB or larger, are written with Zip64 extensions.
+     * <p>
+     * Each file is read once to calculate its CRC and again to stream it.  If a file changes in between, the stream fails with an {@link IOException} rather than producing an artifact whose
+     * length differs from its {@link #compressedSize(Path, Predicate) calculated size}.
+     *
+     * @param candidate the candidate {@link Path} to package
+     * @param filter    a filter applied to each path
+     * @return the packaged artifact as a stream of chunks
+     */
+    public static Flux<byte[]> compressStream(Path candidate, Predicate<String> filter) {
+        return compressStream(candidate, filter, false);
+    }
+
+    /**
+     * Packages a candidate {@link Path} into a stream of zip chunks without writing an intermediate file, filtering out entries.  If {@code deflate} is {@code true}, entries are deflated and each
+     * file is read only once, but the size of the artifact is not known until it has been streamed, so it can only be sent where no {@code Content-Length} is needed.  Otherwise, entries are
+     * {@code STORED} as described in {@link #compressStream(Path, Predicate)}.
+     *
+     * @param candidate the candidate {@link Path} to package
+     * @param filter    a filter applied to each path
+     * @param deflate   whether entries are deflated
+     * @return the packaged artifact as a stream of chunks
+     */
+    public static Flux<byte[]> compressStream(Path candidate, Predicate<String> filter, boolean deflate) {
+        return Flux
+            .<byte[], ZipGenerator>generate(() -> ZipGenerator.create(candidate, filter, deflate), ZipGenerator::generate, ZipGenerator::close)
+            .subscribeOn(Schedulers.elastic());
+    }
+
+    /**
+     * Calculates the size of the artifact that {@link #compressStream(Path)} will produce for a candidate {@link Path}
+     *
+     * @param candidate the candidate {@link Path} to package
+     * @return the size of the packaged artifact
+     */
+    public static Mono<Long> compressedSize(Path candidate) {
+        return compressedSize(candidate, path -> true);
+    }
+
+    /**
+     * Calculates the size of the artifact that {@link #compressStream(Path, Predicate)} will produce for a candidate {@link Path}, so that it can be used as a {@code Content-Length} before
+     * the artifact is streamed.  Since entries are {@code STORED}, the size is the length of the zip structure plus the size of each file; no file contents are read.
+     *
+     * @param candidate the candidate {@link Path} to package
+     * @param filter    a filter applied to each path
+     * @return the size of the packaged artifact
+     */
+    public static Mono<Long> compressedSize(Path candidate, Predicate<String> filter) {
+        return Mono
+            .fromCallable(() -> {
+                try (ZipSources sources = ZipSources.create(candidate, filter)) {
+                    return sources.size();
+                }
+            })
+            .subscribeOn(Schedulers.elastic());
+    }
+
     /**
      * Get the relative path of an application
      *
@@ -190,16 +272,8 @@ public final class FileUtils {
     }
 
     private static void compressFromDirectory(Path candidate, Predicate<String> filter, ZipArchiveOutputStream out) {
-        try (Stream<Path> contents = Files.walk(candidate)) {
+        try (Stream<Path> contents = walk(candidate, filter)) {
             contents
-                .filter(path -> {
-                    try {
-                        return !Files.isSameFile(candidate, path);
-                    } catch (IOException e) {
-                        throw Exceptions.propagate(e);
-                    }
-                })
-                .filter(path -> filter.test(getRelativePathName(candidate, path)))
                 .forEach(path -> {
                     try (InputStream in = Files.isDirectory(path) ? null : Files.newInputStream(path)) {
                         write(in, Files.getLastModifiedTime(path), getUnixMode(path), out, getRelativePathName(candidate, path));
@@ -214,16 +288,9 @@ public final class FileUtils {
 
     private static void compressFromZip(Path candidate, Predicate<String> filter, ZipArchiveOutputStream out) {
         try (ZipFile zipFile = new ZipFile(candidate.toFile())) {
-            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
-
-            while (entries.hasMoreElements()) {
-                ZipArchiveEntry entry = entries.nextElement();
-
-                if (filter.test(entry.getName())) {
-                    try (InputStream in = zipFile.getInputStream(entry)) {
-                        int mode = entry.getUnixMode();
-                        write(in, entry.getLastModifiedTime(), mode == 0 ? DEFAULT_PERMISSIONS : mode, out, entry.getName());
-                    }
+            for (ZipArchiveEntry entry : getEntries(zipFile, filter)) {
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    write(in, entry.getLastModifiedTime(), getUnixMode(entry), out, entry.getName());
                 }
             }
         } catch (IOException e) {
@@ -231,6 +298,17 @@ public final class FileUtils {
         }
     }
 
+    private static List<ZipArchiveEntry> getEntries(ZipFile zipFile, Predicate<String> filter) {
+        return Collections.list(zipFile.getEntries()).stream()
+            .filter(entry -> filter.test(entry.getName()))
+            .collect(Collectors.toList());
+    }
+
+    private static int getUnixMode(ZipArchiveEntry entry) {
+        int mode = entry.getUnixMode();
+        return mode == 0 ? DEFAULT_PERMISSIONS : mode;
+    }
+
     private static int getUnixMode(Path path) throws IOException {
         if (!isPosixFile(path)) {
             return DEFAULT_PERMISSIONS;
@@ -245,6 +323,18 @@ public final class FileUtils {
         return path.getFileSystem().supportedFileAttributeViews().contains("posix");
     }
 
+    private static Stream<Path> walk(Path candidate, Predicate<String> filter) throws IOException {
+        return Files.walk(candidate)
+            .filter(path -> {
+                try {
+                    return !Files.isSameFile(candidate, path);
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            })
+            .filter(path -> filter.test(getRelativePathName(candidate, path)));
+    }
+
     private static void write(InputStream in, FileTime lastModifiedTime, int mode, ZipArchiveOutputStream out, String path) {
         try {
             ZipArchiveEntry entry = new ZipArchiveEntry(path);
@@ -271,4 +361,301 @@ public final class FileUtils {
         }
     }
 
+    @FunctionalInterface
+    private interface InputStreamSupplier {
+
+        InputStream get() throws IOException;
+
+    }
+
+    private static final class ZipGenerator {
+
+        private static final int CHUNK_SIZE = 64 * 1_024;
+
+        private static final long UNSIZED = -1;
+
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE);
+
+        private final boolean deflate;
+
+        private final Iterator<ZipSource> iterator;
+
+        private final ZipArchiveOutputStream out;
+
+        private final byte[] readBuffer = new byte[8 * 1_024];
+
+        private final ZipSources sources;
+
+        private ZipSource current;
+
+        private boolean finished;
+
+        private InputStream in;
+
+        private long remaining;
+
+        private ZipGenerator(ZipSources sources, boolean deflate) {
+            this.deflate = deflate;
+            this.sources = sources;
+            this.iterator = sources.sources.iterator();
+            this.out = sources.newOutputStream(this.chunk);
+        }
+
+        private static ZipGenerator create(Path candidate, Predicate<String> filter, boolean deflate) throws IOException {
+            return new ZipGenerator(ZipSources.create(candidate, filter), deflate);
+        }
+
+        private void close() {
+            try {
+                if (this.in != null) {
+                    this.in.close();
+                }
+
+                this.sources.close();
+                this.out.close();
+            } catch (IOException e) {
+                // an archive abandoned part way through an entry cannot be finished, but closing it still releases its resources
+                if (this.finished) {
+                    throw Exceptions.propagate(e);
+                }
+            }
+        }
+
+        private ZipGenerator generate(SynchronousSink<byte[]> sink) {
+            try {
+                while (this.chunk.size() < CHUNK_SIZE && !this.finished) {
+                    step();
+                }
+
+                if (this.chunk.size() == 0) {
+                    sink.complete();
+                } else {
+                    sink.next(this.chunk.toByteArray());
+                    this.chunk.reset();
+                }
+            } catch (IOException e) {
+                sink.error(e);
+            }
+
+            return this;
+        }
+
+        private void step() throws IOException {
+            if (this.in != null && this.remaining == UNSIZED) {
+                int length = this.in.read(this.readBuffer);
+
+                if (length == -1) {
+                    this.in.close();
+                    this.in = null;
+                    this.out.closeArchiveEntry();
+                } else {
+                    this.out.write(this.readBuffer, 0, length);
+                }
+            } else if (this.in != null) {
+                int length = this.in.read(this.readBuffer, 0, (int) Math.min(this.readBuffer.length, this.remaining + 1));
+
+                if (length == -1) {
+                    if (this.remaining != 0) {
+                        throw new IOException(String.format("%s is %d bytes shorter than when its size was calculated", this.current.name, this.remaining));
+                    }
+
+                    this.in.close();
+                    this.in = null;
+                    this.out.closeArchiveEntry();
+                } else if (length > this.remaining) {
+                    throw new IOException(String.format("%s is longer than when its size was calculated", this.current.name));
+                } else {
+                    this.remaining -= length;
+                    this.out.write(this.readBuffer, 0, length);
+                }
+            } else if (this.iterator.hasNext()) {
+                this.current = this.iterator.next();
+                this.out.putArchiveEntry(this.deflate ? this.current.toDeflatedEntry() : this.current.toEntry(this.current.size, this.current.getCrc()));
+
+                if (this.current.inputStreamSupplier == null) {
+                    this.out.closeArchiveEntry();
+                } else {
+                    this.in = this.current.inputStreamSupplier.get();
+                    this.remaining = this.deflate ? UNSIZED : this.current.size;
+                }
+            } else {
+                this.out.finish();
+                this.finished = true;
+            }
+        }
+
+    }
+
+    private static final class ZipSource {
+
+        private final long crc;
+
+        private final InputStreamSupplier inputStreamSupplier;
+
+        private final FileTime lastModifiedTime;
+
+        private final int mode;
+
+        private final String name;
+
+        private final long size;
+
+        private ZipSource(String name, FileTime lastModifiedTime, int mode, long size, long crc, InputStreamSupplier inputStreamSupplier) {
+            this.crc = crc;
+            this.inputStreamSupplier = inputStreamSupplier;
+            this.lastModifiedTime = lastModifiedTime;
+            this.mode = mode;
+            this.name = name;
+            this.size = size;
+        }
+
+        private long getCrc() throws IOException {
+            if (this.crc != -1 || this.inputStreamSupplier == null) {
+                return Math.max(this.crc, 0);
+            }
+
+            CRC32 crc = new CRC32();
+
+            try (InputStream in = this.inputStreamSupplier.get()) {
+                ByteArrayPool.withByteArray(buffer -> {
+                    try {
+                        int length;
+                        while ((length = in.read(buffer)) != -1) {
+                            crc.update(buffer, 0, length);
+                        }
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                });
+            }
+
+            return crc.getValue();
+        }
+
+        /**
+         * Returns an entry whose size and CRC are written after its contents, since neither is known until it has been deflated
+         */
+        private ZipArchiveEntry toDeflatedEntry() {
+            ZipArchiveEntry entry = new ZipArchiveEntry(this.name);
+            entry.setLastModifiedTime(this.lastModifiedTime);
+            entry.setMethod(ZipEntry.DEFLATED);
+            entry.setUnixMode(this.mode);
+            return entry;
+        }
+
+        private ZipArchiveEntry toEntry(long size, long crc) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(this.name);
+            entry.setCrc(crc);
+            entry.setLastModifiedTime(this.lastModifiedTime);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setUnixMode(this.mode);
+            return entry;
+        }
+
+    }
+
+    /**
+     * The entries of a zip artifact, read from either a directory or an existing zip file
+     */
+    private static final class ZipSources implements Closeable {
+
+        private static final int ZIP64_MAXIMUM_ENTRIES = 0xFFFF;
+
+        private static final long ZIP64_MAXIMUM_SIZE = 0xFFFFFFFFL;
+
+        private final List<ZipSource> sources;
+
+        private final Zip64Mode zip64Mode;
+
+        private final ZipFile zipFile;
+
+        private ZipSources(List<ZipSource> sources, Zip64Mode zip64Mode, ZipFile zipFile) {
+            this.sources = sources;
+            this.zip64Mode = zip64Mode;
+            this.zipFile = zipFile;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.zipFile != null) {
+                this.zipFile.close();
+            }
+        }
+
+        private static ZipSources create(Path candidate, Predicate<String> filter) throws IOException {
+            if (!Files.isDirectory(candidate)) {
+                ZipFile zipFile = new ZipFile(candidate.toFile());
+
+                return create(getEntries(zipFile, filter).stream()
+                    .map(entry -> new ZipSource(entry.getName(), entry.getLastModifiedTime(), getUnixMode(entry), entry.isDirectory() ? 0 : entry.getSize(), entry.isDirectory() ? 0 : entry.getCrc(),
+                        entry.isDirectory() ? null : () -> zipFile.getInputStream(entry)))
+                    .collect(Collectors.toList()), zipFile);
+            }
+
+            try (Stream<Path> contents = walk(candidate, filter)) {
+                return create(contents
+                    .map(path -> {
+                        try {
+                            boolean directory = Files.isDirectory(path);
+                            return new ZipSource(getRelativePathName(candidate, path), Files.getLastModifiedTime(path), getUnixMode(path), directory ? 0 : Files.size(path), directory ? 0 : -1,
+                                directory ? null : () -> Files.newInputStream(path));
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    })
+                    .collect(Collectors.toList()), null);
+            }
+        }
+
+        /**
+         * Chooses whether the artifact is written with Zip64 extensions.  Either way, every header has a length that does not depend on the size or offset of its entry, so the structure
+         * can be sized with empty entries.  The size is first calculated without Zip64, and since every offset is smaller than that size, an artifact that stays under the limit never needs it.
+         */
+        private static ZipSources create(List<ZipSource> sources, ZipFile zipFile) throws IOException {
+            if (sources.size() < ZIP64_MAXIMUM_ENTRIES && new ZipSources(sources, Zip64Mode.Never, zipFile).size() < ZIP64_MAXIMUM_SIZE) {
+                return new ZipSources(sources, Zip64Mode.Never, zipFile);
+            }
+
+            return new ZipSources(sources, Zip64Mode.Always, zipFile);
+        }
+
+        private ZipArchiveOutputStream newOutputStream(OutputStream out) {
+            ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out);
+            zip.setUseZip64(this.zip64Mode);
+            return zip;
+        }
+
+        /**
+         * Writes the zip structure with empty entries, whose headers are the same length as those of the full entries, and adds the size of each entry's contents
+         */
+        private long size() throws IOException {
+            CountingOutputStream counter = new CountingOutputStream(new OutputStream() {
+
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+
+            });
+
+            try (ZipArchiveOutputStream out = newOutputStream(counter)) {
+                for (ZipSource source : this.sources) {
+                    out.putArchiveEntry(source.toEntry(0, 0));
+                    out.closeArchiveEntry();
+                }
+
+                out.finish();
+            }
+
+            return counter.getBytesWritten() + this.sources.stream()
+                .mapToLong(source -> source.size)
+                .sum();
+        }
+
+    }
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import reactor.core.Exceptions;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A cache of SHA-1 hashes keyed by path, size, and last modified time.  A file whose size and last modified time have not changed since it was last hashed is not read again.  A file that
+ * changes while it is being hashed is not cached.
+ */
+public final class HashCache {
+
+    private static final String DELIMITER = "\t";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Path file;
+
+    private final Function<Path, String> hashFunction;
+
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+    private HashCache(Path file) {
+        this(file, FileUtils::hash);
+    }
+
+    HashCache(Path file, Function<Path, String> hashFunction) {
+        this.file = file;
+        this.hashFunction = hashFunction;
+    }
+
+    /**
+     * Creates a new in-memory cache
+     *
+     * @return the cache
+     */
+    public static HashCache create() {
+        return new HashCache(null);
+    }
+
+    /**
+     * Creates a new cache that is persisted to a file.  If the file exists, its contents are loaded into the cache.
+     *
+     * @param file the file the cache is persisted to
+     * @return the cache
+     */
+    public static HashCache persistent(Path file) {
+        HashCache hashCache = new HashCache(file);
+
+        if (Files.exists(file)) {
+            hashCache.load();
+        }
+
+        return hashCache;
+    }
+
+    /**
+     * Returns the SHA-1 hash for a {@link Path}, calculating it only if the path is not cached or its size or last modified time has changed
+     *
+     * @param path the {@link Path} to return the hash for
+     * @return a {@link String} representation of the hash
+     */
+    public String hash(Path path) {
+        try {
+            String key = path.toAbsolutePath().toString();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            this.seen.add(key);
+
+            Entry entry = this.entries.get(key);
+            if (entry != null && entry.matches(attributes)) {
+                return entry.hash;
+            }
+
+            String hash = this.hashFunction.apply(path);
+
+            entry = new Entry(hash, attributes.lastModifiedTime().toMillis(), attributes.size());
+            if (entry.matches(Files.readAttributes(path, BasicFileAttributes.class))) {
+                this.entries.put(key, entry);
+            }
+
+            return hash;
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    /**
+     * Writes the contents of the cache to its file.  Entries for paths that have not been hashed since the cache was created are dropped, so files that are no longer pushed do not
+     * accumulate.  Does nothing for an in-memory cache.
+     */
+    public void save() {
+        if (this.file == null) {
+            return;
+        }
+
+        this.entries.keySet().retainAll(this.seen);
+
+        try {
+            Path staging = Files.createTempFile(this.file.toAbsolutePath().getParent(), String.format("%s-", this.file.getFileName()), ".tmp");
+
+            try (BufferedWriter out = Files.newBufferedWriter(staging, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+                    out.write(String.join(DELIMITER, entry.getValue().hash, String.valueOf(entry.getValue().size), String.valueOf(entry.getValue().lastModified), entry.getKey()));
+                    out.newLine();
+                }
+            }
+
+            Files.move(staging, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private void load() {
+        try (BufferedReader in = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(DELIMITER, 4);
+
+                if (fields.length == 4) {
+                    this.entries.put(fields[3], new Entry(fields[0], Long.parseLong(fields[2]), Long.parseLong(fields[1])));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            this.entries.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String hash;
+
+        private final long lastModified;
+
+        private final long size;
+
+        private Entry(String hash, long lastModified, long size) {
+            this.hash = hash;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return this.size == attributes.size() && this.lastModified == attributes.lastModifiedTime().toMillis();
+        }
+
+    }
+
+}
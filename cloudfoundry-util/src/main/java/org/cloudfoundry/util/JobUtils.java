@@ -27,10 +27,16 @@ import org.cloudfoundry.client.v3.ClientV3Exception;
 import org.cloudfoundry.client.v3.Error;
 import org.cloudfoundry.client.v3.jobs.Job;
 import org.cloudfoundry.client.v3.jobs.JobState;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static org.cloudfoundry.util.DelayUtils.exponentialBackOff;
 
@@ -39,6 +45,12 @@ import static org.cloudfoundry.util.DelayUtils.exponentialBackOff;
  */
 public final class JobUtils {
 
+    private static final int POLL_CONCURRENCY = 8;
+
+    private static final Duration POLL_MAXIMUM = Duration.ofSeconds(15);
+
+    private static final Duration POLL_MINIMUM = Duration.ofSeconds(1);
+
     private static final Integer STATUS_OK = 200;
 
     private JobUtils() {
@@ -57,6 +69,55 @@ public final class JobUtils {
         return waitForCompletion(cloudFoundryClient, completionTimeout, ResourceUtils.getEntity(resource));
     }
 
+    /**
+     * Waits for a collection of jobs to complete.  The status of every outstanding job is requested on a single, shared back off schedule rather than each job being polled independently.
+     *
+     * @param cloudFoundryClient the client to use to request job status
+     * @param completionTimeout  the amount of time to wait for all of the jobs to complete.
+     * @param jobEntities        the entities representing the jobs
+     * @return {@code onComplete} once all of the jobs have completed, or an error as soon as any of them has failed
+     */
+    public static Mono<Void> waitForCompletion(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, Collection<JobEntity> jobEntities) {
+        return Mono.defer(() -> waitForCompletion(cloudFoundryClient, exponentialBackOff(POLL_MINIMUM, POLL_MAXIMUM, completionTimeout), jobEntities));
+    }
+
+    /**
+     * Waits for a collection of jobs to complete, polling on the given back off schedule.  This allows jobs that are known to be short operations to be polled more frequently than the default
+     * schedule, for example with {@link DelayUtils#jitteredBackOff(Duration, Duration, Duration)}.
+     *
+     * @param cloudFoundryClient the client to use to request job status
+     * @param backOff            the back off schedule, including its timeout, for use with {@link Mono#repeatWhenEmpty(Function)}
+     * @param jobEntities        the entities representing the jobs
+     * @return {@code onComplete} once all of the jobs have completed, or an error as soon as any of them has failed
+     */
+    public static Mono<Void> waitForCompletion(CloudFoundryClient cloudFoundryClient, Function<Flux<Long>, Publisher<?>> backOff, Collection<JobEntity> jobEntities) {
+        return Mono.defer(() -> {
+            Set<String> outstanding = ConcurrentHashMap.newKeySet();
+
+            jobEntities.stream()
+                .filter(entity -> !JobUtils.isComplete(entity))
+                .map(JobEntity::getId)
+                .forEach(outstanding::add);
+
+            Mono<Boolean> poll = Flux.fromIterable(outstanding)
+                .flatMap(jobId -> requestJobV2(cloudFoundryClient, jobId)
+                    .map(GetJobResponse::getEntity)
+                    .filter(JobUtils::isComplete)
+                    .doOnNext(entity -> outstanding.remove(jobId)), POLL_CONCURRENCY)
+                .filter(entity -> "failed".equals(entity.getStatus()))
+                .flatMap(JobUtils::getError)
+                .then(Mono.fromCallable(outstanding::isEmpty))
+                .filter(complete -> complete)
+                .repeatWhenEmpty(backOff);
+
+            return Flux.fromIterable(jobEntities)
+                .filter(entity -> "failed".equals(entity.getStatus()))
+                .concatMap(JobUtils::getError)
+                .then(poll)
+                .then();
+        });
+    }
+
     /**
      * Waits for a job to complete
      *
@@ -74,7 +135,7 @@ public final class JobUtils {
             job = requestJobV2(cloudFoundryClient, jobEntity.getId())
                 .map(GetJobResponse::getEntity)
                 .filter(JobUtils::isComplete)
-                .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout));
+                .repeatWhenEmpty(exponentialBackOff(POLL_MINIMUM, POLL_MAXIMUM, completionTimeout));
         }
 
         return job
@@ -93,7 +154,7 @@ public final class JobUtils {
     public static Mono<Void> waitForCompletion(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, String jobId) {
         return requestJobV3(cloudFoundryClient, jobId)
             .filter(job -> JobState.PROCESSING != job.getState())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout))
+            .repeatWhenEmpty(exponentialBackOff(POLL_MINIMUM, POLL_MAXIMUM, completionTimeout))
             .filter(job -> JobState.FAILED == job.getState())
             .flatMap(JobUtils::getError);
     }
@@ -28,6 +28,11 @@ import java.util.function.Function;
  */
 public final class PaginationUtils {
 
+    /**
+     * The default maximum number of pages that will be requested concurrently
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
     private PaginationUtils() {
     }
 
@@ -42,10 +47,26 @@ public final class PaginationUtils {
     public static <T extends org.cloudfoundry.client.v2.Resource<?>, U extends org.cloudfoundry.client.v2.PaginatedResponse<T>> Flux<T> requestClientV2Resources(
         Function<Integer, Mono<U>> pageSupplier) {
 
+        return requestClientV2Resources(pageSupplier, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.  Pages are emitted in order as soon as they are available, and at most
+     * <code>concurrency</code> pages are requested ahead of downstream demand.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.client.v2.PaginatedResponse}s.
+     * @param concurrency  the maximum number of pages to request concurrently.
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.client.v2.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.client.v2.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    public static <T extends org.cloudfoundry.client.v2.Resource<?>, U extends org.cloudfoundry.client.v2.PaginatedResponse<T>> Flux<T> requestClientV2Resources(
+        Function<Integer, Mono<U>> pageSupplier, int concurrency) {
+
         return pageSupplier
             .apply(1)
-            .flatMapMany(requestClientV2AdditionalPages(pageSupplier))
-            .flatMap(ResourceUtils::getResources);
+            .flatMapMany(requestClientV2AdditionalPages(pageSupplier, concurrency))
+            .concatMap(ResourceUtils::getResources);
     }
 
     /**
@@ -56,11 +77,24 @@ public final class PaginationUtils {
      * @param <U>          the type of {@link org.cloudfoundry.client.v3.PaginatedResponse}.
      * @return a stream of <code>T</code> objects.
      */
-    @SuppressWarnings("rawtypes")
     public static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3Resources(Function<Integer, Mono<U>> pageSupplier) {
+        return requestClientV3Resources(pageSupplier, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.  Pages are emitted in order as soon as they are available, and at most
+     * <code>concurrency</code> pages are requested ahead of downstream demand.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.client.v3.PaginatedResponse}s.
+     * @param concurrency  the maximum number of pages to request concurrently.
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    public static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3Resources(Function<Integer, Mono<U>> pageSupplier, int concurrency) {
         return pageSupplier
             .apply(1)
-            .flatMapMany(requestClientV3AdditionalPages(pageSupplier))
+            .flatMapMany(requestClientV3AdditionalPages(pageSupplier, concurrency))
             .flatMapIterable(org.cloudfoundry.client.v3.PaginatedResponse::getResources);
     }
 
@@ -72,46 +106,55 @@ public final class PaginationUtils {
      * @param <U>          the type of {@link org.cloudfoundry.uaa.PaginatedResponse}.
      * @return a stream of <code>T</code> objects.
      */
-    @SuppressWarnings("rawtypes")
     public static <T, U extends org.cloudfoundry.uaa.PaginatedResponse<T>> Flux<T> requestUaaResources(Function<Integer, Mono<U>> pageSupplier) {
+        return requestUaaResources(pageSupplier, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.  Pages are emitted in order as soon as they are available, and at most
+     * <code>concurrency</code> pages are requested ahead of downstream demand.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.uaa.PaginatedResponse}s.
+     * @param concurrency  the maximum number of pages to request concurrently.
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.uaa.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.uaa.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    public static <T, U extends org.cloudfoundry.uaa.PaginatedResponse<T>> Flux<T> requestUaaResources(Function<Integer, Mono<U>> pageSupplier, int concurrency) {
         return pageSupplier
             .apply(1)
-            .flatMapMany(requestUaaAdditionalPages(pageSupplier))
+            .flatMapMany(requestUaaAdditionalPages(pageSupplier, concurrency))
             .flatMapIterable(org.cloudfoundry.uaa.PaginatedResponse::getResources);
     }
 
-    private static <T> Function<T, Flux<T>> requestAdditionalPages(Function<Integer, Mono<T>> pageSupplier, Function<T, Integer> totalPagesSupplier) {
+    private static <T> Function<T, Flux<T>> requestAdditionalPages(Function<Integer, Mono<T>> pageSupplier, Function<T, Integer> totalPagesSupplier, int concurrency) {
         return response -> {
             Integer totalPages = Optional.ofNullable(totalPagesSupplier.apply(response)).orElse(1);
 
             return Flux
                 .range(2, totalPages - 1)
-                .flatMap(pageSupplier)
-                .startWith(response)
-                .buffer()
-                .flatMapIterable(d -> d);
+                .flatMapSequential(pageSupplier, concurrency, 1)
+                .startWith(response);
         };
     }
 
-    private static <T extends org.cloudfoundry.client.v2.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV2AdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
-        return requestAdditionalPages(pageSupplier, response -> response.getTotalPages());
+    private static <T extends org.cloudfoundry.client.v2.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV2AdditionalPages(Function<Integer, Mono<T>> pageSupplier, int concurrency) {
+        return requestAdditionalPages(pageSupplier, response -> response.getTotalPages(), concurrency);
     }
 
-    private static <T extends org.cloudfoundry.client.v3.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV3AdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
-        return requestAdditionalPages(pageSupplier, response -> response.getPagination().getTotalPages());
+    private static <T extends org.cloudfoundry.client.v3.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV3AdditionalPages(Function<Integer, Mono<T>> pageSupplier, int concurrency) {
+        return requestAdditionalPages(pageSupplier, response -> response.getPagination().getTotalPages(), concurrency);
     }
 
-    private static <T extends org.cloudfoundry.uaa.PaginatedResponse<?>> Function<T, Flux<T>> requestUaaAdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
+    private static <T extends org.cloudfoundry.uaa.PaginatedResponse<?>> Function<T, Flux<T>> requestUaaAdditionalPages(Function<Integer, Mono<T>> pageSupplier, int concurrency) {
         return response -> {
             Integer totalPages = (response.getTotalResults() - 1) / response.getItemsPerPage() + 1;
 
             return Flux
                 .range(1, totalPages - 1)
                 .map(page -> 1 + (page * response.getItemsPerPage()))
-                .flatMap(pageSupplier)
-                .startWith(response)
-                .buffer()
-                .flatMapIterable(d -> d);
+                .flatMapSequential(pageSupplier, concurrency, 1)
+                .startWith(response);
         };
     }
 
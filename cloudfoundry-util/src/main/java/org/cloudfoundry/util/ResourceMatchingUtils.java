@@ -16,7 +16,6 @@
 
 package org.cloudfoundry.util;
 
-import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.client.v2.resourcematch.ListMatchingResourcesRequest;
@@ -35,33 +34,48 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Utilities for matching resources
  */
 public final class ResourceMatchingUtils {
 
+    private static final int HASHING_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
     private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.resource-matching");
 
+    private static final int MATCHING_BATCH_SIZE = 1_000;
+
+    private static final int MATCHING_CONCURRENCY = 4;
+
     private ResourceMatchingUtils() {
     }
 
     public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application) {
-        return (Files.isDirectory(application) ? getArtifactMetadataFromDirectory(application) : getArtifactMetadataFromZip(application))
-            .collectMap(ArtifactMetadata::getHash)
-            .flatMapMany(artifactMetadatas -> requestListMatchingResources(cloudFoundryClient, artifactMetadatas.values())
-                .flatMapIterable(ListMatchingResourcesResponse::getResources)
-                .map(resource -> artifactMetadatas.get(resource.getHash())))
-            .collectList()
-            .doOnNext(matched -> LOGGER.debug("{} resources matched totaling {}", matched.size(), SizeUtils.asIbi(matched.stream()
-                .mapToInt(ArtifactMetadata::getSize)
-                .sum())))
-            .subscribeOn(Schedulers.elastic());
+        return getMatchedResources(cloudFoundryClient, application, FileUtils::hash);
     }
 
-    private static Flux<ArtifactMetadata> getArtifactMetadataFromDirectory(Path application) {
+    /**
+     * Returns the resources in an application that are already known to Cloud Foundry, reusing hashes from a {@link HashCache} for files that have not changed since they were last hashed.  The
+     * cache is saved once hashing completes.
+     *
+     * @param cloudFoundryClient the client to match resources with
+     * @param application        the application to match resources for
+     * @param hashCache          the cache of previously calculated hashes
+     * @return the matched resources
+     */
+    public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application, HashCache hashCache) {
+        return getMatchedResources(cloudFoundryClient, application, hashCache::hash)
+            .doOnSuccess(matched -> hashCache.save());
+    }
+
+    private static Flux<ArtifactMetadata> getArtifactMetadataFromDirectory(Path application, Function<Path, String> hasher) {
         return Flux
             .defer(() -> {
                 try {
@@ -71,35 +85,71 @@ public final class ResourceMatchingUtils {
                 }
             })
             .filter(path -> !Files.isDirectory(path))
-            .map(path -> new ArtifactMetadata(FileUtils.hash(path), FileUtils.getRelativePathName(application, path), FileUtils.permissions(path), FileUtils.size(path)));
+            .flatMap(path -> Mono
+                .fromCallable(() -> new ArtifactMetadata(hasher.apply(path), FileUtils.getRelativePathName(application, path), FileUtils.permissions(path), FileUtils.size(path)))
+                .subscribeOn(Schedulers.elastic()), HASHING_CONCURRENCY);
     }
 
     private static Flux<ArtifactMetadata> getArtifactMetadataFromZip(Path application) {
-        List<ArtifactMetadata> artifactMetadatas = new ArrayList<>();
-
-        try (ZipFile zipFile = new ZipFile(application.toFile())) {
-            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
-
-            while (entries.hasMoreElements()) {
-                ZipArchiveEntry entry = entries.nextElement();
-
-                if (!entry.isDirectory()) {
-                    try (InputStream in = zipFile.getInputStream(entry)) {
-                        String hash = FileUtils.hash(in);
-                        String path = entry.getName();
-                        String permissions = FileUtils.permissions(entry.getUnixMode());
-                        int size = (int) entry.getSize();
-
-                        artifactMetadatas.add(new ArtifactMetadata(hash, path, permissions, size));
+        return Flux
+            .using(() -> new ZipFile(application.toFile()),
+                zipFile -> Flux.fromIterable(Collections.list(zipFile.getEntries()))
+                    .filter(entry -> !entry.isDirectory())
+                    .flatMap(entry -> Mono
+                        .fromCallable(() -> {
+                            try (InputStream in = zipFile.getInputStream(entry)) {
+                                String hash = FileUtils.hash(in);
+                                String path = entry.getName();
+                                String permissions = FileUtils.permissions(entry.getUnixMode());
+                                int size = (int) entry.getSize();
+
+                                return new ArtifactMetadata(hash, path, permissions, size);
+                            }
+                        })
+                        .subscribeOn(Schedulers.elastic()), HASHING_CONCURRENCY),
+                zipFile -> {
+                    try {
+                        zipFile.close();
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
                     }
+                });
+    }
 
-                }
-            }
-        } catch (IOException e) {
-            throw Exceptions.propagate(e);
-        }
+    /**
+     * Sends each distinct hash to be matched as soon as a batch of them has been hashed, so matching overlaps with hashing the rest of the application.  Files that share a hash with one already
+     * sent are only recorded, and are added to the result once every batch has been matched.
+     */
+    private static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application, Function<Path, String> hasher) {
+        return Mono
+            .defer(() -> {
+                Map<String, List<ArtifactMetadata>> artifactMetadatas = new HashMap<>();
+
+                return (Files.isDirectory(application) ? getArtifactMetadataFromDirectory(application, hasher) : getArtifactMetadataFromZip(application))
+                    .filter(artifactMetadata -> isFirst(artifactMetadatas, artifactMetadata))
+                    .buffer(MATCHING_BATCH_SIZE)
+                    .flatMap(batch -> requestListMatchingResources(cloudFoundryClient, batch), MATCHING_CONCURRENCY)
+                    .flatMapIterable(ListMatchingResourcesResponse::getResources)
+                    .map(Resource::getHash)
+                    .distinct()
+                    .collectList()
+                    .map(hashes -> hashes.stream()
+                        .flatMap(hash -> artifactMetadatas.getOrDefault(hash, Collections.emptyList()).stream())
+                        .collect(Collectors.toList()));
+            })
+            .doOnNext(matched -> LOGGER.debug("{} resources matched totaling {}", matched.size(), SizeUtils.asIbi(matched.stream()
+                .mapToInt(ArtifactMetadata::getSize)
+                .sum())))
+            .subscribeOn(Schedulers.elastic());
+    }
 
-        return Flux.fromIterable(artifactMetadatas);
+    /**
+     * Records an artifact against its hash, returning whether it is the first with that hash.  Only called from the serialized output of the hashing stage, so it requires no synchronization.
+     */
+    private static boolean isFirst(Map<String, List<ArtifactMetadata>> artifactMetadatas, ArtifactMetadata artifactMetadata) {
+        List<ArtifactMetadata> candidates = artifactMetadatas.computeIfAbsent(artifactMetadata.getHash(), hash -> new ArrayList<>());
+        candidates.add(artifactMetadata);
+        return candidates.size() == 1;
     }
 
     private static Mono<ListMatchingResourcesResponse> requestListMatchingResources(CloudFoundryClient cloudFoundryClient, Collection<ArtifactMetadata> artifactMetadatas) {
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.doppler.DopplerClient;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.FirehoseRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A firehose consumer that opens multiple connections with the same subscription id.  Doppler balances envelopes across connections that share a subscription id, so each additional shard
+ * increases ingest throughput.  Each shard buffers a bounded number of envelopes, discarding the oldest when its subscriber falls behind, and reconnects independently with an exponential
+ * backoff whenever its connection terminates.
+ */
+public final class ShardedFirehose {
+
+    /**
+     * The default number of envelopes buffered by each shard
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1_024;
+
+    /**
+     * The default maximum delay between reconnection attempts
+     */
+    public static final Duration DEFAULT_MAXIMUM_BACKOFF = Duration.ofSeconds(30);
+
+    /**
+     * The default minimum delay between reconnection attempts
+     */
+    public static final Duration DEFAULT_MINIMUM_BACKOFF = Duration.ofSeconds(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.firehose");
+
+    private final int bufferSize;
+
+    private final List<Shard> shards;
+
+    private ShardedFirehose(DopplerClient dopplerClient, FirehoseRequest request, int shards, int bufferSize, Duration minimumBackoff, Duration maximumBackoff) {
+        this.bufferSize = bufferSize;
+        this.shards = IntStream.range(0, shards)
+            .mapToObj(index -> new Shard(dopplerClient, request, index, bufferSize, minimumBackoff, maximumBackoff))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a new sharded firehose with the default buffer size and backoff
+     *
+     * @param dopplerClient the client to use to connect to the firehose
+     * @param request       the firehose request shared by every shard
+     * @param shards        the number of connections to open
+     * @return the sharded firehose
+     */
+    public static ShardedFirehose create(DopplerClient dopplerClient, FirehoseRequest request, int shards) {
+        return create(dopplerClient, request, shards, DEFAULT_BUFFER_SIZE, DEFAULT_MINIMUM_BACKOFF, DEFAULT_MAXIMUM_BACKOFF);
+    }
+
+    /**
+     * Creates a new sharded firehose
+     *
+     * @param dopplerClient  the client to use to connect to the firehose
+     * @param request        the firehose request shared by every shard
+     * @param shards         the number of connections to open
+     * @param bufferSize     the number of envelopes buffered by each shard before the oldest are discarded
+     * @param minimumBackoff the minimum delay between reconnection attempts
+     * @param maximumBackoff the maximum delay between reconnection attempts
+     * @return the sharded firehose
+     */
+    public static ShardedFirehose create(DopplerClient dopplerClient, FirehoseRequest request, int shards, int bufferSize, Duration minimumBackoff, Duration maximumBackoff) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("shards must be at least 1");
+        }
+
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1");
+        }
+
+        return new ShardedFirehose(dopplerClient, request, shards, bufferSize, minimumBackoff, maximumBackoff);
+    }
+
+    /**
+     * Returns a snapshot of the statistics for each shard
+     *
+     * @return the statistics, ordered by shard
+     */
+    public List<Statistics> getStatistics() {
+        return this.shards.stream()
+            .map(Shard::getStatistics)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Connects every shard and merges their envelopes.  Cancelling the subscription closes every connection.
+     *
+     * @return the envelopes received by all shards
+     */
+    public Flux<Envelope> receive() {
+        return Flux.merge(Flux.fromIterable(this.shards).map(Shard::receive), this.shards.size(), this.bufferSize);
+    }
+
+    /**
+     * The statistics for a single shard
+     */
+    public static final class Statistics {
+
+        private final long dropped;
+
+        private final Duration lag;
+
+        private final long received;
+
+        private final long reconnects;
+
+        private final int shard;
+
+        private Statistics(int shard, long received, long dropped, long reconnects, Duration lag) {
+            this.dropped = dropped;
+            this.lag = lag;
+            this.received = received;
+            this.reconnects = reconnects;
+            this.shard = shard;
+        }
+
+        /**
+         * Returns the number of envelopes discarded because the subscriber fell behind
+         *
+         * @return the number of discarded envelopes
+         */
+        public long getDropped() {
+            return this.dropped;
+        }
+
+        /**
+         * Returns the difference between the time the most recent envelope was received and its timestamp
+         *
+         * @return the lag of the most recent envelope
+         */
+        public Duration getLag() {
+            return this.lag;
+        }
+
+        /**
+         * Returns the number of envelopes received
+         *
+         * @return the number of received envelopes
+         */
+        public long getReceived() {
+            return this.received;
+        }
+
+        /**
+         * Returns the number of times the shard has reconnected
+         *
+         * @return the number of reconnections
+         */
+        public long getReconnects() {
+            return this.reconnects;
+        }
+
+        /**
+         * Returns the index of the shard
+         *
+         * @return the index of the shard
+         */
+        public int getShard() {
+            return this.shard;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{shard=%d, received=%d, dropped=%d, reconnects=%d, lag=%s}", this.shard, this.received, this.dropped, this.reconnects, this.lag);
+        }
+
+    }
+
+    private static final class Shard {
+
+        private final AtomicLong attempts = new AtomicLong();
+
+        private final int bufferSize;
+
+        private final DopplerClient dopplerClient;
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        private final int index;
+
+        private final AtomicLong lag = new AtomicLong();
+
+        private final Duration maximumBackoff;
+
+        private final Duration minimumBackoff;
+
+        private final AtomicLong received = new AtomicLong();
+
+        private final AtomicLong reconnects = new AtomicLong();
+
+        private final FirehoseRequest request;
+
+        private Shard(DopplerClient dopplerClient, FirehoseRequest request, int index, int bufferSize, Duration minimumBackoff, Duration maximumBackoff) {
+            this.bufferSize = bufferSize;
+            this.dopplerClient = dopplerClient;
+            this.index = index;
+            this.maximumBackoff = maximumBackoff;
+            this.minimumBackoff = minimumBackoff;
+            this.request = request;
+        }
+
+        private Mono<Long> backoff(Object signal) {
+            long attempt = this.attempts.getAndIncrement();
+            Duration candidate = this.minimumBackoff.multipliedBy(1L << Math.min(attempt, 30));
+            Duration delay = candidate.compareTo(this.maximumBackoff) <= 0 ? candidate : this.maximumBackoff;
+
+            if (signal instanceof Throwable) {
+                LOGGER.debug("Firehose shard {} failed, reconnecting in {}", this.index, TimeUtils.asTime(delay.toMillis()), (Throwable) signal);
+            } else {
+                LOGGER.debug("Firehose shard {} closed, reconnecting in {}", this.index, TimeUtils.asTime(delay.toMillis()));
+            }
+
+            return Mono.delay(delay)
+                .doOnNext(ignore -> this.reconnects.incrementAndGet());
+        }
+
+        private Statistics getStatistics() {
+            return new Statistics(this.index, this.received.get(), this.dropped.get(), this.reconnects.get(), Duration.ofNanos(this.lag.get()));
+        }
+
+        private void onEnvelope(Envelope envelope) {
+            this.attempts.set(0);
+            this.received.incrementAndGet();
+
+            if (envelope.getTimestamp() != null) {
+                this.lag.set(Math.max(0, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - envelope.getTimestamp()));
+            }
+        }
+
+        private Flux<Envelope> receive() {
+            return Flux.defer(() -> this.dopplerClient.firehose(this.request))
+                .doOnNext(this::onEnvelope)
+                .retryWhen(errors -> errors.concatMap(this::backoff))
+                .repeatWhen(completions -> completions.concatMap(this::backoff))
+                .onBackpressureBuffer(this.bufferSize, dropped -> this.dropped.incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+        }
+
+    }
+
+}
@@ -16,18 +16,22 @@
 
 package org.cloudfoundry.util;
 
-import reactor.core.Disposable;
 import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -35,12 +39,18 @@ import java.util.function.Function;
  */
 public final class SortingUtils {
 
+    /**
+     * The default maximum number of elements held for sorting
+     */
+    public static final int DEFAULT_CAPACITY = 100_000;
+
     private SortingUtils() {
     }
 
     /**
      * Sorts the elements of a {@link Flux} within a sliding time window.  This sorter should be used when element order may be scrambled, but that scrambling has a certain 'temporal locality' to it.
-     * This assumption means that sorting can be limited to elements that arrive temporally close to one another without risking a latecomer being sorted incorrectly.
+     * This assumption means that sorting can be limited to elements that arrive temporally close to one another without risking a latecomer being sorted incorrectly.  At most
+     * {@link #DEFAULT_CAPACITY} elements are held; use {@link #timespan(Comparator, Duration, int, LateArrivalPolicy)} to choose a different bound.
      *
      * @param comparator a {@link Comparator} to use when sorting the elements within the window
      * @param timespan   the duration of the 'temporal locality'
@@ -48,43 +58,151 @@ public final class SortingUtils {
      * @return a {@link Flux} providing the sorted elements
      */
     public static <T> Function<Flux<T>, Flux<T>> timespan(Comparator<T> comparator, Duration timespan) {
-        return source -> {
-            Queue<Tuple2<Long, T>> accumulator = new PriorityQueue<>((o1, o2) -> comparator.compare(o1.getT2(), o2.getT2()));
+        return timespan(comparator, timespan, DEFAULT_CAPACITY, LateArrivalPolicy.EMIT);
+    }
 
-            Object monitor = new Object();
+    /**
+     * Sorts the elements of a {@link Flux} within a sliding time window.  This sorter should be used when element order may be scrambled, but that scrambling has a certain 'temporal locality' to it.
+     * This assumption means that sorting can be limited to elements that arrive temporally close to one another without risking a latecomer being sorted incorrectly.  Elements are held for
+     * at most {@code timespan}, and once more than {@code capacity} elements are held the earliest are released immediately.  Elements are released as others arrive, or by a
+     * single timer armed for the moment the earliest held element expires, so an idle source causes no periodic work.
+     *
+     * @param comparator        a {@link Comparator} to use when sorting the elements within the window
+     * @param timespan          the duration of the 'temporal locality'
+     * @param capacity          the maximum number of elements to hold
+     * @param lateArrivalPolicy what to do with an element that sorts before an element that has already been released
+     * @param <T>               The type of the elements to be sorted
+     * @return a {@link Flux} providing the sorted elements
+     */
+    public static <T> Function<Flux<T>, Flux<T>> timespan(Comparator<T> comparator, Duration timespan, int capacity, LateArrivalPolicy lateArrivalPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
 
-            DirectProcessor<Void> d = DirectProcessor.create();
+        return source -> Flux.defer(() -> {
+            ReorderBuffer<T> reorderBuffer = new ReorderBuffer<>(comparator, timespan, capacity, lateArrivalPolicy);
+            DirectProcessor<Long> deadlines = DirectProcessor.create();
+            FluxSink<Long> deadlineSink = deadlines.sink();
 
-            Disposable disposable = source
+            return source
                 .timestamp()
-                .subscribe(item -> {
-                    synchronized (monitor) {
-                        accumulator.add(item);
-                    }
-                }, d::onError, d::onComplete);
-
-            return Flux
-                .interval(timespan)
-                .takeUntilOther(d)
-                .flatMap(n -> getItems(accumulator, monitor, timespan), null, () -> getItems(accumulator, monitor, Duration.ZERO))
-                .doOnCancel(disposable::dispose);
-        };
+                .publish(shared -> Flux.merge(
+                    shared
+                        .map(Optional::of),
+                    deadlines
+                        .switchMap(deadline -> Mono.delay(Duration.ofMillis(Math.max(deadline - now(), 0))))
+                        .onBackpressureDrop()
+                        .map(n -> Optional.<Tuple2<Long, T>>empty())
+                        .takeUntilOther(shared.then())))
+                .concatMapIterable(signal -> {
+                    List<T> items = reorderBuffer.onSignal(signal);
+                    reorderBuffer.rearm().ifPresent(deadlineSink::next);
+                    return items;
+                })
+                .concatWith(Flux.defer(reorderBuffer::drain));
+        });
+    }
+
+    private static long now() {
+        return Schedulers.parallel().now(TimeUnit.MILLISECONDS);
     }
 
-    private static <T> Flux<T> getItems(Queue<Tuple2<Long, T>> accumulator, Object monitor, Duration timespan) {
-        List<T> items = new ArrayList<>();
+    /**
+     * What to do with an element that arrives after an element that sorts after it has already been released
+     */
+    public enum LateArrivalPolicy {
+
+        /**
+         * Discard the element
+         */
+        DROP,
+
+        /**
+         * Release the element out of order
+         */
+        EMIT
+
+    }
+
+    /**
+     * Holds timestamped elements in comparator order.  Only ever accessed from a single serialized stage, so it requires no synchronization.
+     */
+    private static final class ReorderBuffer<T> {
+
+        private final int capacity;
+
+        private final Comparator<T> comparator;
+
+        private final LateArrivalPolicy lateArrivalPolicy;
 
-        synchronized (monitor) {
-            while (isBefore(accumulator.peek(), timespan)) {
-                items.add(accumulator.remove().getT2());
+        private final Queue<Tuple2<Long, T>> queue;
+
+        private final long timespan;
+
+        private long armedDeadline = Long.MIN_VALUE;
+
+        private T lastReleased;
+
+        private ReorderBuffer(Comparator<T> comparator, Duration timespan, int capacity, LateArrivalPolicy lateArrivalPolicy) {
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.lateArrivalPolicy = lateArrivalPolicy;
+            this.queue = new PriorityQueue<>((o1, o2) -> comparator.compare(o1.getT2(), o2.getT2()));
+            this.timespan = timespan.toMillis();
+        }
+
+        private Flux<T> drain() {
+            return Flux.fromIterable(release(Long.MAX_VALUE));
+        }
+
+        private boolean isLate(T item) {
+            return this.lastReleased != null && this.comparator.compare(item, this.lastReleased) < 0;
+        }
+
+        private List<T> onSignal(Optional<Tuple2<Long, T>> signal) {
+            if (signal.isPresent()) {
+                signal
+                    .filter(item -> this.lateArrivalPolicy != LateArrivalPolicy.DROP || !isLate(item.getT2()))
+                    .ifPresent(this.queue::add);
+            } else {
+                this.armedDeadline = Long.MIN_VALUE;
             }
+
+            return release(now() - this.timespan);
         }
 
-        return Flux.fromIterable(items);
-    }
+        /**
+         * Returns the moment the element at the head of the buffer expires, if the timer is not already armed for it
+         */
+        private Optional<Long> rearm() {
+            if (this.queue.isEmpty()) {
+                return Optional.empty();
+            }
+
+            long deadline = this.queue.peek().getT1() + this.timespan + 1;
+            if (deadline == this.armedDeadline) {
+                return Optional.empty();
+            }
+
+            this.armedDeadline = deadline;
+            return Optional.of(deadline);
+        }
+
+        private List<T> release(long cutoff) {
+            List<T> items = Collections.emptyList();
+
+            while (!this.queue.isEmpty() && (this.queue.size() > this.capacity || this.queue.peek().getT1() < cutoff)) {
+                if (items.isEmpty()) {
+                    items = new ArrayList<>();
+                }
+
+                this.lastReleased = this.queue.remove().getT2();
+                items.add(this.lastReleased);
+            }
+
+            return items;
+        }
 
-    private static <T> boolean isBefore(Tuple2<Long, T> candidate, Duration timespan) {
-        return candidate != null && (Duration.ZERO == timespan || Instant.ofEpochMilli(candidate.getT1()).isBefore(Instant.now().minus(timespan)));
     }
 
 }
@@ -18,6 +18,7 @@ package org.cloudfoundry.util;
 
 import org.junit.Test;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -25,6 +26,8 @@ import reactor.test.scheduler.VirtualTimeScheduler;
 
 import java.time.Duration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public final class DelayUtilsTest {
 
     @SuppressWarnings("unchecked")
@@ -132,4 +135,83 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void jitteredBackOff() {
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.jitteredBackOff(Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5))
+            .apply(Flux.just(0L, 1L, 2L)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(1)))
+            .expectNext(0L)
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(2)))
+            .expectNext(0L)
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(2)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void jitteredBackOffTimeout() {
+        StepVerifier.create(DelayUtils.jitteredBackOff(Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofMillis(100))
+            .apply(Mono.delay(Duration.ofMillis(200))
+                .thenMany(Flux.just(0L))))
+            .expectError(DelayTimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void signalledBackOff() {
+        DirectProcessor<String> signals = DirectProcessor.create();
+
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.signalledBackOff(signals, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(30))
+            .apply(Flux.just(3L, 4L)))
+            .expectSubscription()
+            .then(() -> signals.onNext("test-signal"))
+            .expectNoEvent(Duration.ofMillis(999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext(0L)
+            .thenAwait(Duration.ofSeconds(10))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(signals.hasDownstreams()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void signalledBackOffBurst() {
+        DirectProcessor<String> signals = DirectProcessor.create();
+
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.signalledBackOff(signals, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(30))
+            .apply(Flux.just(3L, 4L)))
+            .expectSubscription()
+            .then(() -> {
+                signals.onNext("test-signal-1");
+                signals.onNext("test-signal-2");
+            })
+            .thenAwait(Duration.ofSeconds(1))
+            .expectNext(0L)
+            .expectNoEvent(Duration.ofMillis(999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void signalledBackOffError() {
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.signalledBackOff(Flux.error(new IllegalStateException()), Duration.ofSeconds(1), Duration.ofSeconds(1),
+            Duration.ofSeconds(5))
+            .apply(Flux.just(0L, 1L)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(1)))
+            .expectNext(0L)
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(1)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
 }
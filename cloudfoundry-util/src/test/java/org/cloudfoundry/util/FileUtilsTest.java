@@ -0,0 +1,205 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.util;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class FileUtilsTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void compressStreamDeflated() throws IOException {
+        Path directory = createDirectory();
+
+        byte[] artifact = FileUtils.compressStream(directory, path -> !path.startsWith("test-directory"), true)
+            .reduce(new ByteArrayOutputStream(), FileUtilsTest::append)
+            .map(ByteArrayOutputStream::toByteArray)
+            .block(Duration.ofSeconds(5));
+
+        assertThat(read(artifact, ZipEntry.DEFLATED))
+            .containsEntry("test-file-1", "test-content-1")
+            .containsEntry("test-empty-file", "")
+            .hasSize(2);
+    }
+
+    @Test
+    public void compressStreamDirectory() throws IOException {
+        Path directory = createDirectory();
+
+        byte[] artifact = stream(directory);
+
+        assertThat(FileUtils.compressedSize(directory).block(Duration.ofSeconds(5))).isEqualTo(artifact.length);
+        assertThat(read(artifact))
+            .containsEntry("test-file-1", "test-content-1")
+            .containsEntry("test-empty-file", "")
+            .containsEntry("test-directory/", "")
+            .containsEntry("test-directory/test-file-2", "test-content-2")
+            .hasSize(4);
+    }
+
+    @Test
+    public void compressStreamFiltered() throws IOException {
+        Path directory = createDirectory();
+
+        byte[] artifact = FileUtils.compressStream(directory, path -> !path.startsWith("test-directory"))
+            .reduce(new ByteArrayOutputStream(), FileUtilsTest::append)
+            .map(ByteArrayOutputStream::toByteArray)
+            .block(Duration.ofSeconds(5));
+
+        assertThat(FileUtils.compressedSize(directory, path -> !path.startsWith("test-directory")).block(Duration.ofSeconds(5))).isEqualTo(artifact.length);
+        assertThat(read(artifact).keySet()).containsOnly("test-file-1", "test-empty-file");
+    }
+
+    @Test
+    public void compressStreamZip() throws IOException {
+        Path zip = FileUtils.compress(createDirectory()).block(Duration.ofSeconds(5));
+
+        try {
+            byte[] artifact = stream(zip);
+
+            assertThat(FileUtils.compressedSize(zip).block(Duration.ofSeconds(5))).isEqualTo(artifact.length);
+            assertThat(read(artifact))
+                .containsEntry("test-file-1", "test-content-1")
+                .containsEntry("test-directory/test-file-2", "test-content-2")
+                .hasSize(4);
+        } finally {
+            Files.delete(zip);
+        }
+    }
+
+    @Test
+    public void compressStreamZip64() throws IOException {
+        Path zip = createZip(0xFFFF);
+
+        byte[] artifact = FileUtils.compressStream(zip)
+            .reduce(new ByteArrayOutputStream(), FileUtilsTest::append)
+            .map(ByteArrayOutputStream::toByteArray)
+            .block(Duration.ofSeconds(30));
+
+        assertThat(FileUtils.compressedSize(zip).block(Duration.ofSeconds(30))).isEqualTo(artifact.length);
+        assertThat(isZip64(artifact)).isTrue();
+        assertThat(read(artifact)).hasSize(0xFFFF);
+    }
+
+    @Test
+    public void compressStreamZip64Boundary() throws IOException {
+        Path zip = createZip(0xFFFE);
+
+        byte[] artifact = FileUtils.compressStream(zip)
+            .reduce(new ByteArrayOutputStream(), FileUtilsTest::append)
+            .map(ByteArrayOutputStream::toByteArray)
+            .block(Duration.ofSeconds(30));
+
+        assertThat(FileUtils.compressedSize(zip).block(Duration.ofSeconds(30))).isEqualTo(artifact.length);
+        assertThat(isZip64(artifact)).isFalse();
+        assertThat(read(artifact)).hasSize(0xFFFE);
+    }
+
+    private static ByteArrayOutputStream append(ByteArrayOutputStream out, byte[] chunk) {
+        out.write(chunk, 0, chunk.length);
+        return out;
+    }
+
+    private static boolean isZip64(byte[] artifact) {
+        for (int i = 0; i < artifact.length - 3; i++) {
+            if (artifact[i] == 0x50 && artifact[i + 1] == 0x4b && artifact[i + 2] == 0x06 && artifact[i + 3] == 0x06) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Map<String, String> read(byte[] artifact) throws IOException {
+        return read(artifact, ZipEntry.STORED);
+    }
+
+    private static Map<String, String> read(byte[] artifact, int method) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(artifact))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                assertThat(entry.getMethod()).isEqualTo(method);
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1_024];
+                int length;
+                while ((length = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, length);
+                }
+
+                entries.put(entry.getName(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+
+        return entries;
+    }
+
+    private static byte[] stream(Path candidate) {
+        return FileUtils.compressStream(candidate)
+            .reduce(new ByteArrayOutputStream(), FileUtilsTest::append)
+            .map(ByteArrayOutputStream::toByteArray)
+            .block(Duration.ofSeconds(5));
+    }
+
+    private Path createDirectory() throws IOException {
+        Path directory = this.folder.newFolder().toPath();
+
+        Files.write(directory.resolve("test-file-1"), "test-content-1".getBytes(StandardCharsets.UTF_8));
+        Files.createFile(directory.resolve("test-empty-file"));
+        Files.createDirectory(directory.resolve("test-directory"));
+        Files.write(directory.resolve("test-directory").resolve("test-file-2"), "test-content-2".getBytes(StandardCharsets.UTF_8));
+
+        return directory;
+    }
+
+    private Path createZip(int entries) throws IOException {
+        Path zip = this.folder.newFile().toPath();
+
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(zip.toFile())) {
+            for (int i = 0; i < entries; i++) {
+                out.putArchiveEntry(new ZipArchiveEntry(String.format("test-file-%d", i)));
+                out.closeArchiveEntry();
+            }
+        }
+
+        return zip;
+    }
+
+}
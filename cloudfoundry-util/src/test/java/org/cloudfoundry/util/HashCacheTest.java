@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class HashCacheTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void changed() throws IOException {
+        Path file = createFile("test-content");
+        HashCache hashCache = HashCache.create();
+
+        assertThat(hashCache.hash(file)).isEqualTo(FileUtils.hash(file));
+
+        Files.write(file, "test-changed-content".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(hashCache.hash(file)).isEqualTo(FileUtils.hash(file));
+    }
+
+    @Test
+    public void changedWhileHashing() throws IOException {
+        Path file = createFile("test-content");
+        AtomicInteger count = new AtomicInteger();
+        HashCache hashCache = new HashCache(null, path -> {
+            if (count.getAndIncrement() == 0) {
+                touch(path);
+            }
+
+            return FileUtils.hash(path);
+        });
+
+        hashCache.hash(file);
+        hashCache.hash(file);
+        hashCache.hash(file);
+
+        assertThat(count).hasValue(2);
+    }
+
+    @Test
+    public void persistent() throws IOException {
+        Path file = createFile("test-content");
+        Path cacheFile = this.folder.getRoot().toPath().resolve("hash-cache");
+
+        HashCache hashCache = HashCache.persistent(cacheFile);
+        String hash = hashCache.hash(file);
+        hashCache.save();
+
+        assertThat(HashCache.persistent(cacheFile).hash(file)).isEqualTo(hash);
+    }
+
+    @Test
+    public void persistentPruned() throws IOException {
+        Path kept = createFile("test-content-kept");
+        Path removed = createFile("test-content-removed");
+        Path cacheFile = this.folder.getRoot().toPath().resolve("hash-cache");
+
+        HashCache first = HashCache.persistent(cacheFile);
+        first.hash(kept);
+        first.hash(removed);
+        first.save();
+
+        HashCache second = HashCache.persistent(cacheFile);
+        second.hash(kept);
+        second.save();
+
+        assertThat(Files.readAllLines(cacheFile, StandardCharsets.UTF_8))
+            .hasSize(1)
+            .allMatch(line -> line.endsWith(kept.toAbsolutePath().toString()));
+    }
+
+    @Test
+    public void unchanged() throws IOException {
+        Path file = createFile("test-content");
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        HashCache hashCache = HashCache.create();
+
+        String hash = hashCache.hash(file);
+
+        Files.write(file, "test-contenu".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, lastModified);
+
+        assertThat(hashCache.hash(file)).isEqualTo(hash);
+    }
+
+    private static void touch(Path path) {
+        try {
+            FileTime lastModified = Files.getLastModifiedTime(path);
+            Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + TimeUnit.HOURS.toMillis(1)));
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private Path createFile(String content) throws IOException {
+        Path file = this.folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+}
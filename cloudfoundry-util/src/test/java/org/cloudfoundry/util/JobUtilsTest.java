@@ -0,0 +1,178 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v2.ClientV2Exception;
+import org.cloudfoundry.client.v2.jobs.ErrorDetails;
+import org.cloudfoundry.client.v2.jobs.GetJobRequest;
+import org.cloudfoundry.client.v2.jobs.GetJobResponse;
+import org.cloudfoundry.client.v2.jobs.JobEntity;
+import org.cloudfoundry.client.v2.jobs.Jobs;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public final class JobUtilsTest {
+
+    private final CloudFoundryClient cloudFoundryClient = mock(CloudFoundryClient.class, RETURNS_SMART_NULLS);
+
+    private final Jobs jobs = mock(Jobs.class, RETURNS_SMART_NULLS);
+
+    @Before
+    public void setUp() {
+        when(this.cloudFoundryClient.jobs()).thenReturn(this.jobs);
+    }
+
+    @Test
+    public void waitForCompletionAlreadyComplete() {
+        JobUtils
+            .waitForCompletion(this.cloudFoundryClient, Duration.ofMinutes(1), Arrays.asList(job("test-job-id-1", "finished"), job("test-job-id-2", "finished")))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verifyZeroInteractions(this.jobs);
+    }
+
+    @Test
+    public void waitForCompletionAlreadyFailed() {
+        JobUtils
+            .waitForCompletion(this.cloudFoundryClient, Duration.ofMinutes(1), Arrays.asList(job("test-job-id-1", "finished"), failedJob("test-job-id-2")))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(ClientV2Exception.class).hasMessage("test-error-code(1): test-description"))
+            .verify(Duration.ofSeconds(5));
+
+        verifyZeroInteractions(this.jobs);
+    }
+
+    @Test
+    public void waitForCompletionBackOff() {
+        requestJob(this.jobs, "test-job-id-1", job("test-job-id-1", "queued"), job("test-job-id-1", "queued"), job("test-job-id-1", "queued"), job("test-job-id-1", "queued"),
+            job("test-job-id-1", "queued"), job("test-job-id-1", "finished"));
+
+        StepVerifier
+            .withVirtualTime(() -> JobUtils
+                .waitForCompletion(this.cloudFoundryClient, DelayUtils.jitteredBackOff(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(1)),
+                    Collections.singletonList(job("test-job-id-1", "queued"))))
+            .thenAwait(Duration.ofSeconds(17))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.jobs, times(6)).get(GetJobRequest.builder().jobId("test-job-id-1").build());
+    }
+
+    @Test
+    public void waitForCompletionFailed() {
+        requestJob(this.jobs, "test-job-id-1", job("test-job-id-1", "queued"), job("test-job-id-1", "queued"), job("test-job-id-1", "finished"));
+        requestJob(this.jobs, "test-job-id-2", job("test-job-id-2", "running"), failedJob("test-job-id-2"));
+
+        StepVerifier
+            .withVirtualTime(() -> JobUtils
+                .waitForCompletion(this.cloudFoundryClient, Duration.ofMinutes(1), Arrays.asList(job("test-job-id-1", "queued"), job("test-job-id-2", "queued"))))
+            .thenAwait(Duration.ofMinutes(1))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(ClientV2Exception.class).hasMessage("test-error-code(1): test-description"))
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.jobs, times(2)).get(GetJobRequest.builder().jobId("test-job-id-2").build());
+    }
+
+    @Test
+    public void waitForCompletionOutstanding() {
+        requestJob(this.jobs, "test-job-id-1", job("test-job-id-1", "finished"));
+        requestJob(this.jobs, "test-job-id-2", job("test-job-id-2", "running"), job("test-job-id-2", "finished"));
+        requestJob(this.jobs, "test-job-id-3", job("test-job-id-3", "queued"), job("test-job-id-3", "running"), job("test-job-id-3", "finished"));
+
+        StepVerifier
+            .withVirtualTime(() -> JobUtils
+                .waitForCompletion(this.cloudFoundryClient, Duration.ofMinutes(1), Arrays.asList(job("test-job-id-1", "queued"), job("test-job-id-2", "queued"), job("test-job-id-3", "queued"),
+                    job("test-job-id-4", "finished"))))
+            .thenAwait(Duration.ofMinutes(1))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.jobs, times(1)).get(GetJobRequest.builder().jobId("test-job-id-1").build());
+        verify(this.jobs, times(2)).get(GetJobRequest.builder().jobId("test-job-id-2").build());
+        verify(this.jobs, times(3)).get(GetJobRequest.builder().jobId("test-job-id-3").build());
+        verify(this.jobs, never()).get(GetJobRequest.builder().jobId("test-job-id-4").build());
+    }
+
+    @Test
+    public void waitForCompletionTimeout() {
+        requestJob(this.jobs, "test-job-id-1", job("test-job-id-1", "queued"));
+
+        JobUtils
+            .waitForCompletion(this.cloudFoundryClient, Duration.ZERO, Arrays.asList(job("test-job-id-1", "queued"), job("test-job-id-2", "finished")))
+            .as(StepVerifier::create)
+            .expectError(DelayTimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static JobEntity failedJob(String jobId) {
+        return JobEntity.builder()
+            .errorDetails(ErrorDetails.builder()
+                .code(1)
+                .description("test-description")
+                .errorCode("test-error-code")
+                .build())
+            .id(jobId)
+            .status("failed")
+            .build();
+    }
+
+    private static JobEntity job(String jobId, String status) {
+        return JobEntity.builder()
+            .id(jobId)
+            .status(status)
+            .build();
+    }
+
+    private static void requestJob(Jobs jobs, String jobId, JobEntity first, JobEntity... subsequent) {
+        OngoingStubbing<Mono<GetJobResponse>> stubbing = when(jobs
+            .get(GetJobRequest.builder()
+                .jobId(jobId)
+                .build()))
+            .thenReturn(Mono.just(response(first)));
+
+        for (JobEntity entity : subsequent) {
+            stubbing = stubbing.thenReturn(Mono.just(response(entity)));
+        }
+    }
+
+    private static GetJobResponse response(JobEntity entity) {
+        return GetJobResponse.builder()
+            .entity(entity)
+            .build();
+    }
+
+}
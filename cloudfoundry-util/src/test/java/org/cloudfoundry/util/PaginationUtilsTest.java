@@ -37,12 +37,18 @@ import org.cloudfoundry.uaa.users.User;
 import org.cloudfoundry.uaa.users.Users;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.concurrent.TimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -68,6 +74,32 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void requestClientV2ResourcesConcurrency() {
+        Map<Integer, MonoProcessor<ListSpacesResponse>> pages = processors(1, 2, 3, 4, 5);
+        List<Integer> requested = new ArrayList<>();
+
+        PaginationUtils
+            .requestClientV2Resources(page -> {
+                requested.add(page);
+                return pages.get(page);
+            }, 2)
+            .map(resource -> ResourceUtils.getEntity(resource).getName())
+            .as(StepVerifier::create)
+            .then(() -> pages.get(1).onNext(listSpacesResponse(1, 5)))
+            .expectNext("1")
+            .then(() -> assertThat(requested).containsExactly(1, 2, 3))
+            .then(() -> pages.get(3).onNext(listSpacesResponse(3, 5)))
+            .then(() -> pages.get(2).onNext(listSpacesResponse(2, 5)))
+            .expectNext("2", "3")
+            .then(() -> assertThat(requested).containsExactly(1, 2, 3, 4, 5))
+            .then(() -> pages.get(5).onNext(listSpacesResponse(5, 5)))
+            .then(() -> pages.get(4).onNext(listSpacesResponse(4, 5)))
+            .expectNext("4", "5")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void requestClientV2ResourcesEmpty() {
         Spaces spaces = mock(Spaces.class, RETURNS_SMART_NULLS);
@@ -119,6 +151,32 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void requestClientV3ResourcesConcurrency() {
+        Map<Integer, MonoProcessor<ListPackagesResponse>> pages = processors(1, 2, 3, 4, 5);
+        List<Integer> requested = new ArrayList<>();
+
+        PaginationUtils
+            .requestClientV3Resources(page -> {
+                requested.add(page);
+                return pages.get(page);
+            }, 2)
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .then(() -> pages.get(1).onNext(listPackagesResponse(1, 5)))
+            .expectNext("1")
+            .then(() -> assertThat(requested).containsExactly(1, 2, 3))
+            .then(() -> pages.get(3).onNext(listPackagesResponse(3, 5)))
+            .then(() -> pages.get(2).onNext(listPackagesResponse(2, 5)))
+            .expectNext("2", "3")
+            .then(() -> assertThat(requested).containsExactly(1, 2, 3, 4, 5))
+            .then(() -> pages.get(5).onNext(listPackagesResponse(5, 5)))
+            .then(() -> pages.get(4).onNext(listPackagesResponse(4, 5)))
+            .expectNext("4", "5")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void requestUaaResources() {
         Users users = mock(Users.class, RETURNS_SMART_NULLS);
@@ -138,6 +196,32 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void requestUaaResourcesConcurrency() {
+        Map<Integer, MonoProcessor<ListUsersResponse>> pages = processors(1, 101, 201, 301, 401);
+        List<Integer> requested = new ArrayList<>();
+
+        PaginationUtils
+            .requestUaaResources(startIndex -> {
+                requested.add(startIndex);
+                return pages.get(startIndex);
+            }, 2)
+            .map(User::getId)
+            .as(StepVerifier::create)
+            .then(() -> pages.get(1).onNext(listUsersResponse(1, 100, 450)))
+            .expectNext("1")
+            .then(() -> assertThat(requested).containsExactly(1, 101, 201))
+            .then(() -> pages.get(201).onNext(listUsersResponse(201, 100, 450)))
+            .then(() -> pages.get(101).onNext(listUsersResponse(101, 100, 450)))
+            .expectNext("101", "201")
+            .then(() -> assertThat(requested).containsExactly(1, 101, 201, 301, 401))
+            .then(() -> pages.get(401).onNext(listUsersResponse(401, 100, 450)))
+            .then(() -> pages.get(301).onNext(listUsersResponse(301, 100, 450)))
+            .expectNext("301", "401")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void requestUaaResourcesEmpty() {
         Users users = mock(Users.class, RETURNS_SMART_NULLS);
@@ -154,26 +238,70 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    private static ListPackagesResponse listPackagesResponse(Integer page, Integer totalPages) {
+        return ListPackagesResponse.builder()
+            .resource(PackageResource.builder()
+                .id(page.toString())
+                .createdAt("test-created-at")
+                .updatedAt("test-updated-at")
+                .type(PackageType.BITS)
+                .data(BitsData.builder()
+                    .build())
+                .state(PackageState.READY)
+                .build())
+            .pagination(Pagination.builder()
+                .totalPages(totalPages)
+                .build())
+            .build();
+    }
+
+    private static ListSpacesResponse listSpacesResponse(Integer page, Integer totalPages) {
+        return ListSpacesResponse.builder()
+            .resource(SpaceResource.builder()
+                .entity(SpaceEntity.builder()
+                    .name(page.toString())
+                    .build())
+                .build())
+            .totalPages(totalPages)
+            .build();
+    }
+
+    private static ListUsersResponse listUsersResponse(Integer startIndex, Integer itemsPerPage, Integer totalResults) {
+        return ListUsersResponse.builder()
+            .resource(User.builder()
+                .active(true)
+                .meta(Meta.builder()
+                    .created("test-created")
+                    .lastModified("test-last-modified")
+                    .version(0)
+                    .build())
+                .id(startIndex.toString())
+                .name(Name.builder()
+                    .build())
+                .origin("test-origin")
+                .passwordLastModified("test-password-last-modified")
+                .verified(true)
+                .userName("test-user-name")
+                .zoneId("test-zone-id")
+                .build())
+            .itemsPerPage(itemsPerPage)
+            .startIndex(startIndex)
+            .totalResults(totalResults)
+            .build();
+    }
+
+    private static <T> Map<Integer, MonoProcessor<T>> processors(Integer... keys) {
+        return Arrays.stream(keys)
+            .collect(Collectors.toMap(key -> key, key -> MonoProcessor.<T>create()));
+    }
+
     private static void requestListPackages(Packages packages, Integer page, Integer totalPages) {
         when(packages
             .list(ListPackagesRequest.builder()
                 .page(page)
                 .build()))
             .thenReturn(Mono
-                .just(ListPackagesResponse.builder()
-                    .resource(PackageResource.builder()
-                        .id(page.toString())
-                        .createdAt("test-created-at")
-                        .updatedAt("test-updated-at")
-                        .type(PackageType.BITS)
-                        .data(BitsData.builder()
-                            .build())
-                        .state(PackageState.READY)
-                        .build())
-                    .pagination(Pagination.builder()
-                        .totalPages(totalPages)
-                        .build())
-                    .build()));
+                .just(listPackagesResponse(page, totalPages)));
     }
 
     private static void requestListPackagesEmpty(Packages packages) {
@@ -196,14 +324,7 @@ public final class PaginationUtilsTest {
                 .page(page)
                 .build()))
             .thenReturn(Mono
-                .just(ListSpacesResponse.builder()
-                    .resource(SpaceResource.builder()
-                        .entity(SpaceEntity.builder()
-                            .name(page.toString())
-                            .build())
-                        .build())
-                    .totalPages(totalPages)
-                    .build()));
+                .just(listSpacesResponse(page, totalPages)));
     }
 
     private static void requestListSpacesEmpty(Spaces spaces) {
@@ -224,27 +345,7 @@ public final class PaginationUtilsTest {
                 .startIndex(startIndex)
                 .build()))
             .thenReturn(Mono
-                .just(ListUsersResponse.builder()
-                    .resource(User.builder()
-                        .active(true)
-                        .meta(Meta.builder()
-                            .created("test-created")
-                            .lastModified("test-last-modified")
-                            .version(0)
-                            .build())
-                        .id(startIndex.toString())
-                        .name(Name.builder()
-                            .build())
-                        .origin("test-origin")
-                        .passwordLastModified("test-password-last-modified")
-                        .verified(true)
-                        .userName("test-user-name")
-                        .zoneId("test-zone-id")
-                        .build())
-                    .itemsPerPage(itemsPerPage)
-                    .startIndex(startIndex)
-                    .totalResults(totalResults)
-                    .build()));
+                .just(listUsersResponse(startIndex, itemsPerPage, totalResults)));
     }
 
     private static void requestListUsersEmpty(Users users, Integer startIndex, Integer itemsPerPage) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v2.resourcematch.ListMatchingResourcesRequest;
+import org.cloudfoundry.client.v2.resourcematch.ListMatchingResourcesResponse;
+import org.cloudfoundry.client.v2.resourcematch.Resource;
+import org.cloudfoundry.client.v2.resourcematch.ResourceMatch;
+import org.cloudfoundry.util.ResourceMatchingUtils.ArtifactMetadata;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class ResourceMatchingUtilsTest {
+
+    private final CloudFoundryClient cloudFoundryClient = mock(CloudFoundryClient.class, RETURNS_SMART_NULLS);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResourceMatch resourceMatch = mock(ResourceMatch.class, RETURNS_SMART_NULLS);
+
+    @Test
+    public void getMatchedResourcesBatched() throws IOException {
+        for (int i = 0; i < 2_500; i++) {
+            createFile(String.format("test-file-%04d", i), String.format("test-content-%04d", i));
+        }
+        requestListMatchingResources(this.resourceMatch, resources -> true);
+
+        ResourceMatchingUtils.getMatchedResources(this.cloudFoundryClient, this.folder.getRoot().toPath())
+            .as(StepVerifier::create)
+            .consumeNextWith(matched -> assertThat(matched).hasSize(2_500))
+            .expectComplete()
+            .verify(Duration.ofSeconds(30));
+
+        ArgumentCaptor<ListMatchingResourcesRequest> requests = ArgumentCaptor.forClass(ListMatchingResourcesRequest.class);
+        verify(this.resourceMatch, times(3)).list(requests.capture());
+
+        assertThat(requests.getAllValues().stream()
+            .map(request -> request.getResources().size())
+            .collect(Collectors.toList()))
+            .containsExactlyInAnyOrder(1_000, 1_000, 500);
+    }
+
+    @Test
+    public void getMatchedResourcesDuplicateHashes() throws IOException {
+        Path alpha = createFile("test-file-alpha", "test-shared-content");
+        createFile("test-file-bravo", "test-shared-content");
+        createFile("test-file-charlie", "test-unique-content");
+        String sharedHash = FileUtils.hash(alpha);
+        requestListMatchingResources(this.resourceMatch, resource -> sharedHash.equals(resource.getHash()));
+
+        ResourceMatchingUtils.getMatchedResources(this.cloudFoundryClient, this.folder.getRoot().toPath())
+            .as(StepVerifier::create)
+            .consumeNextWith(matched -> assertThat(matched.stream()
+                .map(ArtifactMetadata::getPath)
+                .collect(Collectors.toList()))
+                .containsExactlyInAnyOrder("test-file-alpha", "test-file-bravo"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        ArgumentCaptor<ListMatchingResourcesRequest> request = ArgumentCaptor.forClass(ListMatchingResourcesRequest.class);
+        verify(this.resourceMatch).list(request.capture());
+
+        assertThat(request.getValue().getResources().stream()
+            .map(Resource::getHash)
+            .collect(Collectors.toList()))
+            .hasSize(2)
+            .containsOnlyOnce(sharedHash);
+    }
+
+    @Test
+    public void getMatchedResourcesDuplicateHashesBatched() throws IOException {
+        for (int i = 0; i < 1_500; i++) {
+            createFile(String.format("test-file-%04d-alpha", i), String.format("test-content-%04d", i));
+            createFile(String.format("test-file-%04d-bravo", i), String.format("test-content-%04d", i));
+        }
+        requestListMatchingResources(this.resourceMatch, resources -> true);
+
+        ResourceMatchingUtils.getMatchedResources(this.cloudFoundryClient, this.folder.getRoot().toPath())
+            .as(StepVerifier::create)
+            .consumeNextWith(matched -> assertThat(matched).hasSize(3_000))
+            .expectComplete()
+            .verify(Duration.ofSeconds(30));
+
+        ArgumentCaptor<ListMatchingResourcesRequest> requests = ArgumentCaptor.forClass(ListMatchingResourcesRequest.class);
+        verify(this.resourceMatch, times(2)).list(requests.capture());
+
+        assertThat(requests.getAllValues().stream()
+            .map(request -> request.getResources().size())
+            .collect(Collectors.toList()))
+            .containsExactlyInAnyOrder(1_000, 500);
+    }
+
+    @Before
+    public void setUp() {
+        when(this.cloudFoundryClient.resourceMatch()).thenReturn(this.resourceMatch);
+    }
+
+    private static void requestListMatchingResources(ResourceMatch resourceMatch, Predicate<Resource> known) {
+        when(resourceMatch
+            .list(any(ListMatchingResourcesRequest.class)))
+            .thenAnswer(invocation -> {
+                List<Resource> resources = invocation.<ListMatchingResourcesRequest>getArgument(0).getResources().stream()
+                    .filter(known)
+                    .collect(Collectors.toList());
+
+                return Mono.just(ListMatchingResourcesResponse.builder()
+                    .resources(resources)
+                    .build());
+            });
+    }
+
+    private Path createFile(String name, String content) throws IOException {
+        Path file = this.folder.getRoot().toPath().resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+}
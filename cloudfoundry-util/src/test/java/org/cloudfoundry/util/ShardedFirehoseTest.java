@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.doppler.DopplerClient;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.EventType;
+import org.cloudfoundry.doppler.FirehoseRequest;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class ShardedFirehoseTest {
+
+    private final DopplerClient dopplerClient = mock(DopplerClient.class);
+
+    private final FirehoseRequest request = FirehoseRequest.builder()
+        .subscriptionId("test-subscription-id")
+        .build();
+
+    @Test
+    public void receive() {
+        when(this.dopplerClient.firehose(this.request))
+            .thenReturn(Flux.just(envelope("test-origin-1"), envelope("test-origin-2")));
+
+        ShardedFirehose firehose = ShardedFirehose.create(this.dopplerClient, this.request, 2);
+
+        firehose.receive()
+            .take(4)
+            .as(StepVerifier::create)
+            .expectNextCount(4)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.dopplerClient, times(2)).firehose(this.request);
+        assertThat(firehose.getStatistics())
+            .extracting(ShardedFirehose.Statistics::getReceived)
+            .containsExactly(2L, 2L);
+    }
+
+    @Test
+    public void reconnect() {
+        when(this.dopplerClient.firehose(this.request))
+            .thenReturn(Flux.error(new IllegalStateException("test-error")))
+            .thenReturn(Flux.just(envelope("test-origin")));
+
+        ShardedFirehose firehose = ShardedFirehose.create(this.dopplerClient, this.request, 1, 16, Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+        StepVerifier.withVirtualTime(() -> firehose.receive()
+            .take(1))
+            .expectSubscription()
+            .thenAwait(Duration.ofSeconds(1))
+            .consumeNextWith(envelope -> assertThat(envelope.getOrigin()).isEqualTo("test-origin"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(firehose.getStatistics().get(0).getReconnects()).isEqualTo(1);
+    }
+
+    private static Envelope envelope(String origin) {
+        return Envelope.builder()
+            .eventType(EventType.LOG_MESSAGE)
+            .origin(origin)
+            .build();
+    }
+
+}
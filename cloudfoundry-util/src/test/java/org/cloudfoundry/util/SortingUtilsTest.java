@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Comparator;
+
+public final class SortingUtilsTest {
+
+    @Test
+    public void timespan() {
+        StepVerifier.withVirtualTime(() -> Flux.just(3, 1, 2)
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1))))
+            .expectNext(1, 2, 3)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timespanCapacity() {
+        StepVerifier.withVirtualTime(() -> Flux.just(3, 1, 2)
+            .concatWith(Flux.never())
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1), 2, SortingUtils.LateArrivalPolicy.EMIT)))
+            .expectNext(1)
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timespanLateArrivalDrop() {
+        StepVerifier.withVirtualTime(() -> Flux.just(2)
+            .concatWith(Mono.delay(Duration.ofSeconds(2)).map(n -> 1))
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1), 10, SortingUtils.LateArrivalPolicy.DROP)))
+            .expectSubscription()
+            .thenAwait(Duration.ofMillis(1500))
+            .expectNext(2)
+            .thenAwait(Duration.ofSeconds(1))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timespanLateArrivalEmit() {
+        StepVerifier.withVirtualTime(() -> Flux.just(2)
+            .concatWith(Mono.delay(Duration.ofSeconds(2)).map(n -> 1))
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1))))
+            .expectSubscription()
+            .thenAwait(Duration.ofMillis(1500))
+            .expectNext(2)
+            .thenAwait(Duration.ofSeconds(1))
+            .expectNext(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timespanRelease() {
+        StepVerifier.withVirtualTime(() -> Flux.just(2, 1)
+            .concatWith(Flux.never())
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1))))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofSeconds(1))
+            .thenAwait(Duration.ofMillis(500))
+            .expectNext(1, 2)
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timespanBurst() {
+        StepVerifier.withVirtualTime(() -> Flux.range(0, 20_000)
+            .map(i -> 20_000 - i)
+            .concatWith(Flux.never())
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1))))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofSeconds(1))
+            .thenAwait(Duration.ofMillis(500))
+            .expectNext(1, 2, 3)
+            .expectNextCount(19_997)
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timespanDefaultCapacity() {
+        StepVerifier.withVirtualTime(() -> Flux.range(0, SortingUtils.DEFAULT_CAPACITY + 1)
+            .map(i -> SortingUtils.DEFAULT_CAPACITY + 1 - i)
+            .concatWith(Flux.never())
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1))))
+            .expectNext(1)
+            .expectNoEvent(Duration.ofSeconds(1))
+            .thenAwait(Duration.ofMillis(500))
+            .expectNext(2, 3)
+            .expectNextCount(SortingUtils.DEFAULT_CAPACITY - 2)
+            .thenCancel()
+            .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void timespanReleaseRearmed() {
+        StepVerifier.withVirtualTime(() -> Flux.just(1)
+            .concatWith(Mono.delay(Duration.ofMillis(600)).map(n -> 2))
+            .concatWith(Flux.never())
+            .compose(SortingUtils.timespan(Comparator.<Integer>naturalOrder(), Duration.ofSeconds(1))))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofSeconds(1))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext(1)
+            .expectNoEvent(Duration.ofMillis(598))
+            .thenAwait(Duration.ofMillis(2))
+            .expectNext(2)
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+}